@@ -0,0 +1,178 @@
+package com.charlesdrews.pongish.game;
+
+import android.annotation.TargetApi;
+import android.graphics.Canvas;
+import android.graphics.Rect;
+import android.os.Build;
+import android.support.annotation.NonNull;
+import android.view.Surface;
+import android.view.SurfaceHolder;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A way for PongView to get a Canvas to draw a frame on, and to post the frame afterward. The
+ * software backend rasterizes on the CPU of the drawing thread, while the hardware backend records
+ * the frame for the GPU to draw.
+ */
+interface CanvasBackend {
+
+    /**
+     * Draw with SurfaceHolder.lockCanvas(), in software. Works on every API level, and can lock
+     * just part of the surface.
+     */
+    int SOFTWARE = 0;
+
+    /**
+     * Draw with Surface.lockHardwareCanvas(), on the GPU. Needs API 23; below that, PongView falls
+     * back to SOFTWARE. Always redraws the whole surface, since a hardware canvas starts out
+     * empty.
+     */
+    int HARDWARE = 1;
+
+    /**
+     * @return SOFTWARE or HARDWARE.
+     */
+    int getType();
+
+    /**
+     * @return true if lockCanvas(holder, dirty) can lock just part of the surface.
+     */
+    boolean supportsDirtyRect();
+
+    /**
+     * Lock the whole surface for drawing.
+     *
+     * @return the Canvas to draw on, or null if the surface can't be locked.
+     */
+    Canvas lockCanvas(@NonNull SurfaceHolder holder);
+
+    /**
+     * Lock part of the surface for drawing, keeping the previous frame everywhere else. Only
+     * call if supportsDirtyRect() returns true.
+     *
+     * @param dirty is the part to lock. The system may grow it.
+     * @return the Canvas to draw on, clipped to dirty, or null if the surface can't be locked.
+     */
+    Canvas lockCanvas(@NonNull SurfaceHolder holder, @NonNull Rect dirty);
+
+    /**
+     * Post what was drawn on the canvas returned by the last lockCanvas() call.
+     */
+    void unlockCanvasAndPost(@NonNull SurfaceHolder holder, @NonNull Canvas canvas);
+
+    /**
+     * Called on the UI thread when the surface is created or destroyed. When it's destroyed,
+     * waits for the frame in progress, if any, to be posted, and stops any more from being
+     * drawn until the surface is created again.
+     */
+    void setSurfaceAvailable(boolean available);
+
+
+    /**
+     * Draws in software through the SurfaceHolder, which keeps the surface from being destroyed
+     * while it is locked.
+     */
+    class Software implements CanvasBackend {
+
+        @Override
+        public int getType() {
+            return SOFTWARE;
+        }
+
+        @Override
+        public boolean supportsDirtyRect() {
+            return true;
+        }
+
+        @Override
+        public Canvas lockCanvas(@NonNull SurfaceHolder holder) {
+            return holder.lockCanvas();
+        }
+
+        @Override
+        public Canvas lockCanvas(@NonNull SurfaceHolder holder, @NonNull Rect dirty) {
+            return holder.lockCanvas(dirty);
+        }
+
+        @Override
+        public void unlockCanvasAndPost(@NonNull SurfaceHolder holder, @NonNull Canvas canvas) {
+            holder.unlockCanvasAndPost(canvas);
+        }
+
+        @Override
+        public void setSurfaceAvailable(boolean available) {}
+    }
+
+
+    /**
+     * Draws on the GPU through the Surface itself. Unlike the SurfaceHolder, the Surface doesn't
+     * stop itself from being destroyed while locked, so this does that with its own lock.
+     */
+    @TargetApi(Build.VERSION_CODES.M)
+    class Hardware implements CanvasBackend {
+
+        private final ReentrantLock mSurfaceLock = new ReentrantLock();
+        private boolean mSurfaceAvailable = false;     // guarded by mSurfaceLock
+
+        @Override
+        public int getType() {
+            return HARDWARE;
+        }
+
+        @Override
+        public boolean supportsDirtyRect() {
+            return false;
+        }
+
+        @Override
+        public Canvas lockCanvas(@NonNull SurfaceHolder holder) {
+            mSurfaceLock.lock();
+
+            Canvas canvas = null;
+            try {
+                Surface surface = holder.getSurface();
+                if (mSurfaceAvailable && surface.isValid()) {
+                    canvas = surface.lockHardwareCanvas();
+                }
+            }
+            catch (IllegalStateException e) {
+                // The surface was released between the check and the lock
+                canvas = null;
+            }
+            finally {
+                // Stay locked until the canvas is posted, if there is one to post
+                if (canvas == null) {
+                    mSurfaceLock.unlock();
+                }
+            }
+            return canvas;
+        }
+
+        @Override
+        public Canvas lockCanvas(@NonNull SurfaceHolder holder, @NonNull Rect dirty) {
+            return lockCanvas(holder);
+        }
+
+        @Override
+        public void unlockCanvasAndPost(@NonNull SurfaceHolder holder, @NonNull Canvas canvas) {
+            try {
+                holder.getSurface().unlockCanvasAndPost(canvas);
+            }
+            finally {
+                mSurfaceLock.unlock();
+            }
+        }
+
+        @Override
+        public void setSurfaceAvailable(boolean available) {
+            mSurfaceLock.lock();
+            try {
+                mSurfaceAvailable = available;
+            }
+            finally {
+                mSurfaceLock.unlock();
+            }
+        }
+    }
+}
@@ -4,6 +4,8 @@ import android.os.Bundle;
 import android.support.annotation.NonNull;
 import android.support.annotation.Nullable;
 
+import java.io.File;
+
 /**
  * Contracts for the view, view's activity, and presenter
  *
@@ -95,6 +97,14 @@ public interface GameContract {
          */
         void setGameBoardDimensions(final int width, final int height);
 
+        /**
+         * Record gameplay to files in the given directory, a new file each time the game view is
+         * ready, until the activity pauses. GameplayExporter turns the files into GIFs or images.
+         *
+         * @param directory is where to write the recordings, or null to stop recording.
+         */
+        void setRecordingDirectory(@Nullable final File directory);
+
         /**
          * Save all necessary game state data to the provided bundle.
          *
@@ -115,6 +125,11 @@ public interface GameContract {
          */
         void onActivityPause();
 
+        /**
+         * Release the game engine's threads when the activity is destroyed.
+         */
+        void onActivityDestroy();
+
         /**
          * Resume the game rendering.
          */
@@ -133,15 +148,19 @@ public interface GameContract {
         /**
          * Communicate the change in left paddle position to the PongScene.
          *
-         * @param deltaY the change in position requested by the user since the last event.
+         * @param deltaY the change in position requested by the user since the last event, or 0
+         *               when the pointer first goes down.
+         * @param eventTimeInMillis is the time of the event, from MotionEvent.getEventTime().
          */
-        void onLeftSidePointerMove(float deltaY);
+        void onLeftSidePointerMove(float deltaY, long eventTimeInMillis);
 
         /**
          * Communicate the change in right paddle position to the PongScene.
          *
-         * @param deltaY the change in position requested by the user since the last event.
+         * @param deltaY the change in position requested by the user since the last event, or 0
+         *               when the pointer first goes down.
+         * @param eventTimeInMillis is the time of the event, from MotionEvent.getEventTime().
          */
-        void onRightSidePointerMove(float deltaY);
+        void onRightSidePointerMove(float deltaY, long eventTimeInMillis);
     }
 }
@@ -0,0 +1,156 @@
+package com.charlesdrews.pongish.game;
+
+import android.support.annotation.NonNull;
+import android.util.Log;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records gameplay to a file without getting in the game's way. While recording, the Engine
+ * captures each frame it publishes into a FrameCaptureBuffer, as compact state rather than
+ * pixels, and a low priority background thread streams the buffer to the file. Nothing is drawn
+ * until GameplayExporter turns the file into a GIF or images, off the device.
+ */
+class GameplayRecorder {
+
+    private static final String TAG = "GameplayRecorder";
+    private static final String WRITER_THREAD_NAME = "GameplayRecorder-writer";
+
+    // Well under the time a full buffer holds, even with a few hundred balls
+    private static final long DRAIN_INTERVAL_IN_NANOS = 100L * 1_000_000L;
+
+    // ================================= Member variables =======================================
+
+    private final GameEngine.Engine mEngine;
+    private Recording mRecording;
+
+
+    // ==================================== Constructor =========================================
+
+    /**
+     * @param engine is the Engine whose frames will be recorded.
+     */
+    GameplayRecorder(@NonNull GameEngine.Engine engine) {
+        mEngine = engine;
+    }
+
+
+    // ================================== Package methods =======================================
+
+    /**
+     * Start recording to the given file, replacing it if it exists, unless already recording.
+     * The file is opened by the writer thread, so this does no I/O. Call from the main thread.
+     *
+     * @param file is where to write the recording.
+     * @param width is the width of the game board.
+     * @param height is the height of the game board.
+     */
+    void start(@NonNull File file, final int width, final int height) {
+        if (mRecording != null) {
+            return;
+        }
+
+        mRecording = new Recording(new FrameCaptureBuffer(), file, width, height);
+        mRecording.start();
+        mEngine.setFrameCapture(mRecording.mCapture);
+    }
+
+    /**
+     * Stop recording, if recording. Frames captured so far are written to the file in the
+     * background, without waiting for them. Call from the main thread, once the game has
+     * stopped if every frame must be kept: a frame the Engine is still capturing when this is
+     * called may miss the last write.
+     */
+    void stop() {
+        if (mRecording == null) {
+            return;
+        }
+
+        mEngine.setFrameCapture(null);
+        mRecording.requestStop();
+        mRecording = null;
+    }
+
+    /**
+     * @return true between start() and stop().
+     */
+    boolean isRecording() {
+        return mRecording != null;
+    }
+
+
+    // ================================== Helper methods ========================================
+
+    private static void closeQuietly(final OutputStream out) {
+        if (out == null) {
+            return;
+        }
+
+        try {
+            out.close();
+        }
+        catch (IOException e) {
+            Log.e(TAG, "Unable to close recording", e);
+        }
+    }
+
+
+    /**
+     * One recording, from start() to stop(), with its own buffer and writer thread, so a new
+     * recording can start while the last one is still being written out.
+     */
+    private static class Recording extends Thread {
+
+        private final FrameCaptureBuffer mCapture;
+        private final File mFile;
+        private final int mWidth, mHeight;
+        private volatile boolean mStopRequested = false;
+
+        Recording(final FrameCaptureBuffer capture, final File file, final int width,
+                  final int height) {
+            super(WRITER_THREAD_NAME);
+            setPriority(Thread.MIN_PRIORITY);
+            mCapture = capture;
+            mFile = file;
+            mWidth = width;
+            mHeight = height;
+        }
+
+        void requestStop() {
+            mStopRequested = true;
+            LockSupport.unpark(this);
+        }
+
+        @Override
+        public void run() {
+            // If the file can't be opened, the buffer just fills up, and every frame after that
+            // is dropped, which costs the game next to nothing until the recording is stopped.
+            OutputStream out = null;
+            try {
+                out = new BufferedOutputStream(new FileOutputStream(mFile));
+                FrameCaptureBuffer.writeHeader(out, mWidth, mHeight);
+
+                while (!mStopRequested) {
+                    mCapture.drainTo(out);
+                    LockSupport.parkNanos(this, DRAIN_INTERVAL_IN_NANOS);
+                }
+
+                // The Engine may have offered a last frame on its way out.
+                mCapture.drainTo(out);
+                Log.d(TAG, "Recorded " + mCapture.getCapturedFrameCount() + " frames to " +
+                        mFile + ", dropped " + mCapture.getDroppedFrameCount());
+            }
+            catch (IOException e) {
+                Log.e(TAG, "Unable to write recording to " + mFile, e);
+            }
+            finally {
+                closeQuietly(out);
+            }
+        }
+    }
+}
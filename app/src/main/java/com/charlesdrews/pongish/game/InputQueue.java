@@ -0,0 +1,200 @@
+package com.charlesdrews.pongish.game;
+
+import android.support.annotation.NonNull;
+
+import com.charlesdrews.pongish.game.objects.GameObjects;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, single-producer/single-consumer ring buffer of paddle movements. The UI thread
+ * offers touch deltas as they arrive, and the game thread drains them into the Scene at the start
+ * of each simulation step, so the paddles are only ever mutated by the game thread. All storage is
+ * preallocated; neither side allocates or blocks.
+ *
+ * No movement is dropped when the ring is full. It's folded into the newest movement of the same
+ * paddle that is still waiting, or, if the game thread is taking that one right then, carried
+ * into the paddle's next movement.
+ */
+class InputQueue {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    // Never report less than this much time between two samples, so that two samples with the
+    // same timestamp don't clamp the second movement to zero.
+    private static final float MIN_MILLIS_BETWEEN_SAMPLES = 1f;
+
+    // What the consumer leaves in a slot it has taken. Float.floatToIntBits() never returns
+    // these high bits, so no packed movement can look like it.
+    private static final long TAKEN = 0x7FC00001_00000000L;
+
+    private final int mMask;
+    private final int[] mPaddles;
+
+    // Each movement is packed into one long, the float bits of deltaY in the high 32 bits and the
+    // low 32 bits of the event time in the rest, so the producer can fold a later movement into
+    // it with one compareAndSet() and the consumer can take it with one getAndSet().
+    private final AtomicLongArray mMovements;
+
+    // Next slot to write; only advanced by the producer.
+    private final AtomicInteger mHead = new AtomicInteger();
+
+    // Next slot to read; only advanced by the consumer.
+    private final AtomicInteger mTail = new AtomicInteger();
+
+    // Bumped by the consumer on clear(), so the producer knows to drop what it has carried.
+    private final AtomicInteger mClearCount = new AtomicInteger();
+
+    // Owned by the producer: movements that couldn't be queued or folded, by paddle.
+    private final float[] mCarriedDeltaYByPaddle = new float[2];
+    private int mCarriedClearCount;
+
+    // Owned by the consumer: low 32 bits of the timestamp of the last sample applied to each
+    // paddle, if any.
+    private final int[] mLastEventTimeInMillisByPaddle = new int[2];
+    private final boolean[] mHasLastEventTimeByPaddle = new boolean[2];
+
+    InputQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param capacity is the maximum number of pending movements, and must be a power of two.
+     */
+    InputQueue(final int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("capacity must be a positive power of two");
+        }
+
+        mMask = capacity - 1;
+        mPaddles = new int[capacity];
+        mMovements = new AtomicLongArray(capacity);
+    }
+
+    /**
+     * Add a paddle movement to the queue. Only call from the producer (UI) thread.
+     *
+     * @param paddle must be GameObjects.Scene.LEFT_PADDLE or GameObjects.Scene.RIGHT_PADDLE.
+     * @param deltaY is the amount to move up (negative) or down (positive).
+     * @param eventTimeInMillis is the time the touch sample was taken, e.g. from
+     *                          MotionEvent.getEventTime().
+     */
+    void offer(final int paddle, float deltaY, final long eventTimeInMillis) {
+        if (paddle != GameObjects.Scene.LEFT_PADDLE && paddle != GameObjects.Scene.RIGHT_PADDLE) {
+            throw new IllegalArgumentException("paddle must be either " +
+                    "GameObjects.Scene.LEFT_PADDLE or ...RIGHT_PADDLE");
+        }
+
+        // Whatever was carried from before the last clear() was discarded along with the queue
+        int clearCount = mClearCount.get();
+        if (clearCount != mCarriedClearCount) {
+            mCarriedDeltaYByPaddle[GameObjects.Scene.LEFT_PADDLE] = 0f;
+            mCarriedDeltaYByPaddle[GameObjects.Scene.RIGHT_PADDLE] = 0f;
+            mCarriedClearCount = clearCount;
+        }
+        deltaY += mCarriedDeltaYByPaddle[paddle];
+        mCarriedDeltaYByPaddle[paddle] = 0f;
+
+        int head = mHead.get();
+        int tail = mTail.get();
+        if (head - tail > mMask) {
+            if (!foldIntoNewestMovement(paddle, deltaY, eventTimeInMillis, head, tail)) {
+                mCarriedDeltaYByPaddle[paddle] = deltaY;
+            }
+            return;
+        }
+
+        int index = head & mMask;
+        mPaddles[index] = paddle;
+        mMovements.lazySet(index, pack(deltaY, eventTimeInMillis));
+
+        // Publish the slot. The ordered write makes the slot contents visible to the consumer
+        // before the new head is.
+        mHead.lazySet(head + 1);
+    }
+
+    /**
+     * Apply every queued movement to the Scene, in order. Only call from the consumer (game)
+     * thread. Each movement's speed limit is based on the real time since the previous sample
+     * for the same paddle. A paddle's first sample has nothing to measure against, so its speed
+     * isn't limited; PongView reports a motionless sample when a pointer goes down, to start the
+     * clock for the samples after it.
+     *
+     * @param scene is the Scene whose paddles will be moved.
+     */
+    void drainTo(@NonNull GameObjects.Scene scene) {
+        int tail = mTail.get();
+        int head = mHead.get();
+
+        while (tail != head) {
+            int index = tail & mMask;
+            int paddle = mPaddles[index];
+            long movement = mMovements.getAndSet(index, TAKEN);
+            int eventTimeInMillis = getEventTime(movement);
+
+            // The difference of the low 32 bits is right for samples less than 24 days apart
+            float millisSinceLastSample = Float.POSITIVE_INFINITY;
+            if (mHasLastEventTimeByPaddle[paddle]) {
+                millisSinceLastSample = Math.max(MIN_MILLIS_BETWEEN_SAMPLES,
+                        eventTimeInMillis - mLastEventTimeInMillisByPaddle[paddle]);
+            }
+            mLastEventTimeInMillisByPaddle[paddle] = eventTimeInMillis;
+            mHasLastEventTimeByPaddle[paddle] = true;
+
+            scene.movePaddle(paddle, getDeltaY(movement), millisSinceLastSample);
+            tail++;
+        }
+
+        // Release the drained slots back to the producer.
+        mTail.lazySet(tail);
+    }
+
+    /**
+     * Discard every queued movement. Only call from the consumer thread, or while no consumer
+     * thread is running.
+     */
+    void clear() {
+        mClearCount.incrementAndGet();
+        mTail.lazySet(mHead.get());
+    }
+
+
+    // ================================ Helper methods ===========================================
+
+    /**
+     * Add a movement to the newest movement still waiting for the same paddle, and give the
+     * result the later event time. Only call from the producer thread, while the ring is full.
+     *
+     * @return true if folded, or false if no movement for that paddle is still waiting.
+     */
+    private boolean foldIntoNewestMovement(final int paddle, final float deltaY,
+                                           final long eventTimeInMillis, final int head,
+                                           final int tail) {
+        for (int slot = head - 1; slot - tail >= 0; slot--) {
+            int index = slot & mMask;
+            if (mPaddles[index] != paddle) {
+                continue;
+            }
+
+            // The consumer takes movements in order, so if this one is already taken, so are
+            // all the older ones. If it's taken during the fold, the compareAndSet() fails.
+            long movement = mMovements.get(index);
+            return movement != TAKEN && mMovements.compareAndSet(index, movement,
+                    pack(getDeltaY(movement) + deltaY, eventTimeInMillis));
+        }
+        return false;
+    }
+
+    private static long pack(final float deltaY, final long eventTimeInMillis) {
+        return ((long) Float.floatToIntBits(deltaY) << 32) | (eventTimeInMillis & 0xFFFFFFFFL);
+    }
+
+    private static float getDeltaY(final long movement) {
+        return Float.intBitsToFloat((int) (movement >>> 32));
+    }
+
+    private static int getEventTime(final long movement) {
+        return (int) movement;
+    }
+}
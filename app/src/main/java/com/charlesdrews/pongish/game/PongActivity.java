@@ -13,6 +13,18 @@ public class PongActivity extends AppCompatActivity implements GameContract.View
 
     public static final String COMPUTER_CONTROLLED_PADDLE_KEY = "computer_controlled_paddle_key";
 
+    // Draw in software, which can redraw just the part of the screen that changed. HARDWARE
+    // draws on the GPU (API 23+), but has to redraw the whole screen every frame, so it only
+    // pays off on devices whose CPU can't keep up with full software frames.
+    private static final int RENDERER_BACKEND = CanvasBackend.SOFTWARE;
+
+    // Draw big screens at a lower resolution, so each frame fills about as many pixels as 1080p
+    private static final float RENDER_SCALE = PongView.RENDER_SCALE_AUTO;
+
+    // Record gameplay to the app's external files directory, for GameplayExporter to turn into a
+    // GIF off the device. Costs far less than recording the screen, so the game stays smooth.
+    private static final boolean RECORD_GAMEPLAY = false;
+
 
     // ==================================== Member variables =====================================
 
@@ -39,10 +51,16 @@ public class PongActivity extends AppCompatActivity implements GameContract.View
         mPresenter = new PongPresenter(getIntent()
                 .getIntExtra(COMPUTER_CONTROLLED_PADDLE_KEY, GameObjects.Scene.NEITHER_PADDLE));
         mPresenter.bindViewActivity(this);
+        if (RECORD_GAMEPLAY) {
+            mPresenter.setRecordingDirectory(getExternalFilesDir(null));
+        }
 
         // Give the presenter a reference to the game view, which is pulling double duty as
         // both GameContract.View and as GameEngine.Renderer.
-        mGameView = (PongView) findViewById(R.id.game_view);
+        PongView gameView = (PongView) findViewById(R.id.game_view);
+        gameView.setRendererBackend(RENDERER_BACKEND);
+        gameView.setRenderScale(RENDER_SCALE);
+        mGameView = gameView;
         mPresenter.bindRenderer((GameEngine.Renderer) mGameView);
 
         // Give the game view a reference to the presenter.
@@ -89,6 +107,14 @@ public class PongActivity extends AppCompatActivity implements GameContract.View
         mBindingsEstablished = false;
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+
+        // A new presenter (with a new engine) is created in onCreate(), so let this one go.
+        mPresenter.onActivityDestroy();
+    }
+
     @Override
     protected void onSaveInstanceState(Bundle outState) {
 
@@ -1,12 +1,19 @@
 package com.charlesdrews.pongish.game;
 
 import android.graphics.Color;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Message;
 import android.support.annotation.NonNull;
+import android.support.annotation.Nullable;
 import android.util.Log;
+import android.view.Choreographer;
 
 import com.charlesdrews.pongish.game.objects.GameObjects;
 
-import java.util.Locale;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Provide game engine functionality, including the main update/draw loop.
@@ -17,37 +24,159 @@ public class PongEngine implements GameEngine.Engine {
 
     // ==================================== Constants ============================================
     private static final String TAG = "PongEngine";
+    private static final String GAME_THREAD_NAME = "PongEngine-game";
+    private static final String RENDER_THREAD_NAME = "PongEngine-render";
 
     private static final int COUNTDOWN_NUMBER_OF_SECONDS = 3;
     private static final int COUNTDOWN_TEXT_COLOR = Color.WHITE;
     private static final float COUNTDOWN_TEXT_SIZE = 150f;
 
     private static final boolean SHOW_FPS = true;
-    private static final String FPS_TEMPLATE = "FPS: %d";
+    private static final String FPS_PREFIX = "FPS: ";
     private static final int FPS_TEXT_COLOR = Color.WHITE;
     private static final float FPS_TEXT_SIZE = 40f;
     private static final float FPS_X_COORDINATE = 40f;
     private static final float FPS_Y_COORDINATE = 80f;
 
+    private static final int DEFAULT_SIMULATION_STEPS_PER_SECOND = 120;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+
+    // If a frame takes longer than this (e.g. the surface was blocked), only simulate this much
+    // time, so the simulation never has to run an unbounded number of steps to catch up.
+    private static final long MAX_FRAME_TIME_IN_NANOS = 250L * NANOS_PER_MILLI;
+
+    // Engine states. Every state is advanced by the loop clock; none of them block the thread.
+    private static final int STATE_COUNTDOWN = 0;
+    private static final int STATE_PLAYING = 1;
+
+    // Requests handled by the game thread, in the order they were made.
+    private static final int MSG_SET_SCENE = 0;
+    private static final int MSG_START = 1;
+    private static final int MSG_STOP = 2;
+    private static final int MSG_DRAW_FRAME = 3;
+    private static final int MSG_RELEASE = 4;
+
 
     // ================================== Member variables =====================================
 
-    private GameEngine.Renderer mRenderer;
+    private volatile GameEngine.Renderer mRenderer;
     private GameObjects.Scene mScene;
 
-    private Thread mGameThread;
+    // The game and render threads live from first use until release(). Between games they park
+    // (the game thread in its Looper, the render thread in LockSupport.park()).
+    private HandlerThread mGameThread;
+    private Handler mGameHandler;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
     private Runnable mRunnable;
-    private volatile boolean mExecuteGameLoop = false;
-    private long mLastFrameRenderTimeInMillis;
+    private Thread mRenderThread;
+    private Runnable mRenderRunnable;
+    private volatile boolean mReleased = false;
+    private volatile long mLastFrameRenderTimeInNanos;
+
+    // Every start and stop request gets a new id. The loop keeps running only while the id it was
+    // started with is still the latest request.
+    private final AtomicInteger mLatestRequestId = new AtomicInteger();
+    private volatile boolean mStartRequested = false;
+    private int mSessionId;
+    private boolean mSessionRunning = false;
+
+    // Guarded by mIdleLock: false from the moment a game starts until its stop has completed.
+    private final Object mIdleLock = new Object();
+    private boolean mIdle = true;
+
+    // Guarded by mRenderLock, which is held for the whole of every frame drawn, so that whoever
+    // takes it knows no other thread is drawing.
+    private final Object mRenderLock = new Object();
+    private boolean mRenderThreadEnabled = false;
+    private SceneSnapshot mLastRenderedSnapshot;
+    private final CircleBatches mCircleBatches = new CircleBatches();
+
+    // HUD text, only rewritten when its number changes, so drawing it allocates nothing
+    private final NumberText mFramesPerSecondText = new NumberText(FPS_PREFIX);
+    private final NumberText mCountDownText = new NumberText();
+
+    // The frame rate shown is averaged over about a second of frames, so the text, and the part
+    // of the screen redrawn for it, changes about once a second instead of every frame.
+    private long mFramesPerSecond;
+    private int mTimedFrameCount;
+    private long mTimedFrameNanos;
+
+    private final RenderCommandBuffer mCommandBuffer = new RenderCommandBuffer();
+
+    private final int mSimulationStepsPerSecond;
+    private final long mSimulationStepInNanos;
+    private final float mSimulationStepInMillis;
+    private long mAccumulatedSimulationNanos;
+    private int mStepsSinceLastPublish;
+
+    private int mState = STATE_COUNTDOWN;
+    private long mCountDownRemainingNanos;
+    private boolean mResetSceneAfterCountDown;
+    private int mPublishedCountDownNumber;
+
+    private final int mThreadingMode;
+    private final TripleBuffer<SceneSnapshot> mSnapshots;
+    private final InputQueue mInputQueue = new InputQueue();
+    private volatile FrameCaptureBuffer mFrameCapture;
+
+    private Choreographer mChoreographer;
+    private Choreographer.FrameCallback mFrameCallback;
+    private long mLastVsyncTimeInNanos;
 
 
     // ==================================== Constructor =========================================
 
     public PongEngine() {
-        // This class implements Runnable, so it can be used as the game thread's target.
-        // Keep mRunnable as a variable in case the Runnable implementation is ever moved to
-        // another class.
+        this(DEFAULT_SIMULATION_STEPS_PER_SECOND, SINGLE_THREAD);
+    }
+
+    /**
+     * Instantiate an Engine that advances the Scene in fixed steps at the specified rate.
+     *
+     * @param simulationStepsPerSecond is the number of fixed-size simulation steps per second of
+     *                                 game time. Must be greater than zero.
+     * @param threadingMode must be GameEngine.Engine.SINGLE_THREAD,
+     *                      GameEngine.Engine.SEPARATE_RENDER_THREAD, or
+     *                      GameEngine.Engine.VSYNC_PACED.
+     */
+    public PongEngine(final int simulationStepsPerSecond, final int threadingMode) {
+        if (simulationStepsPerSecond <= 0) {
+            throw new IllegalArgumentException("simulationStepsPerSecond must be greater than 0");
+        }
+        if (threadingMode != SINGLE_THREAD && threadingMode != SEPARATE_RENDER_THREAD &&
+                threadingMode != VSYNC_PACED) {
+            throw new IllegalArgumentException("threadingMode must be either " +
+                    "GameEngine.Engine.SINGLE_THREAD, ...SEPARATE_RENDER_THREAD, or " +
+                    "...VSYNC_PACED");
+        }
+
+        mSimulationStepsPerSecond = simulationStepsPerSecond;
+        mSimulationStepInNanos = NANOS_PER_SECOND / simulationStepsPerSecond;
+        mSimulationStepInMillis = (float) mSimulationStepInNanos / NANOS_PER_MILLI;
+
+        mThreadingMode = threadingMode;
+        mSnapshots = new TripleBuffer<>(new SceneSnapshot(), new SceneSnapshot(),
+                new SceneSnapshot());
+
+        // This class implements Runnable, so it provides the game loop that the game thread
+        // runs. Keep mRunnable as a variable in case the Runnable implementation is ever moved
+        // to another class.
         mRunnable = this;
+
+        mRenderRunnable = new Runnable() {
+            @Override
+            public void run() {
+                runRenderLoop();
+            }
+        };
+
+        mFrameCallback = new Choreographer.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                onVsync(frameTimeNanos);
+            }
+        };
     }
 
 
@@ -64,169 +193,684 @@ public class PongEngine implements GameEngine.Engine {
 
     @Override
     public void setScene(@NonNull GameObjects.Scene scene) {
-        mScene = scene;
+        ensureThreadsStarted();
+        mGameHandler.obtainMessage(MSG_SET_SCENE, scene).sendToTarget();
     }
 
     @Override
-    public long getLastFrameRenderTimeInMillis() {
-        return mLastFrameRenderTimeInMillis;
+    public void queuePaddleMove(int paddle, float deltaY, long eventTimeInMillis) {
+        mInputQueue.offer(paddle, deltaY, eventTimeInMillis);
     }
 
     @Override
-    public void startGameExecution() {
-        mExecuteGameLoop = true;
+    public int getSimulationStepsPerSecond() {
+        return mSimulationStepsPerSecond;
+    }
 
-        mGameThread = new Thread(mRunnable);
-        mGameThread.start();
+    @Override
+    public void setFrameCapture(@Nullable FrameCaptureBuffer capture) {
+        mFrameCapture = capture;
+    }
+
+    @Override
+    public void startGameExecution() {
+        ensureThreadsStarted();
+        mStartRequested = true;
+        mGameHandler.obtainMessage(MSG_START, mLatestRequestId.incrementAndGet(), 0)
+                .sendToTarget();
     }
 
     @Override
     public void stopGameExecution() {
-        mExecuteGameLoop = false;
+        stopGameExecution(null);
+    }
 
-        if (mGameThread != null) {
-            try {
-                // In case the game thread is sleeping (e.g. during a countdown), interrupt it.
-                mGameThread.interrupt();
+    @Override
+    public void stopGameExecution(@Nullable final OnStoppedListener listener) {
 
-                // Then wait for the game thread to complete.
-                mGameThread.join();
-            }
-            catch (InterruptedException e) {
-                Log.e(TAG, "Main thread interrupted while waiting to join the game thread", e);
+        // A new request id ends the loop at its next check.
+        mStartRequested = false;
+        mLatestRequestId.incrementAndGet();
 
-                // Reset the interrupt flag that was cleared when InterruptedException was thrown.
-                Thread.currentThread().interrupt();
+        if (mGameThread == null) {
+            // Never started, so already stopped.
+            notifyStopped(listener);
+            return;
+        }
+
+        // End the park early if the loop is waiting for its next tick.
+        LockSupport.unpark(mGameThread);
+        mGameHandler.obtainMessage(MSG_STOP, listener).sendToTarget();
+    }
+
+    @Override
+    public void awaitGameExecutionStopped() {
+        synchronized (mIdleLock) {
+            while (!mIdle && !mStartRequested) {
+                try {
+                    mIdleLock.wait();
+                }
+                catch (InterruptedException e) {
+                    Log.e(TAG, "Interrupted while waiting for the game loop to stop", e);
+
+                    // Reset the interrupt flag that was cleared when InterruptedException was
+                    // thrown.
+                    Thread.currentThread().interrupt();
+                    return;
+                }
             }
         }
     }
 
     @Override
     public void drawFrame() {
+        ensureThreadsStarted();
+        mGameHandler.sendEmptyMessage(MSG_DRAW_FRAME);
+    }
 
-        // Lock the canvas. If not successful, do not proceed.
-        if (!mRenderer.beginDrawing()) {
-            Log.w(TAG, "drawFrame: unable to lock canvas!");
+    @Override
+    public void release() {
+        if (mReleased || mGameThread == null) {
+            mReleased = true;
             return;
         }
 
-        // Once canvas is locked, call the renderer's specific draw methods.
-        callRendererDrawMethodsAfterCanvasIsLocked();
-
-        // Unlock the canvas and post the drawings.
-        mRenderer.commitDrawing();
+        mStartRequested = false;
+        mLatestRequestId.incrementAndGet();
+        LockSupport.unpark(mGameThread);
+        mGameHandler.sendEmptyMessage(MSG_RELEASE);
     }
 
     @Override
     public void run() {
 
-        // Show a countdown before starting the game loop. Draw the first frame first, so the
-        // screen is not blank behind the countdown.
-        drawFrame();
-        drawCountDown();
+        // Publish the first frame (the start of the countdown) before anything else, so the
+        // screen is never blank.
+        long startTimeInNanos = System.nanoTime();
+        tick(startTimeInNanos, 0L);
+
+        if (mThreadingMode == SEPARATE_RENDER_THREAD) {
+            setRenderThreadEnabled(true);
+        }
+        else {
+            drawSnapshot(mSnapshots.getReadBuffer(), startTimeInNanos);
+        }
 
-        while (mExecuteGameLoop) {
+        if (mThreadingMode == VSYNC_PACED) {
+            startVsyncPacedLoop();
+        }
+        else {
+            runFreeRunningLoop(startTimeInNanos);
+        }
+    }
 
-            // Save frame render start time.
-            long renderStartTimeInMillis = System.currentTimeMillis();
 
-            // Update item positions. Use the last frame's rendering time as an estimate for how
-            // long it will take to render this frame.
-            boolean pointScored = mScene.updateGameObjects(mLastFrameRenderTimeInMillis);
+    // ================================= Game thread requests ===================================
 
-            // Draw the frame.
-            drawFrame();
+    /**
+     * Create the game thread, and in SEPARATE_RENDER_THREAD mode the render thread, unless they
+     * are already running.
+     */
+    private void ensureThreadsStarted() {
+        if (mReleased) {
+            throw new IllegalStateException("Engine has been released");
+        }
+        if (mGameThread != null) {
+            return;
+        }
 
-            // Track frame rendering time.
-            mLastFrameRenderTimeInMillis = System.currentTimeMillis() - renderStartTimeInMillis;
+        mGameThread = new HandlerThread(GAME_THREAD_NAME);
+        mGameThread.start();
+        mGameHandler = new Handler(mGameThread.getLooper(), new Handler.Callback() {
+            @Override
+            public boolean handleMessage(Message message) {
+                handleGameThreadMessage(message);
+                return true;
+            }
+        });
 
-            if (pointScored) {
-                // Show countdown with ball frozen at moment point was scored (i.e. on end line).
-                drawCountDown();
+        if (mThreadingMode == SEPARATE_RENDER_THREAD) {
+            mRenderThread = new Thread(mRenderRunnable, RENDER_THREAD_NAME);
+            mRenderThread.start();
+        }
+    }
 
-                // Reset scene AFTER countdown.
-                mScene.resetAfterPointScored();
+    /**
+     * Handle a request on the game thread. Requests are handled one at a time, in order, and the
+     * free-running loop holds the game thread until it stops, so a request never runs while the
+     * Scene is being updated.
+     *
+     * @param message is the request, one of the MSG_ constants.
+     */
+    private void handleGameThreadMessage(@NonNull Message message) {
+        switch (message.what) {
+            case MSG_SET_SCENE: {
+                mScene = (GameObjects.Scene) message.obj;
+                break;
+            }
+            case MSG_START: {
+                // Skip the start if a stop was requested after it.
+                if (message.arg1 != mLatestRequestId.get()) {
+                    break;
+                }
+
+                // Started again without a stop in between: wind down the old loop first.
+                endSession();
+                startSession(message.arg1);
+                break;
+            }
+            case MSG_STOP: {
+                endSession();
+                notifyStopped((OnStoppedListener) message.obj);
+                break;
+            }
+            case MSG_DRAW_FRAME: {
+                // While playing, the loop draws anyway.
+                if (mSessionRunning || mScene == null) {
+                    break;
+                }
+
+                // Outside the game loop there is no partial step pending, so draw the current
+                // state. The render thread is idle, so this thread may take its place.
+                long frameTimeInNanos = System.nanoTime();
+                publishSnapshot(frameTimeInNanos, true, 0);
+                synchronized (mRenderLock) {
+                    drawSnapshot(mSnapshots.getReadBuffer(), frameTimeInNanos);
+                }
+                break;
+            }
+            case MSG_RELEASE: {
+                endSession();
+                mReleased = true;
+                if (mRenderThread != null) {
+                    LockSupport.unpark(mRenderThread);
+                }
+                mGameThread.quit();
+                break;
             }
         }
     }
 
+    /**
+     * Start the update/draw loop on the game thread.
+     *
+     * @param sessionId is the id of the start request; the loop runs until a newer request.
+     */
+    private void startSession(final int sessionId) {
+        mSessionId = sessionId;
+        mSessionRunning = true;
+        synchronized (mIdleLock) {
+            mIdle = false;
+        }
 
-    // ==================================== Helper methods =======================================
+        // Don't apply movements the user made while the game was paused.
+        mInputQueue.clear();
 
-    private void callRendererDrawMethodsAfterCanvasIsLocked() {
+        // Every start, whether a new game or a resumed one, begins with a countdown.
+        startCountDown(false);
 
-        // Wipe everything by re-drawing the background color.
-        mRenderer.drawBackground(mScene.getBackgroundColor());
+        // In VSYNC_PACED mode this returns after scheduling the first frame; otherwise it holds
+        // the game thread until the loop is stopped.
+        mRunnable.run();
+    }
 
-        // Draw each game item.
-        for (GameEngine.ScoreToRender score : mScene.getScoresToRender()) {
-            mRenderer.drawScore(score.getScoreText(), score.getX(), score.getTopY(),
-                    score.getTextSize(), score.getColor(), score.isRightAligned());
+    /**
+     * Wind down the update/draw loop, if running, so that neither the game thread nor the render
+     * thread touches the Scene or the Renderer until the next start.
+     */
+    private void endSession() {
+        if (!mSessionRunning) {
+            return;
         }
 
-        for (GameEngine.VerticalLineToRender line : mScene.getVerticalLinesToRender()) {
-            mRenderer.drawVerticalLine(line.getX(), line.getTopY(), line.getBottomY(),
-                    line.getColor(), line.isDashed());
+        if (mThreadingMode == VSYNC_PACED) {
+            mChoreographer.removeFrameCallback(mFrameCallback);
+        }
+        else if (mThreadingMode == SEPARATE_RENDER_THREAD) {
+            // Waits for the frame in progress, if any, to finish.
+            setRenderThreadEnabled(false);
         }
 
-        for (GameEngine.CircleToRender circle : mScene.getCirclesToRender()) {
-            mRenderer.drawCircle(circle.getCenterX(), circle.getCenterY(), circle.getRadius(),
-                    circle.getColor());
+        // If stopped during the countdown after a point, the ball is still sitting on the end
+        // line. Reset now, so the saved or resumed scene starts the next point.
+        if (mState == STATE_COUNTDOWN && mResetSceneAfterCountDown) {
+            mScene.resetAfterPointScored();
+            mResetSceneAfterCountDown = false;
         }
 
-        for (GameEngine.RectangleToRender rect : mScene.getRectanglesToRender()) {
-            mRenderer.drawRect(rect.getLeftX(), rect.getTopY(), rect.getRightX(), rect.getBottomY(),
-                    rect.getColor());
+        mSessionRunning = false;
+        synchronized (mIdleLock) {
+            mIdle = true;
+            mIdleLock.notifyAll();
         }
+    }
 
-        if (SHOW_FPS) {
-            // Draw the frames per second as text.
-            long framesPerSecond = 0L;
-            if (mLastFrameRenderTimeInMillis > 0L) {
-                framesPerSecond = 1_000L / mLastFrameRenderTimeInMillis;
+    /**
+     * @return true if the loop started by the current session should keep going.
+     */
+    private boolean isSessionCurrent() {
+        return mSessionRunning && mLatestRequestId.get() == mSessionId;
+    }
+
+    private void notifyStopped(@Nullable final OnStoppedListener listener) {
+        if (listener != null) {
+            mMainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    listener.onGameExecutionStopped();
+                }
+            });
+        }
+    }
+
+    /**
+     * Let the render thread draw, or stop it from drawing. Disabling waits for the frame in
+     * progress, if any, so once this returns the render thread won't touch the Renderer.
+     *
+     * @param enabled indicates whether the render thread should draw published snapshots.
+     */
+    private void setRenderThreadEnabled(final boolean enabled) {
+        synchronized (mRenderLock) {
+            mRenderThreadEnabled = enabled;
+            mLastRenderedSnapshot = null;
+        }
+        LockSupport.unpark(mRenderThread);
+    }
+
+
+    // ==================================== Helper methods =======================================
+
+    /**
+     * Update (and in SINGLE_THREAD mode, draw) as fast as possible until the game loop is halted.
+     * When there is nothing to update or draw, e.g. during a countdown, park the thread until
+     * there is.
+     *
+     * @param startTimeInNanos is the time of the first frame, already published by run().
+     */
+    private void runFreeRunningLoop(final long startTimeInNanos) {
+
+        long lastFrameStartTimeInNanos = startTimeInNanos;
+        long lastDrawTimeInNanos = startTimeInNanos;
+
+        while (isSessionCurrent()) {
+
+            long frameStartTimeInNanos = System.nanoTime();
+            long elapsedTimeInNanos = frameStartTimeInNanos - lastFrameStartTimeInNanos;
+            lastFrameStartTimeInNanos = frameStartTimeInNanos;
+
+            boolean published = tick(frameStartTimeInNanos, elapsedTimeInNanos);
+
+            if (published && mThreadingMode == SINGLE_THREAD) {
+                // Track frame rendering time while playing.
+                if (mState == STATE_PLAYING) {
+                    mLastFrameRenderTimeInNanos = frameStartTimeInNanos - lastDrawTimeInNanos;
+                }
+                lastDrawTimeInNanos = frameStartTimeInNanos;
+
+                drawSnapshot(mSnapshots.getReadBuffer(), frameStartTimeInNanos);
+            }
+            else {
+                // Nothing to do on this thread until the next tick is due. Stopping the game
+                // unparks the thread, which ends the park early.
+                LockSupport.parkNanos(getNanosUntilNextTick());
             }
+        }
+    }
 
-            mRenderer.drawFramesPerSecond(
-                    String.format(Locale.getDefault(), FPS_TEMPLATE, framesPerSecond),
-                    FPS_X_COORDINATE, FPS_Y_COORDINATE, FPS_TEXT_SIZE, FPS_TEXT_COLOR);
+    /**
+     * Update and draw once per display refresh, as signaled by Choreographer, until the game loop
+     * is stopped. The game thread already runs a Looper, so this just schedules the first frame.
+     */
+    private void startVsyncPacedLoop() {
+        if (mChoreographer == null) {
+            mChoreographer = Choreographer.getInstance();
         }
+
+        mLastVsyncTimeInNanos = 0L;
+        mLastFrameRenderTimeInNanos = 0L;
+        mChoreographer.postFrameCallback(mFrameCallback);
     }
 
-    private void drawCountDown() {
+    /**
+     * Called by Choreographer at the start of each display refresh in VSYNC_PACED mode. Advance the
+     * engine to the vsync time of the frame being produced, then draw it if anything changed.
+     *
+     * @param frameTimeInNanos is the vsync time of this frame, in the System.nanoTime() time base.
+     */
+    private void onVsync(final long frameTimeInNanos) {
 
-        mScene.setCountdownInProgress(true);
+        if (!isSessionCurrent()) {
+            return;
+        }
+
+        // Ask for the next vsync right away, so a slow frame doesn't make us miss it.
+        mChoreographer.postFrameCallback(mFrameCallback);
+
+        // The time between the vsyncs of two consecutive frames is the real present interval,
+        // including any refreshes skipped because a frame ran long.
+        long elapsedTimeInNanos = 0L;
+        if (mLastVsyncTimeInNanos != 0L) {
+            elapsedTimeInNanos = frameTimeInNanos - mLastVsyncTimeInNanos;
+        }
+        mLastVsyncTimeInNanos = frameTimeInNanos;
+
+        if (tick(frameTimeInNanos, elapsedTimeInNanos)) {
+            if (mState == STATE_PLAYING) {
+                mLastFrameRenderTimeInNanos = elapsedTimeInNanos;
+            }
+            drawSnapshot(mSnapshots.getReadBuffer(), frameTimeInNanos);
+        }
+    }
 
-        for (int i = COUNTDOWN_NUMBER_OF_SECONDS; i > 0; i--){
+    /**
+     * Draw the newest published snapshot whenever there is one, for as long as the Engine lives.
+     * Frozen snapshots (countdowns) are only drawn once, and nothing is drawn while the render
+     * thread is disabled; either way the thread parks until it is unparked by a publish or a
+     * start. Only used in SEPARATE_RENDER_THREAD mode.
+     */
+    private void runRenderLoop() {
+
+        long lastFrameStartTimeInNanos = System.nanoTime();
+
+        while (!mReleased) {
+
+            boolean drew = false;
+            synchronized (mRenderLock) {
+                SceneSnapshot snapshot = mSnapshots.getReadBuffer();
+                if (mRenderThreadEnabled &&
+                        (snapshot != mLastRenderedSnapshot || !snapshot.isFrozen())) {
+                    mLastRenderedSnapshot = snapshot;
+
+                    // Track frame rendering time.
+                    long frameStartTimeInNanos = System.nanoTime();
+                    if (!snapshot.isFrozen()) {
+                        mLastFrameRenderTimeInNanos =
+                                frameStartTimeInNanos - lastFrameStartTimeInNanos;
+                    }
+                    lastFrameStartTimeInNanos = frameStartTimeInNanos;
+
+                    drawSnapshot(snapshot, frameStartTimeInNanos);
+                    drew = true;
+                }
+            }
 
-            // Lock the canvas. If not successful, do not proceed.
-            if (!mRenderer.beginDrawing()) {
-                Log.w(TAG, "drawFrame: unable to lock canvas!");
-                return;
+            if (!drew) {
+                LockSupport.park(this);
             }
+        }
+    }
+
+    /**
+     * Advance the engine's state machine by the given amount of time, and publish a snapshot if
+     * there is anything new to draw. Must be called from the game thread.
+     *
+     * @param frameTimeInNanos is the time of the frame being produced.
+     * @param elapsedTimeInNanos is the real time since the last tick.
+     * @return true if a snapshot was published.
+     */
+    private boolean tick(final long frameTimeInNanos, final long elapsedTimeInNanos) {
+
+        long clampedElapsedTimeInNanos = Math.min(elapsedTimeInNanos, MAX_FRAME_TIME_IN_NANOS);
+
+        if (mState == STATE_COUNTDOWN) {
 
-            // Draw countdown text. Re-draw frame each time so screen is not blank.
-            callRendererDrawMethodsAfterCanvasIsLocked();
-            mRenderer.drawCountDown("" + i, COUNTDOWN_TEXT_SIZE, COUNTDOWN_TEXT_COLOR,
-                    mScene.getBackgroundColor());
+            // The Scene ignores paddle movements during the countdown.
+            mInputQueue.drainTo(mScene);
 
-            // Unlock the canvas and post the drawings.
-            mRenderer.commitDrawing();
+            mCountDownRemainingNanos -= clampedElapsedTimeInNanos;
+            boolean effectsChanged = mScene.updateTimedEffects(
+                    (float) clampedElapsedTimeInNanos / NANOS_PER_MILLI);
 
-            // Wait one second
-            try {
-                Thread.sleep(1_000L);
+            if (mCountDownRemainingNanos <= 0L) {
+                finishCountDown();
+                publishSnapshot(frameTimeInNanos, true, 0);
+                return true;
             }
-            catch (InterruptedException e) {
-                Log.v(TAG, "Thread interrupted while sleeping during the countdown " +
-                        "before game play.");
 
-                // Reset the interrupt flag that was cleared when InterruptedException
-                // was thrown, then end thread by returning.
-                Thread.currentThread().interrupt();
-                return;
+            // Only publish when the countdown number or a timed effect changed.
+            int countDownNumber = getCountDownNumber();
+            if (countDownNumber != mPublishedCountDownNumber || effectsChanged) {
+                publishSnapshot(frameTimeInNanos, true, countDownNumber);
+                return true;
             }
+            return false;
         }
 
+        if (advanceSimulation(clampedElapsedTimeInNanos)) {
+            // Show countdown with ball frozen at moment point was scored (i.e. on end line).
+            startCountDown(true);
+            publishSnapshot(frameTimeInNanos, true, getCountDownNumber());
+            return true;
+        }
+
+        // With a separate render thread, that thread interpolates on its own, so only publish
+        // new steps. Otherwise publish every frame, so the interpolation is up to date.
+        if (mStepsSinceLastPublish > 0 || mThreadingMode != SEPARATE_RENDER_THREAD) {
+            publishSnapshot(frameTimeInNanos - mAccumulatedSimulationNanos, false, 0);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Advance the scene in fixed steps until it has caught up with the accumulated time. A slow
+     * frame means more steps, not bigger ones, so physics results don't depend on it.
+     *
+     * @param elapsedTimeInNanos is the time since the simulation was last advanced.
+     * @return true if a point was scored, in which case the scene is left as of that step.
+     */
+    private boolean advanceSimulation(final long elapsedTimeInNanos) {
+
+        mAccumulatedSimulationNanos += elapsedTimeInNanos;
+
+        while (mAccumulatedSimulationNanos >= mSimulationStepInNanos) {
+            mInputQueue.drainTo(mScene);
+            boolean pointScored = mScene.updateGameObjects(mSimulationStepInMillis);
+            mAccumulatedSimulationNanos -= mSimulationStepInNanos;
+            mStepsSinceLastPublish++;
+
+            if (pointScored) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Enter the countdown state.
+     *
+     * @param resetSceneAfterCountDown indicates a point was just scored, and the Scene must be
+     *                                 reset for the next point when the countdown finishes.
+     */
+    private void startCountDown(final boolean resetSceneAfterCountDown) {
+        mState = STATE_COUNTDOWN;
+        mCountDownRemainingNanos = COUNTDOWN_NUMBER_OF_SECONDS * NANOS_PER_SECOND;
+        mResetSceneAfterCountDown = mResetSceneAfterCountDown || resetSceneAfterCountDown;
+        mPublishedCountDownNumber = 0;
+        mScene.setCountdownInProgress(true);
+    }
+
+    /**
+     * Leave the countdown state and start playing, resetting the Scene if a point was scored.
+     */
+    private void finishCountDown() {
+
+        // Reset scene AFTER countdown, and don't count the countdown as game time.
+        if (mResetSceneAfterCountDown) {
+            mScene.resetAfterPointScored();
+            mResetSceneAfterCountDown = false;
+        }
         mScene.setCountdownInProgress(false);
+
+        mAccumulatedSimulationNanos = 0L;
+        mState = STATE_PLAYING;
+    }
+
+    /**
+     * @return the number to show for the countdown: 3, 2, then 1.
+     */
+    private int getCountDownNumber() {
+        return (int) ((mCountDownRemainingNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+    }
+
+    /**
+     * @return how long the free-running loop may park before the next tick has anything to do.
+     */
+    private long getNanosUntilNextTick() {
+        if (mState == STATE_COUNTDOWN) {
+            // Wake when the countdown number changes.
+            return mCountDownRemainingNanos - (getCountDownNumber() - 1) * NANOS_PER_SECOND;
+        }
+        return mSimulationStepInNanos - mAccumulatedSimulationNanos;
+    }
+
+    /**
+     * Copy the Scene's current state into the next free snapshot and hand it to the renderer.
+     * Must be called from the thread that updates the Scene.
+     *
+     * @param stateTimeInNanos is the System.nanoTime() that the Scene's current state represents.
+     * @param frozen indicates the frame should be drawn as is, without interpolation.
+     * @param countDownNumber is the countdown number to show, or 0 if none.
+     */
+    private void publishSnapshot(final long stateTimeInNanos, final boolean frozen,
+                                 final int countDownNumber) {
+        SceneSnapshot snapshot = mSnapshots.getWriteBuffer();
+        snapshot.capture(mScene, stateTimeInNanos, frozen, countDownNumber);
+
+        // Capture the state rather than the pixels: a copy of the frame's numbers into a
+        // preallocated ring, which costs far less than drawing it.
+        FrameCaptureBuffer capture = mFrameCapture;
+        if (capture != null) {
+            capture.offer(snapshot.getFrame(), stateTimeInNanos, countDownNumber);
+        }
+
+        mSnapshots.publish();
+        mStepsSinceLastPublish = 0;
+        mPublishedCountDownNumber = countDownNumber;
+
+        // Wake the render thread in case it is parked on a frozen snapshot.
+        if (mRenderThread != null) {
+            LockSupport.unpark(mRenderThread);
+        }
+    }
+
+    /**
+     * Draw the given snapshot, interpolated between its last two simulation steps.
+     *
+     * @param snapshot is the snapshot to draw, as returned by the triple buffer to the reader.
+     * @param frameTimeInNanos is the System.nanoTime() at which this frame is being drawn.
+     */
+    private void drawSnapshot(@NonNull SceneSnapshot snapshot, final long frameTimeInNanos) {
+
+        // The snapshot holds the state as of getStateTimeInNanos(), and the state one step before
+        // that. Show the same fraction of a step that has elapsed since.
+        float interpolation = 1f;
+        if (!snapshot.isFrozen()) {
+            interpolation = (float) (frameTimeInNanos - snapshot.getStateTimeInNanos()) /
+                    mSimulationStepInNanos;
+            interpolation = Math.max(0f, Math.min(1f, interpolation));
+        }
+
+        // The Renderer may be unbound while a stop is completing; skip the frame if so.
+        GameEngine.Renderer renderer = mRenderer;
+        if (renderer == null) {
+            return;
+        }
+
+        if (SHOW_FPS && !snapshot.isFrozen()) {
+            updateFramesPerSecond();
+        }
+
+        // Record the frame before locking the canvas, so the canvas is only held while the
+        // recorded commands are replayed, sorted to need as few paint changes as possible.
+        mCommandBuffer.beginDrawing();
+        callRendererDrawMethods(mCommandBuffer, snapshot, interpolation);
+        mCommandBuffer.commitDrawing();
+
+        // Replaying locks the canvas (only the part that changed since the last frame, if that's
+        // small enough), draws, then unlocks the canvas and posts the drawings.
+        if (!mCommandBuffer.replay(renderer)) {
+            Log.w(TAG, "drawFrame: unable to lock canvas!");
+        }
+    }
+
+    /**
+     * Add the time of the frame being drawn to the running total, and once it covers a second,
+     * update the frame rate shown to the average over those frames and start a new total.
+     */
+    private void updateFramesPerSecond() {
+        long lastFrameRenderTimeInNanos = mLastFrameRenderTimeInNanos;
+        if (lastFrameRenderTimeInNanos <= 0L) {
+            return;
+        }
+
+        mTimedFrameCount++;
+        mTimedFrameNanos += lastFrameRenderTimeInNanos;
+        if (mTimedFrameNanos >= NANOS_PER_SECOND) {
+            mFramesPerSecond = mTimedFrameCount * NANOS_PER_SECOND / mTimedFrameNanos;
+            mTimedFrameCount = 0;
+            mTimedFrameNanos = 0L;
+        }
+    }
+
+    private void callRendererDrawMethods(@NonNull GameEngine.Renderer renderer,
+                                         @NonNull SceneSnapshot snapshot,
+                                         final float interpolation) {
+
+        // Read the frame through indexed loops over its arrays, so drawing allocates nothing.
+        RenderFrame frame = snapshot.getFrame();
+
+        // Wipe everything by re-drawing the background color.
+        renderer.drawBackground(frame.getBackgroundColor());
+
+        // Draw each game item.
+        for (int i = 0; i < frame.getScoreCount(); i++) {
+            renderer.drawScore(frame.getScoreText(i), frame.getScoreTextLength(i),
+                    frame.getScoreX(i), frame.getScoreTopY(i), frame.getScoreTextSize(i),
+                    frame.getScoreColor(i), frame.isScoreRightAligned(i));
+        }
+
+        for (int i = 0; i < frame.getLineCount(); i++) {
+            renderer.drawVerticalLine(frame.getLineX(i), frame.getLineTopY(i),
+                    frame.getLineBottomY(i), frame.getLineColor(i),
+                    frame.isLineDashed(i));
+        }
+
+        // Balls come in a few sizes and colors, so draw them a batch at a time rather than one
+        // call (and one paint change) per ball.
+        mCircleBatches.clear();
+        for (int i = 0; i < frame.getCircleCount(); i++) {
+            mCircleBatches.add(frame.getCircleCenterX(i, interpolation),
+                    frame.getCircleCenterY(i, interpolation), frame.getCircleRadius(i),
+                    frame.getCircleColor(i));
+        }
+        for (int batch = 0; batch < mCircleBatches.getBatchCount(); batch++) {
+            renderer.drawCircles(mCircleBatches.getCenters(batch),
+                    mCircleBatches.getCircleCount(batch), mCircleBatches.getRadius(batch),
+                    mCircleBatches.getColor(batch));
+        }
+
+        for (int i = 0; i < frame.getRectCount(); i++) {
+            renderer.drawRect(frame.getRectLeftX(i, interpolation),
+                    frame.getRectTopY(i, interpolation),
+                    frame.getRectRightX(i, interpolation),
+                    frame.getRectBottomY(i, interpolation),
+                    frame.getRectColor(i));
+        }
+
+        if (SHOW_FPS) {
+            // Draw the frames per second as text.
+            mFramesPerSecondText.setNumber((int) Math.min(mFramesPerSecond, Integer.MAX_VALUE));
+            renderer.drawFramesPerSecond(mFramesPerSecondText.getChars(),
+                    mFramesPerSecondText.getLength(), FPS_X_COORDINATE, FPS_Y_COORDINATE,
+                    FPS_TEXT_SIZE, FPS_TEXT_COLOR);
+        }
+
+        if (snapshot.getCountDownNumber() > 0) {
+            mCountDownText.setNumber(snapshot.getCountDownNumber());
+            renderer.drawCountDown(mCountDownText.getChars(), mCountDownText.getLength(),
+                    COUNTDOWN_TEXT_SIZE, COUNTDOWN_TEXT_COLOR,
+                    snapshot.getFrame().getBackgroundColor());
+        }
     }
 }
@@ -8,6 +8,8 @@ import android.util.Log;
 import com.charlesdrews.pongish.game.objects.GameObjects;
 import com.charlesdrews.pongish.game.objects.PongScene;
 
+import java.io.File;
+
 /**
  * Provide data to the views and handle user touch events and activity lifecycle events.
  *
@@ -18,6 +20,8 @@ public class PongPresenter implements GameContract.Presenter {
     private static final String TAG = "PongPresenter";
 
     private static final String SCENE_PARCEL_KEY = "scene_parcel_key";
+    private static final String RECORDING_FILE_PREFIX = "gameplay-";
+    private static final String RECORDING_FILE_SUFFIX = ".capture";
 
 
     // ===================================== Member variables ====================================
@@ -31,10 +35,14 @@ public class PongPresenter implements GameContract.Presenter {
     private int mGameBoardHeight = 0;
     private int mComputerControlledPaddle;
 
+    private final GameplayRecorder mRecorder;
+    private File mRecordingDirectory;
+
     // ====================================== Constructor ========================================
 
     public PongPresenter(int computerControlledPaddle) {
         mEngine = new PongEngine();
+        mRecorder = new GameplayRecorder(mEngine);
         mComputerControlledPaddle = computerControlledPaddle;
     }
 
@@ -69,11 +77,25 @@ public class PongPresenter implements GameContract.Presenter {
         mGameBoardHeight = height;
     }
 
+    @Override
+    public void setRecordingDirectory(@Nullable File directory) {
+        mRecordingDirectory = directory;
+        if (directory == null) {
+            mRecorder.stop();
+        }
+    }
+
     @Override
     public void saveGameStateToBundle(@NonNull Bundle gameStateBundle) {
 
+        // The game was stopped in onActivityPause(), but that doesn't wait for the game thread.
+        // Make sure it's done with the scene before writing it out.
+        mEngine.awaitGameExecutionStopped();
+
         // Save scene in bundle
-        gameStateBundle.putParcelable(SCENE_PARCEL_KEY, mScene);
+        if (mScene != null) {
+            gameStateBundle.putParcelable(SCENE_PARCEL_KEY, new SceneParcel(mScene));
+        }
 
         // Save which paddle (if any) is computer controlled
         gameStateBundle.putInt(PongActivity.COMPUTER_CONTROLLED_PADDLE_KEY,
@@ -83,10 +105,17 @@ public class PongPresenter implements GameContract.Presenter {
     @Override
     public void onGameViewReady(@Nullable Bundle savedGameStateBundle) {
 
-        // Make sure game not running until we want it to
+        // Make sure game not running until we want it to. The engine handles the stop before the
+        // setScene() and drawFrame() calls below, so there's no need to wait for it.
         mEngine.stopGameExecution();
         mViewActivity.showPlayIcon();
 
+        if (mRecordingDirectory != null && mGameBoardWidth > 0 && mGameBoardHeight > 0) {
+            mRecorder.start(new File(mRecordingDirectory, RECORDING_FILE_PREFIX +
+                    System.currentTimeMillis() + RECORDING_FILE_SUFFIX),
+                    mGameBoardWidth, mGameBoardHeight);
+        }
+
         // If game state still in memory in Presenter, pause game & redraw last frame
         if (mScene != null) {
             Log.d(TAG, "onGameViewReady: game still in memory");
@@ -97,7 +126,10 @@ public class PongPresenter implements GameContract.Presenter {
         else if (savedGameStateBundle != null) {
             Log.d(TAG, "onGameViewReady: game saved in bundle");
 
-            mScene = savedGameStateBundle.getParcelable(SCENE_PARCEL_KEY);
+            SceneParcel sceneParcel = savedGameStateBundle.getParcelable(SCENE_PARCEL_KEY);
+            if (sceneParcel != null) {
+                mScene = sceneParcel.getScene();
+            }
             mComputerControlledPaddle = savedGameStateBundle
                     .getInt(PongActivity.COMPUTER_CONTROLLED_PADDLE_KEY);
 
@@ -120,6 +152,17 @@ public class PongPresenter implements GameContract.Presenter {
     public void onActivityPause() {
         mEngine.stopGameExecution();
         mViewActivity.showPlayIcon();
+
+        // Wait for the frame in progress, which may still be capturing, so the recording keeps it
+        if (mRecorder.isRecording()) {
+            mEngine.awaitGameExecutionStopped();
+            mRecorder.stop();
+        }
+    }
+
+    @Override
+    public void onActivityDestroy() {
+        mEngine.release();
     }
 
     @Override
@@ -138,29 +181,47 @@ public class PongPresenter implements GameContract.Presenter {
     public void onRestartButtonClick() {
 
         // Stop the current game and clear any saved state
-        mEngine.stopGameExecution();
         mViewActivity.clearSavedGameState();
-
-        // Initialize and start a new game
-        mScene = new PongScene(mGameBoardWidth, mGameBoardHeight, mComputerControlledPaddle);
-        mEngine.setScene(mScene);
-        mEngine.startGameExecution();
         mViewActivity.showPauseIcon();
+
+        // Once the old game is no longer being updated, initialize and start a new game
+        mEngine.stopGameExecution(new GameEngine.Engine.OnStoppedListener() {
+            @Override
+            public void onGameExecutionStopped() {
+
+                // Reuse the old game's objects, so restarting doesn't leave garbage behind for
+                // the collector to pause on during the countdown
+                if (mScene != null) {
+                    mScene.resetForNewGame();
+                }
+                else {
+                    mScene = new PongScene(mGameBoardWidth, mGameBoardHeight,
+                            mComputerControlledPaddle);
+                }
+
+                // If the activity was paused in the meantime, onGameViewReady() will hand the
+                // new game to the engine when the activity resumes.
+                if (mViewActivity != null) {
+                    mEngine.setScene(mScene);
+                    mEngine.startGameExecution();
+                }
+            }
+        });
     }
 
     @Override
-    public void onLeftSidePointerMove(float deltaY) {
+    public void onLeftSidePointerMove(float deltaY, long eventTimeInMillis) {
         if (mComputerControlledPaddle != GameObjects.Scene.LEFT_PADDLE) {
-            mScene.movePaddle(GameObjects.Scene.LEFT_PADDLE, deltaY,
-                    mEngine.getLastFrameRenderTimeInMillis());
+            // The game thread owns the paddles, so hand the movement to it rather than moving
+            // the paddle from the UI thread.
+            mEngine.queuePaddleMove(GameObjects.Scene.LEFT_PADDLE, deltaY, eventTimeInMillis);
         }
     }
 
     @Override
-    public void onRightSidePointerMove(float deltaY) {
+    public void onRightSidePointerMove(float deltaY, long eventTimeInMillis) {
         if (mComputerControlledPaddle != GameObjects.Scene.RIGHT_PADDLE) {
-            mScene.movePaddle(GameObjects.Scene.RIGHT_PADDLE, deltaY,
-                    mEngine.getLastFrameRenderTimeInMillis());
+            mEngine.queuePaddleMove(GameObjects.Scene.RIGHT_PADDLE, deltaY, eventTimeInMillis);
         }
     }
 }
\ No newline at end of file
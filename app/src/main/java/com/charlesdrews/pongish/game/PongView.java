@@ -1,12 +1,16 @@
 package com.charlesdrews.pongish.game;
 
 import android.content.Context;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.DashPathEffect;
 import android.graphics.Paint;
+import android.graphics.Rect;
+import android.os.Build;
 import android.support.annotation.NonNull;
 import android.support.v4.view.MotionEventCompat;
 import android.util.AttributeSet;
+import android.util.Log;
 import android.view.MotionEvent;
 import android.view.SurfaceHolder;
 import android.view.SurfaceView;
@@ -19,6 +23,25 @@ import android.view.SurfaceView;
 public class PongView extends SurfaceView implements SurfaceHolder.Callback, GameContract.View,
         GameEngine.Renderer {
 
+    private static final String TAG = "PongView";
+
+    /**
+     * Pass to setRenderScale() to pick the biggest scale that keeps each frame within
+     * AUTO_RENDER_SCALE_PIXEL_BUDGET pixels.
+     */
+    public static final float RENDER_SCALE_AUTO = 0f;
+
+    // About a 1080p screen's worth of pixels to fill per frame
+    private static final int AUTO_RENDER_SCALE_PIXEL_BUDGET = 1920 * 1080;
+
+    // Above this fraction of the surface, locking just the damaged part saves too little to be
+    // worth it, since the rest of the surface has to be copied over from the last frame.
+    private static final float FULL_REDRAW_THRESHOLD = 0.5f;
+
+    // Pixels to pad the damaged part by, to cover anti-aliasing and the paint's stroke.
+    private static final int DIRTY_RECT_MARGIN = 2;
+
+
     // ===================================== Member variables =====================================
 
     private GameContract.Presenter mPresenter;
@@ -27,10 +50,68 @@ public class PongView extends SurfaceView implements SurfaceHolder.Callback, Gam
     private boolean mSurfaceReady = false;
     private SurfaceHolder mHolder;
     private int mSurfaceWidth = 0;
-    private Canvas mCanvas;
+    private Canvas mCanvas;            // whatever is being drawn on: the screen or the static layer
+    private Canvas mScreenCanvas;      // the locked surface canvas while drawing the static layer
     private Paint mPaint;
+    private Paint mCirclePaint;
     private DashPathEffect mDashPathEffect;
 
+    // What each Paint is currently set to, so that unchanged settings aren't set again. Frames
+    // are replayed sorted by paint settings, so most draw calls change nothing.
+    private int mPaintColor;
+    private boolean mPaintDashed;
+    private float mPaintTextSize;
+    private Paint.Align mPaintTextAlign;
+    private int mCirclePaintColor;
+    private float mCirclePaintStrokeWidth;
+
+    // The last countdown text measured, and its measurements
+    private char[] mCountDownText = new char[4];
+    private int mCountDownTextLength = 0;
+    private float mCountDownTextSize = 0f;
+    private float mCountDownTextWidth;
+    private float mCountDownTextHeight;
+
+    // Cached background, scores, and lines. Only touched by the drawing thread, except for the
+    // flag, which the UI thread sets when the surface changes.
+    private Bitmap mStaticLayerBitmap;
+    private Canvas mStaticLayerCanvas;
+    private boolean mStaticLayerDrawn = false;
+    private volatile boolean mStaticLayerInvalidated = false;
+
+    // Partial redraws only work on top of a full one on the same surface. The size is the
+    // canvas's as of the last full redraw, and is only touched by the drawing thread.
+    private final Rect mDirtyRect = new Rect();
+    private int mDrawingWidth;
+    private int mDrawingHeight;
+    private volatile boolean mFullRedrawNeeded = true;
+
+    // The game board is laid out in view coordinates, whatever the render scale. The surface may
+    // be smaller, in which case each canvas is scaled down to it and the compositor scales the
+    // frame back up. The scene size is set by the UI thread; the rest is only touched by the
+    // drawing thread, and worked out again on each full redraw.
+    private float mRenderScale = 1f;
+    private volatile int mSceneWidth;
+    private volatile int mSceneHeight;
+    private float mFrameSceneWidth;
+    private float mFrameSceneHeight;
+    private float mCanvasScaleX = 1f;
+    private float mCanvasScaleY = 1f;
+    private int mScreenSaveCount;
+    private int mStaticLayerSaveCount;
+
+    // A Surface can't switch between software and hardware drawing once drawn on, so a newly
+    // requested backend is only put to use when the surface is created. The drawing thread
+    // copies mBackend to mFrameBackend at the start of each frame.
+    private final CanvasBackend mSoftwareBackend = new CanvasBackend.Software();
+    private final CanvasBackend mHardwareBackend;
+    private volatile CanvasBackend mRequestedBackend;
+    private volatile CanvasBackend mBackend;
+    private CanvasBackend mFrameBackend;
+    private long mFrameStartTimeInNanos;
+    private final FrameTimeStats mSoftwareFrameTimeStats = new FrameTimeStats();
+    private final FrameTimeStats mHardwareFrameTimeStats = new FrameTimeStats();
+
     private int mLeftSideActivePointerId = MotionEvent.INVALID_POINTER_ID;
     private boolean mLeftSideMoveInProgress = false;
     private float mLeftSideLastYCoordinate = -1f;
@@ -51,10 +132,31 @@ public class PongView extends SurfaceView implements SurfaceHolder.Callback, Gam
         mHolder = getHolder();
         mHolder.addCallback(this);
 
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            mHardwareBackend = new CanvasBackend.Hardware();
+        }
+        else {
+            mHardwareBackend = null;
+        }
+        mRequestedBackend = mSoftwareBackend;
+        mBackend = mSoftwareBackend;
+
         mPaint = new Paint();
         mPaint.setStrokeWidth(1f);
 
+        // Draws batches of circles as points, each a round dot as wide as its stroke
+        mCirclePaint = new Paint();
+        mCirclePaint.setStyle(Paint.Style.STROKE);
+        mCirclePaint.setStrokeCap(Paint.Cap.ROUND);
+
         mDashPathEffect = new DashPathEffect(new float[]{15f, 15f}, 0f);
+
+        mPaintColor = mPaint.getColor();
+        mPaintDashed = false;
+        mPaintTextSize = mPaint.getTextSize();
+        mPaintTextAlign = mPaint.getTextAlign();
+        mCirclePaintColor = mCirclePaint.getColor();
+        mCirclePaintStrokeWidth = mCirclePaint.getStrokeWidth();
     }
 
 
@@ -83,6 +185,9 @@ public class PongView extends SurfaceView implements SurfaceHolder.Callback, Gam
                         mLeftSideMoveInProgress = true;
                         mLeftSideActivePointerId = id;
                         mLeftSideLastYCoordinate = event.getY(index);
+
+                        // A motionless sample, so the first move's speed is measured from now
+                        mPresenter.onLeftSidePointerMove(0f, event.getEventTime());
                     }
                 }
                 else {
@@ -92,6 +197,7 @@ public class PongView extends SurfaceView implements SurfaceHolder.Callback, Gam
                         mRightSideMoveInProgress = true;
                         mRightSideActivePointerId = id;
                         mRightSideLastYCoordinate = event.getY(index);
+                        mPresenter.onRightSidePointerMove(0f, event.getEventTime());
                     }
                 }
                 break;
@@ -101,14 +207,16 @@ public class PongView extends SurfaceView implements SurfaceHolder.Callback, Gam
                 // Report left side deltaY to presenter if a move is in progress
                 if (mLeftSideMoveInProgress){
                     float newY = event.getY(event.findPointerIndex(mLeftSideActivePointerId));
-                    mPresenter.onLeftSidePointerMove(newY - mLeftSideLastYCoordinate);
+                    mPresenter.onLeftSidePointerMove(newY - mLeftSideLastYCoordinate,
+                            event.getEventTime());
                     mLeftSideLastYCoordinate = newY;
                 }
 
                 // Report right side deltaY to presenter if a move is in progress
                 if (mRightSideMoveInProgress){
                     float newY = event.getY(event.findPointerIndex(mRightSideActivePointerId));
-                    mPresenter.onRightSidePointerMove(newY - mRightSideLastYCoordinate);
+                    mPresenter.onRightSidePointerMove(newY - mRightSideLastYCoordinate,
+                            event.getEventTime());
                     mRightSideLastYCoordinate = newY;
                 }
                 break;
@@ -139,13 +247,31 @@ public class PongView extends SurfaceView implements SurfaceHolder.Callback, Gam
     // ================================ SurfaceHolder.Callback methods ===========================
 
     @Override
-    public void surfaceCreated(SurfaceHolder surfaceHolder) {}
+    public void surfaceCreated(SurfaceHolder surfaceHolder) {
+        mBackend = mRequestedBackend;
+        if (mHardwareBackend != null) {
+            mHardwareBackend.setSurfaceAvailable(true);
+        }
+    }
 
     @Override
     public void surfaceChanged(SurfaceHolder surfaceHolder, int format, int width, int height) {
-        mPresenter.setGameBoardDimensions(width, height);
+        // The surface is smaller than the view when the render scale is below 1, but the game
+        // board and touch events both use view coordinates.
+        int boardWidth = width;
+        int boardHeight = height;
+        if (getWidth() > 0 && getHeight() > 0) {
+            boardWidth = getWidth();
+            boardHeight = getHeight();
+        }
+        mSceneWidth = boardWidth;
+        mSceneHeight = boardHeight;
+
+        mPresenter.setGameBoardDimensions(boardWidth, boardHeight);
+        mStaticLayerInvalidated = true;
+        mFullRedrawNeeded = true;
 
-        if (width > 2000) {
+        if (boardWidth > 2000) {
             mPaint.setStrokeWidth(2f);
         }
         else {
@@ -155,7 +281,7 @@ public class PongView extends SurfaceView implements SurfaceHolder.Callback, Gam
         // If this is the first time surfaceChanged was called, then start the game!
         if (!mSurfaceReady) {
             mSurfaceReady = true;
-            mSurfaceWidth = width;
+            mSurfaceWidth = boardWidth;
             mPresenter.onGameViewReady(mViewActivity.getSavedGameState());
         }
     }
@@ -163,6 +289,16 @@ public class PongView extends SurfaceView implements SurfaceHolder.Callback, Gam
     @Override
     public void surfaceDestroyed(SurfaceHolder surfaceHolder) {
         mSurfaceReady = false;
+        mStaticLayerInvalidated = true;
+        mFullRedrawNeeded = true;
+
+        // The software backend's SurfaceHolder waits for the frame in progress on its own
+        if (mHardwareBackend != null) {
+            mHardwareBackend.setSurfaceAvailable(false);
+        }
+
+        Log.d(TAG, "Software canvas frame times: " + mSoftwareFrameTimeStats);
+        Log.d(TAG, "Hardware canvas frame times: " + mHardwareFrameTimeStats);
     }
 
 
@@ -186,12 +322,138 @@ public class PongView extends SurfaceView implements SurfaceHolder.Callback, Gam
     }
 
 
+    // ==================================== Renderer backends ====================================
+
+    /**
+     * Draw frames at a fraction of the view's resolution, to be scaled up by the compositor.
+     * Filling fewer pixels makes each frame cheaper roughly in proportion to the scale squared.
+     * The game board and touch events keep using view coordinates. Must be called on the UI
+     * thread.
+     *
+     * @param scale is from 0 (exclusive) to 1 (full resolution), or RENDER_SCALE_AUTO.
+     */
+    public void setRenderScale(final float scale) {
+        if (scale != RENDER_SCALE_AUTO && !(scale > 0f && scale <= 1f)) {
+            throw new IllegalArgumentException("scale must be in (0, 1] or RENDER_SCALE_AUTO");
+        }
+
+        mRenderScale = scale;
+        if (getWidth() > 0 && getHeight() > 0) {
+            applyRenderScale(getWidth(), getHeight());
+        }
+    }
+
+    @Override
+    protected void onSizeChanged(int width, int height, int oldWidth, int oldHeight) {
+        super.onSizeChanged(width, height, oldWidth, oldHeight);
+        applyRenderScale(width, height);
+    }
+
+    /**
+     * Choose how frames are drawn. Takes effect the next time the surface is created, e.g. when
+     * the activity is resumed, so call before the view is shown to use it from the start.
+     *
+     * @param backend must be CanvasBackend.SOFTWARE or CanvasBackend.HARDWARE. HARDWARE falls
+     *                back to SOFTWARE below API 23.
+     */
+    public void setRendererBackend(final int backend) {
+        if (backend != CanvasBackend.SOFTWARE && backend != CanvasBackend.HARDWARE) {
+            throw new IllegalArgumentException("backend must be CanvasBackend.SOFTWARE or " +
+                    "CanvasBackend.HARDWARE");
+        }
+
+        if (backend == CanvasBackend.HARDWARE && mHardwareBackend != null) {
+            mRequestedBackend = mHardwareBackend;
+        }
+        else {
+            mRequestedBackend = mSoftwareBackend;
+        }
+    }
+
+    /**
+     * @return the backend in use for the current surface, CanvasBackend.SOFTWARE or
+     * CanvasBackend.HARDWARE.
+     */
+    public int getRendererBackend() {
+        return mBackend.getType();
+    }
+
+    /**
+     * @param backend is CanvasBackend.SOFTWARE or CanvasBackend.HARDWARE.
+     * @return the statistics for frames drawn with the backend, from locking the canvas through
+     * posting it. The counts keep going until reset.
+     */
+    public FrameTimeStats getFrameTimeStats(final int backend) {
+        return backend == CanvasBackend.HARDWARE ? mHardwareFrameTimeStats :
+                mSoftwareFrameTimeStats;
+    }
+
+
     // ================================ GameEngine.Renderer methods ==============================
 
     @Override
     public boolean beginDrawing() {
         if (mHolder.getSurface().isValid()) {
-            mCanvas = mHolder.lockCanvas();
+            // Cleared before locking, so a surface change during the lock isn't missed
+            mFullRedrawNeeded = false;
+
+            // The surface may be destroyed between the check and the lock, since the game
+            // engine no longer waits for drawing to finish when it is stopped.
+            startFrame();
+            mCanvas = mFrameBackend.lockCanvas(mHolder);
+            if (mCanvas == null) {
+                mFullRedrawNeeded = true;
+                return false;
+            }
+
+            mDrawingWidth = mCanvas.getWidth();
+            mDrawingHeight = mCanvas.getHeight();
+
+            // Work out the scale from the canvas itself, so it always matches the surface
+            // even while a new size is still on its way.
+            mFrameSceneWidth = mSceneWidth > 0 ? mSceneWidth : mDrawingWidth;
+            mFrameSceneHeight = mSceneHeight > 0 ? mSceneHeight : mDrawingHeight;
+            mCanvasScaleX = mDrawingWidth / mFrameSceneWidth;
+            mCanvasScaleY = mDrawingHeight / mFrameSceneHeight;
+
+            scaleScreenCanvas();
+            return true;
+        }
+        else {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean beginDrawing(float dirtyLeft, float dirtyTop, float dirtyRight,
+                                float dirtyBottom) {
+        // Pick the backend first, so the one that's checked is the one that's locked. A full
+        // redraw picks it again, along with everything else.
+        startFrame();
+        if (mFullRedrawNeeded || !mFrameBackend.supportsDirtyRect()) {
+            return beginDrawing();
+        }
+
+        // Scale to surface pixels, round out to whole pixels, pad, and keep within the surface
+        mDirtyRect.set((int) Math.floor(dirtyLeft * mCanvasScaleX) - DIRTY_RECT_MARGIN,
+                (int) Math.floor(dirtyTop * mCanvasScaleY) - DIRTY_RECT_MARGIN,
+                (int) Math.ceil(dirtyRight * mCanvasScaleX) + DIRTY_RECT_MARGIN,
+                (int) Math.ceil(dirtyBottom * mCanvasScaleY) + DIRTY_RECT_MARGIN);
+        if (!mDirtyRect.intersect(0, 0, mDrawingWidth, mDrawingHeight) ||
+                (float) mDirtyRect.width() * mDirtyRect.height() >
+                        FULL_REDRAW_THRESHOLD * mDrawingWidth * mDrawingHeight) {
+            return beginDrawing();
+        }
+
+        if (mHolder.getSurface().isValid()) {
+            // The canvas comes back clipped to the rectangle, which the system may have grown
+            // if it couldn't copy the rest of the last frame over.
+            mCanvas = mFrameBackend.lockCanvas(mHolder, mDirtyRect);
+            if (mCanvas == null) {
+                return false;
+            }
+
+            scaleScreenCanvas();
             return true;
         }
         else {
@@ -201,8 +463,57 @@ public class PongView extends SurfaceView implements SurfaceHolder.Callback, Gam
 
     @Override
     public void commitDrawing() {
-        mHolder.unlockCanvasAndPost(mCanvas);
+        mCanvas.restoreToCount(mScreenSaveCount);
+        mFrameBackend.unlockCanvasAndPost(mHolder, mCanvas);
         mCanvas = null;
+
+        FrameTimeStats stats = (mFrameBackend == mHardwareBackend) ? mHardwareFrameTimeStats :
+                mSoftwareFrameTimeStats;
+        stats.record(System.nanoTime() - mFrameStartTimeInNanos);
+    }
+
+    @Override
+    public boolean beginStaticLayer() {
+        int width = mCanvas.getWidth();
+        int height = mCanvas.getHeight();
+
+        // Only allocate when the surface size changes
+        if (mStaticLayerBitmap == null || mStaticLayerBitmap.getWidth() != width ||
+                mStaticLayerBitmap.getHeight() != height) {
+            if (mStaticLayerBitmap != null) {
+                mStaticLayerBitmap.recycle();
+            }
+            mStaticLayerBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            mStaticLayerCanvas = new Canvas(mStaticLayerBitmap);
+        }
+
+        mScreenCanvas = mCanvas;
+        mCanvas = mStaticLayerCanvas;
+        mStaticLayerSaveCount = mCanvas.save();
+        mCanvas.scale(mCanvasScaleX, mCanvasScaleY);
+        mStaticLayerInvalidated = false;
+        return true;
+    }
+
+    @Override
+    public void endStaticLayer() {
+        mCanvas.restoreToCount(mStaticLayerSaveCount);
+        mCanvas = mScreenCanvas;
+        mScreenCanvas = null;
+        mStaticLayerDrawn = true;
+    }
+
+    @Override
+    public boolean drawStaticLayer() {
+        if (!mStaticLayerDrawn || mStaticLayerInvalidated) {
+            return false;
+        }
+        // The bitmap is already at surface resolution, so draw it unscaled
+        mCanvas.save();
+        mCanvas.scale(1f / mCanvasScaleX, 1f / mCanvasScaleY);
+        mCanvas.drawBitmap(mStaticLayerBitmap, 0f, 0f, null);
+        mCanvas.restore();
+        return true;
     }
 
     @Override
@@ -212,73 +523,167 @@ public class PongView extends SurfaceView implements SurfaceHolder.Callback, Gam
 
     @Override
     public void drawVerticalLine(float x, float topY, float bottomY, int color, boolean dashed) {
-        mPaint.setColor(color);
-        if (dashed) {
-            mPaint.setPathEffect(mDashPathEffect);
-        }
-        else {
-            mPaint.setPathEffect(null);
-        }
+        setPaintColor(color);
+        setPaintDashed(dashed);
         mCanvas.drawLine(x, topY, x, bottomY, mPaint);
     }
 
     @Override
-    public void drawScore(@NonNull String scoreText, float x, float topY, float textSize,
-                          int color, boolean rightAlign) {
-        mPaint.setColor(color);
-        mPaint.setTextSize(textSize);
-        if (rightAlign) {
-            mPaint.setTextAlign(Paint.Align.RIGHT);
-        }
-        else {
-            mPaint.setTextAlign(Paint.Align.LEFT);
-        }
-        mCanvas.drawText(scoreText, x, topY + textSize, mPaint);
+    public void drawScore(@NonNull char[] scoreText, int scoreTextLength, float x, float topY,
+                          float textSize, int color, boolean rightAlign) {
+        setPaintColor(color);
+        setPaintTextSize(textSize);
+        setPaintTextAlign(rightAlign ? Paint.Align.RIGHT : Paint.Align.LEFT);
+        mCanvas.drawText(scoreText, 0, scoreTextLength, x, topY + textSize, mPaint);
     }
 
     @Override
     public void drawCircle(float centerX, float centerY, float radius, int color) {
-        mPaint.setColor(color);
+        setPaintColor(color);
         mCanvas.drawCircle(centerX, centerY, radius, mPaint);
     }
 
+    @Override
+    public void drawCircles(@NonNull float[] centers, int count, float radius, int color) {
+        if (color != mCirclePaintColor) {
+            mCirclePaint.setColor(color);
+            mCirclePaintColor = color;
+        }
+        if (2f * radius != mCirclePaintStrokeWidth) {
+            mCirclePaint.setStrokeWidth(2f * radius);
+            mCirclePaintStrokeWidth = 2f * radius;
+        }
+        mCanvas.drawPoints(centers, 0, 2 * count, mCirclePaint);
+    }
+
     @Override
     public void drawRect(float leftX, float topY, float rightX, float bottomY, int color) {
-        mPaint.setColor(color);
+        setPaintColor(color);
         mCanvas.drawRect(leftX, topY, rightX, bottomY, mPaint);
     }
 
     @Override
-    public void drawCountDown(@NonNull String countDownText, float textSize, int textColor,
-                              int backgroundColor) {
+    public void drawCountDown(@NonNull char[] countDownText, int countDownTextLength,
+                              float textSize, int textColor, int backgroundColor) {
 
         // Update the Paint with the necessary text style.
-        mPaint.setTextSize(textSize);
-        mPaint.setTextAlign(Paint.Align.CENTER);
-
-        // Calculate dimensions and location of the text.
-        float width = mPaint.measureText(countDownText);
-        float height = mPaint.descent() + mPaint.ascent();
-        float x = mCanvas.getWidth() / 2f;
-        float y = (mCanvas.getHeight() / 2f) - (height / 2f);
+        setPaintTextSize(textSize);
+        setPaintTextAlign(Paint.Align.CENTER);
+
+        // Calculate dimensions and location of the text, measuring only when the text changes.
+        if (textSize != mCountDownTextSize ||
+                !isSameText(countDownText, countDownTextLength, mCountDownText,
+                        mCountDownTextLength)) {
+            if (mCountDownText.length < countDownTextLength) {
+                mCountDownText = new char[countDownTextLength];
+            }
+            System.arraycopy(countDownText, 0, mCountDownText, 0, countDownTextLength);
+            mCountDownTextLength = countDownTextLength;
+            mCountDownTextSize = textSize;
+            mCountDownTextWidth = mPaint.measureText(countDownText, 0, countDownTextLength);
+            mCountDownTextHeight = mPaint.descent() + mPaint.ascent();
+        }
+        float width = mCountDownTextWidth;
+        float height = mCountDownTextHeight;
+        float x = mFrameSceneWidth / 2f;
+        float y = (mFrameSceneHeight / 2f) - (height / 2f);
         float extraMargin = 15f;
 
         // Draw a box behind the text so it doesn't overlap with other game objects.
-        mPaint.setColor(backgroundColor);
+        setPaintColor(backgroundColor);
         mCanvas.drawRect(x - width / 2f - extraMargin, y + height - extraMargin,
                 x + width / 2f + extraMargin, y + extraMargin, mPaint);
 
         // Draw the countdown text.
-        mPaint.setColor(textColor);
-        mCanvas.drawText(countDownText, x, y, mPaint);
+        setPaintColor(textColor);
+        mCanvas.drawText(countDownText, 0, countDownTextLength, x, y, mPaint);
     }
 
     @Override
-    public void drawFramesPerSecond(@NonNull String fpsText, float x, float y, float textSize,
-                                    int color) {
-        mPaint.setColor(color);
-        mPaint.setTextSize(textSize);
-        mPaint.setTextAlign(Paint.Align.LEFT);
-        mCanvas.drawText(fpsText, x, y, mPaint);
-    }
-}
\ No newline at end of file
+    public void drawFramesPerSecond(@NonNull char[] fpsText, int fpsTextLength, float x, float y,
+                                    float textSize, int color) {
+        setPaintColor(color);
+        setPaintTextSize(textSize);
+        setPaintTextAlign(Paint.Align.LEFT);
+        mCanvas.drawText(fpsText, 0, fpsTextLength, x, y, mPaint);
+    }
+
+
+    // ===================================== Helper methods =====================================
+
+    /**
+     * Size the surface for the render scale. The view is width by height.
+     */
+    private void applyRenderScale(final int width, final int height) {
+        float scale = mRenderScale;
+        if (scale == RENDER_SCALE_AUTO) {
+            scale = (float) Math.sqrt((double) AUTO_RENDER_SCALE_PIXEL_BUDGET /
+                    ((double) width * height));
+        }
+
+        if (scale >= 1f) {
+            mHolder.setSizeFromLayout();
+        }
+        else {
+            mHolder.setFixedSize(Math.max(1, Math.round(width * scale)),
+                    Math.max(1, Math.round(height * scale)));
+        }
+    }
+
+    /**
+     * Map the game board's view coordinates onto the locked screen canvas.
+     */
+    private void scaleScreenCanvas() {
+        mScreenSaveCount = mCanvas.save();
+        mCanvas.scale(mCanvasScaleX, mCanvasScaleY);
+    }
+
+    /**
+     * Pick the backend for the frame about to be drawn, and note when it started.
+     */
+    private void startFrame() {
+        mFrameBackend = mBackend;
+        mFrameStartTimeInNanos = System.nanoTime();
+    }
+
+    private static boolean isSameText(char[] text, int length, char[] otherText,
+                                      int otherLength) {
+        if (length != otherLength) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (text[i] != otherText[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void setPaintColor(int color) {
+        if (color != mPaintColor) {
+            mPaint.setColor(color);
+            mPaintColor = color;
+        }
+    }
+
+    private void setPaintDashed(boolean dashed) {
+        if (dashed != mPaintDashed) {
+            mPaint.setPathEffect(dashed ? mDashPathEffect : null);
+            mPaintDashed = dashed;
+        }
+    }
+
+    private void setPaintTextSize(float textSize) {
+        if (textSize != mPaintTextSize) {
+            mPaint.setTextSize(textSize);
+            mPaintTextSize = textSize;
+        }
+    }
+
+    private void setPaintTextAlign(Paint.Align align) {
+        if (align != mPaintTextAlign) {
+            mPaint.setTextAlign(align);
+            mPaintTextAlign = align;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.charlesdrews.pongish.game;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+import android.support.annotation.NonNull;
+
+import com.charlesdrews.pongish.game.objects.GameObjects;
+import com.charlesdrews.pongish.game.objects.PongScene;
+
+/**
+ * Adapt a Scene from the core module to Android's Parcelable, so it can be saved in a Bundle.
+ * The Scene writes its own state; this class only maps that state onto a Parcel.
+ */
+public class SceneParcel implements Parcelable {
+
+    private final GameObjects.Scene mScene;
+
+    public SceneParcel(@NonNull GameObjects.Scene scene) {
+        mScene = scene;
+    }
+
+    /**
+     * @return the Scene held by this parcel.
+     */
+    public GameObjects.Scene getScene() {
+        return mScene;
+    }
+
+
+    // =========================== Parcelable methods & constant ==================================
+
+    protected SceneParcel(Parcel in) {
+        mScene = new PongScene(new ParcelStateReader(in));
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        mScene.writeState(new ParcelStateWriter(dest));
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    public static final Creator<SceneParcel> CREATOR = new Creator<SceneParcel>() {
+        @Override
+        public SceneParcel createFromParcel(Parcel in) {
+            return new SceneParcel(in);
+        }
+
+        @Override
+        public SceneParcel[] newArray(int size) {
+            return new SceneParcel[size];
+        }
+    };
+
+
+    // ================================= Parcel adapters ========================================
+
+    private static class ParcelStateWriter implements GameObjects.StateWriter {
+
+        private final Parcel mDest;
+
+        ParcelStateWriter(Parcel dest) {
+            mDest = dest;
+        }
+
+        @Override
+        public void writeInt(int value) {
+            mDest.writeInt(value);
+        }
+
+        @Override
+        public void writeFloat(float value) {
+            mDest.writeFloat(value);
+        }
+
+        @Override
+        public void writeDouble(double value) {
+            mDest.writeDouble(value);
+        }
+
+        @Override
+        public void writeBoolean(boolean value) {
+            mDest.writeByte((byte) (value ? 1 : 0));
+        }
+    }
+
+    private static class ParcelStateReader implements GameObjects.StateReader {
+
+        private final Parcel mIn;
+
+        ParcelStateReader(Parcel in) {
+            mIn = in;
+        }
+
+        @Override
+        public int readInt() {
+            return mIn.readInt();
+        }
+
+        @Override
+        public float readFloat() {
+            return mIn.readFloat();
+        }
+
+        @Override
+        public double readDouble() {
+            return mIn.readDouble();
+        }
+
+        @Override
+        public boolean readBoolean() {
+            return mIn.readByte() != 0;
+        }
+    }
+}
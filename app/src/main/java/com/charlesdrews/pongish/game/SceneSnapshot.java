@@ -0,0 +1,61 @@
+package com.charlesdrews.pongish.game;
+
+import android.support.annotation.NonNull;
+
+import com.charlesdrews.pongish.game.objects.GameObjects;
+
+/**
+ * Copy of everything needed to draw one frame of a Scene: the Scene's RenderFrame, plus what the
+ * Engine needs to know about when and how to draw it. The simulation fills a snapshot, publishes
+ * it, and never touches it again until the renderer has moved on to a newer one, so the renderer
+ * never reads the live game objects.
+ */
+class SceneSnapshot {
+
+    // ================================= Member variables =======================================
+
+    private final RenderFrame mFrame = new RenderFrame();
+    private long mStateTimeInNanos;
+    private boolean mFrozen;
+    private int mCountDownNumber;
+
+
+    // ================================== Capture methods =======================================
+
+    /**
+     * Copy the current state of the given Scene into this snapshot. Must be called on the thread
+     * that updates the Scene.
+     *
+     * @param scene is the Scene to copy.
+     * @param stateTimeInNanos is the System.nanoTime() that the Scene's current state represents.
+     * @param frozen indicates the frame should be drawn exactly as is, without interpolation.
+     * @param countDownNumber is the countdown number to show, or 0 if no countdown is in progress.
+     */
+    void capture(@NonNull GameObjects.Scene scene, final long stateTimeInNanos,
+                 final boolean frozen, final int countDownNumber) {
+
+        scene.writeRenderFrame(mFrame);
+        mStateTimeInNanos = stateTimeInNanos;
+        mFrozen = frozen;
+        mCountDownNumber = countDownNumber;
+    }
+
+
+    // =================================== Getter methods =======================================
+
+    RenderFrame getFrame() {
+        return mFrame;
+    }
+
+    long getStateTimeInNanos() {
+        return mStateTimeInNanos;
+    }
+
+    boolean isFrozen() {
+        return mFrozen;
+    }
+
+    int getCountDownNumber() {
+        return mCountDownNumber;
+    }
+}
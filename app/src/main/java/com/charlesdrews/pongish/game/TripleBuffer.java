@@ -0,0 +1,63 @@
+package com.charlesdrews.pongish.game;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free triple buffer for handing preallocated objects from exactly one writer thread to
+ * exactly one reader thread. The writer always has a buffer of its own to fill, the reader always
+ * has a complete buffer of its own to read, and neither ever waits for the other. The reader
+ * skips straight to the newest published buffer; older unread ones are simply overwritten.
+ */
+class TripleBuffer<T> {
+
+    private static final int INDEX_MASK = 0x3;
+    private static final int FRESH_BIT = 0x4;
+
+    private final Object[] mBuffers;
+
+    // Index of the buffer in the middle, plus FRESH_BIT if it was published since the reader
+    // last took it. Swapping through this one atomic is the only point of contact between threads.
+    private final AtomicInteger mMiddle = new AtomicInteger(1);
+
+    // Owned by the writer thread.
+    private int mBack = 0;
+
+    // Owned by the reader thread.
+    private int mFront = 2;
+
+    TripleBuffer(T first, T second, T third) {
+        mBuffers = new Object[]{first, second, third};
+    }
+
+    /**
+     * Retrieve the buffer the writer may fill. Only call from the writer thread.
+     *
+     * @return a buffer the reader cannot see until publish() is called.
+     */
+    @SuppressWarnings("unchecked")
+    T getWriteBuffer() {
+        return (T) mBuffers[mBack];
+    }
+
+    /**
+     * Make the write buffer available to the reader, and take ownership of a different buffer
+     * for the next write. Only call from the writer thread.
+     */
+    void publish() {
+        mBack = mMiddle.getAndSet(mBack | FRESH_BIT) & INDEX_MASK;
+    }
+
+    /**
+     * Retrieve the newest published buffer, or the same buffer as last time if nothing new has
+     * been published. Only call from the reader thread.
+     *
+     * @return a buffer the writer will not modify until the reader moves on to a newer one.
+     */
+    @SuppressWarnings("unchecked")
+    T getReadBuffer() {
+        if ((mMiddle.get() & FRESH_BIT) != 0) {
+            mFront = mMiddle.getAndSet(mFront) & INDEX_MASK;
+        }
+        return (T) mBuffers[mFront];
+    }
+}
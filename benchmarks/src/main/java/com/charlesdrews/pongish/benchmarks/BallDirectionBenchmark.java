@@ -0,0 +1,58 @@
+package com.charlesdrews.pongish.benchmarks;
+
+import com.charlesdrews.pongish.game.objects.BallDirection;
+import com.charlesdrews.pongish.game.objects.GameColors;
+import com.charlesdrews.pongish.game.objects.GameObjects;
+import com.charlesdrews.pongish.game.objects.PongBallStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure how a ball is deflected off a paddle: looking up its new heading in
+ * BallDirection's deflection table, then pointing it that way with PongBallStore.setHeading().
+ * Collision locations cover the middle and an end of the paddle, and a location past the end
+ * that gets clamped.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BallDirectionBenchmark {
+
+    private static final float BALL_RADIUS = 30f;
+    private static final float BALL_SPEED_IN_PX_PER_MS = 0.8f;
+
+    @Param({"0", "-0.6", "1", "1.3"})
+    public float collisionLocation;
+
+    private GameObjects.BallStore mBalls;
+
+    @Setup
+    public void createBall() {
+        mBalls = new PongBallStore(1);
+        mBalls.add(0f, 0f, BALL_RADIUS, BALL_SPEED_IN_PX_PER_MS,
+                BallDirection.getRandomInitialDegrees(), GameColors.WHITE);
+    }
+
+    @Benchmark
+    public float deflectOffPaddle() {
+        int deflectionIndex = BallDirection.getDeflectionIndex(collisionLocation);
+        mBalls.setHeading(0, BallDirection.getDeflectionUnitX(deflectionIndex),
+                BallDirection.getDeflectionUnitY(deflectionIndex));
+        return mBalls.getVelocityX(0);
+    }
+}
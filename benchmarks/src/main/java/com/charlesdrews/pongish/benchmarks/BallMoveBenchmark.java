@@ -0,0 +1,62 @@
+package com.charlesdrews.pongish.benchmarks;
+
+import com.charlesdrews.pongish.game.objects.BallDirection;
+import com.charlesdrews.pongish.game.objects.GameColors;
+import com.charlesdrews.pongish.game.objects.GameObjects;
+import com.charlesdrews.pongish.game.objects.PongBallStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure PongBallStore.moveAll(), including the bounces off the top and bottom walls.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class BallMoveBenchmark {
+
+    private static final float BOARD_WIDTH = 1500f;
+    private static final float BOARD_HEIGHT = 1080f;
+    private static final float BOARD_MARGIN = 200f;
+    private static final float BALL_RADIUS = 30f;
+    private static final float BALL_SPEED_IN_PX_PER_MS = 0.8f;
+    private static final float STEP_IN_MILLIS = 1_000f / 120f;
+
+    @Param({"1", "10", "100", "10000"})
+    public int ballCount;
+
+    private GameObjects.BallStore mBalls;
+
+    // New balls each iteration, so the x coordinates (which moveAll() never bounds) stay small.
+    @Setup(Level.Iteration)
+    public void createBalls() {
+        mBalls = new PongBallStore(ballCount);
+        for (int i = 0; i < ballCount; i++) {
+            mBalls.add(BOARD_MARGIN + BOARD_WIDTH / 2f, BOARD_HEIGHT / 2f, BALL_RADIUS,
+                    BALL_SPEED_IN_PX_PER_MS, BallDirection.getRandomInitialDegrees(),
+                    GameColors.WHITE);
+        }
+    }
+
+    @Benchmark
+    public float moveAll() {
+        mBalls.moveAll(STEP_IN_MILLIS, BOARD_HEIGHT);
+        return mBalls.getCenterY(0);
+    }
+}
@@ -0,0 +1,83 @@
+package com.charlesdrews.pongish.benchmarks;
+
+import com.charlesdrews.pongish.game.objects.GameObjects;
+
+import java.nio.ByteBuffer;
+
+/**
+ * StateWriter and StateReader backed by one reusable ByteBuffer, so that saving a Scene does not
+ * allocate once the buffer has grown large enough.
+ */
+class ByteBufferState implements GameObjects.StateWriter, GameObjects.StateReader {
+
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private ByteBuffer mBuffer = ByteBuffer.allocate(INITIAL_CAPACITY);
+
+    /**
+     * Discard anything written so far and start writing from the beginning.
+     */
+    void clear() {
+        mBuffer.clear();
+    }
+
+    /**
+     * Start reading from the beginning of what was written.
+     */
+    void rewind() {
+        mBuffer.rewind();
+    }
+
+    @Override
+    public void writeInt(int value) {
+        ensureRemaining(4);
+        mBuffer.putInt(value);
+    }
+
+    @Override
+    public void writeFloat(float value) {
+        ensureRemaining(4);
+        mBuffer.putFloat(value);
+    }
+
+    @Override
+    public void writeDouble(double value) {
+        ensureRemaining(8);
+        mBuffer.putDouble(value);
+    }
+
+    @Override
+    public void writeBoolean(boolean value) {
+        ensureRemaining(1);
+        mBuffer.put((byte) (value ? 1 : 0));
+    }
+
+    @Override
+    public int readInt() {
+        return mBuffer.getInt();
+    }
+
+    @Override
+    public float readFloat() {
+        return mBuffer.getFloat();
+    }
+
+    @Override
+    public double readDouble() {
+        return mBuffer.getDouble();
+    }
+
+    @Override
+    public boolean readBoolean() {
+        return mBuffer.get() != 0;
+    }
+
+    private void ensureRemaining(final int bytes) {
+        if (mBuffer.remaining() < bytes) {
+            ByteBuffer larger = ByteBuffer.allocate(mBuffer.capacity() * 2);
+            mBuffer.flip();
+            larger.put(mBuffer);
+            mBuffer = larger;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.charlesdrews.pongish.benchmarks;
+
+import com.charlesdrews.pongish.game.FramebufferRenderer;
+import com.charlesdrews.pongish.game.GameEngine;
+import com.charlesdrews.pongish.game.RenderCommandBuffer;
+import com.charlesdrews.pongish.game.RenderFrame;
+import com.charlesdrews.pongish.game.objects.GameObjects;
+import com.charlesdrews.pongish.game.objects.PongScene;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure drawing a scene's frame off the device, onto a FramebufferRenderer: straight from the
+ * RenderFrame, and through a RenderCommandBuffer the way PongEngine draws. The difference is the
+ * cost of recording, sorting, and replaying the commands, less what the renderer's cached static
+ * layer saves. The scene doesn't move between invocations, so with nothing damaged, every replay
+ * redraws the whole frame. Run with -prof gc to confirm neither allocates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class FramebufferRendererBenchmark {
+
+    private static final int BOARD_WIDTH = 1920;
+    private static final int BOARD_HEIGHT = 1080;
+
+    @Param({"1", "10", "100", "10000"})
+    public int ballCount;
+
+    private final RenderFrame mFrame = new RenderFrame();
+    private final RenderCommandBuffer mCommandBuffer = new RenderCommandBuffer();
+    private final FramebufferRenderer mRenderer =
+            new FramebufferRenderer(BOARD_WIDTH, BOARD_HEIGHT);
+
+    @Setup
+    public void createScene() {
+        PongScene scene = new PongScene(BOARD_WIDTH, BOARD_HEIGHT,
+                GameObjects.Scene.BOTH_PADDLES);
+        scene.addBonusBalls(ballCount - 1);
+        scene.writeRenderFrame(mFrame);
+
+        // Draw once up front, so the command buffer has grown to size.
+        drawThroughCommandBuffer();
+    }
+
+    @Benchmark
+    public int drawDirectly() {
+        mRenderer.beginDrawing();
+        drawFrame(mRenderer);
+        mRenderer.commitDrawing();
+        return mRenderer.getPixel(0, 0);
+    }
+
+    @Benchmark
+    public int drawThroughCommandBuffer() {
+        mCommandBuffer.beginDrawing();
+        drawFrame(mCommandBuffer);
+        mCommandBuffer.commitDrawing();
+        mCommandBuffer.replay(mRenderer);
+        return mRenderer.getPixel(0, 0);
+    }
+
+    private void drawFrame(final GameEngine.Renderer renderer) {
+        renderer.drawBackground(mFrame.getBackgroundColor());
+
+        for (int i = 0; i < mFrame.getScoreCount(); i++) {
+            renderer.drawScore(mFrame.getScoreText(i), mFrame.getScoreTextLength(i),
+                    mFrame.getScoreX(i), mFrame.getScoreTopY(i), mFrame.getScoreTextSize(i),
+                    mFrame.getScoreColor(i), mFrame.isScoreRightAligned(i));
+        }
+
+        for (int i = 0; i < mFrame.getLineCount(); i++) {
+            renderer.drawVerticalLine(mFrame.getLineX(i), mFrame.getLineTopY(i),
+                    mFrame.getLineBottomY(i), mFrame.getLineColor(i), mFrame.isLineDashed(i));
+        }
+
+        for (int i = 0; i < mFrame.getCircleCount(); i++) {
+            renderer.drawCircle(mFrame.getCircleCenterX(i, 1f), mFrame.getCircleCenterY(i, 1f),
+                    mFrame.getCircleRadius(i), mFrame.getCircleColor(i));
+        }
+
+        for (int i = 0; i < mFrame.getRectCount(); i++) {
+            renderer.drawRect(mFrame.getRectLeftX(i, 1f), mFrame.getRectTopY(i, 1f),
+                    mFrame.getRectRightX(i, 1f), mFrame.getRectBottomY(i, 1f),
+                    mFrame.getRectColor(i));
+        }
+    }
+}
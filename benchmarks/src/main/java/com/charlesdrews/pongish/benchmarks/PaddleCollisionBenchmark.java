@@ -0,0 +1,65 @@
+package com.charlesdrews.pongish.benchmarks;
+
+import com.charlesdrews.pongish.game.objects.GameColors;
+import com.charlesdrews.pongish.game.objects.GameObjects;
+import com.charlesdrews.pongish.game.objects.PongPaddle;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure PongPaddle.getTimeOfImpact(), both for a ball sweeping into the paddle and for the far
+ * more common case of a ball elsewhere on the board.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class PaddleCollisionBenchmark {
+
+    private static final float BOARD_WIDTH = 1500f;
+    private static final float BOARD_HEIGHT = 1080f;
+    private static final float BOARD_MARGIN = 200f;
+    private static final float PADDLE_WIDTH = 20f;
+    private static final float PADDLE_HEIGHT = 200f;
+    private static final float BALL_RADIUS = 30f;
+
+    // The paddle sits 20px inside the margin, so a ball moving this way crosses the paddle.
+    private static final float BALL_START_X_TO_HIT_PADDLE = BOARD_MARGIN + 20f + PADDLE_WIDTH +
+            BALL_RADIUS + 5f;
+    private static final float BALL_START_X_TO_MISS_PADDLE = BOARD_MARGIN + BOARD_WIDTH / 2f;
+    private static final float BALL_MOVEMENT_X = -10f;
+
+    @Param({"true", "false"})
+    public boolean hit;
+
+    private GameObjects.Paddle mPaddle;
+    private float mBallStartX;
+
+    @Setup
+    public void createPaddleAndBall() {
+        mPaddle = new PongPaddle(false, GameObjects.Scene.LEFT_PADDLE, PADDLE_WIDTH,
+                PADDLE_HEIGHT, BOARD_WIDTH, BOARD_HEIGHT, BOARD_MARGIN, GameColors.WHITE);
+
+        mBallStartX = hit ? BALL_START_X_TO_HIT_PADDLE : BALL_START_X_TO_MISS_PADDLE;
+    }
+
+    @Benchmark
+    public float getTimeOfImpact() {
+        return mPaddle.getTimeOfImpact(mBallStartX, BOARD_HEIGHT / 2f,
+                mBallStartX + BALL_MOVEMENT_X, BOARD_HEIGHT / 2f + 1f, BALL_RADIUS);
+    }
+}
@@ -0,0 +1,71 @@
+package com.charlesdrews.pongish.benchmarks;
+
+import com.charlesdrews.pongish.game.GameEngine;
+import com.charlesdrews.pongish.game.RenderFrame;
+import com.charlesdrews.pongish.game.objects.GameObjects;
+import com.charlesdrews.pongish.game.objects.PongScene;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure copying a scene's drawable state once per frame, through Scene.writeRenderFrame() and,
+ * for comparison, through the List getters the engine used to read. Run with -prof gc to confirm
+ * writeRenderFrame allocates nothing.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class RenderFrameBenchmark {
+
+    private static final int BOARD_WIDTH = 1920;
+    private static final int BOARD_HEIGHT = 1080;
+
+    @Param({"1", "10", "100", "10000"})
+    public int ballCount;
+
+    private final RenderFrame mFrame = new RenderFrame();
+    private PongScene mScene;
+
+    @Setup
+    public void createScene() {
+        mScene = new PongScene(BOARD_WIDTH, BOARD_HEIGHT, GameObjects.Scene.BOTH_PADDLES);
+        mScene.addBonusBalls(ballCount - 1);
+
+        // Write once up front, so the frame has grown to size.
+        writeRenderFrame();
+    }
+
+    @Benchmark
+    public RenderFrame writeRenderFrame() {
+        mScene.writeRenderFrame(mFrame);
+        return mFrame;
+    }
+
+    @Benchmark
+    public float readCirclesFromList() {
+        float sum = 0f;
+        List<GameEngine.CircleToRender> circles = mScene.getCirclesToRender();
+        for (int i = 0; i < circles.size(); i++) {
+            GameEngine.CircleToRender circle = circles.get(i);
+            sum += circle.getCenterX() + circle.getCenterY() + circle.getPreviousCenterX() +
+                    circle.getPreviousCenterY() + circle.getRadius() + circle.getColor();
+        }
+        return sum;
+    }
+}
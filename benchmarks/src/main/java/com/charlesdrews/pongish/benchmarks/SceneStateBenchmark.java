@@ -0,0 +1,61 @@
+package com.charlesdrews.pongish.benchmarks;
+
+import com.charlesdrews.pongish.game.objects.GameObjects;
+import com.charlesdrews.pongish.game.objects.PongScene;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure saving a scene's state and recreating a scene from it, the same path the app takes
+ * through SceneParcel when the activity is stopped and restored.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SceneStateBenchmark {
+
+    private static final int BOARD_WIDTH = 1920;
+    private static final int BOARD_HEIGHT = 1080;
+
+    @Param({"1", "10", "100", "10000"})
+    public int ballCount;
+
+    private final ByteBufferState mState = new ByteBufferState();
+    private PongScene mScene;
+
+    @Setup
+    public void createScene() {
+        mScene = new PongScene(BOARD_WIDTH, BOARD_HEIGHT, GameObjects.Scene.BOTH_PADDLES);
+        mScene.addBonusBalls(ballCount - 1);
+
+        // Write once up front, so the buffer has grown to size and restore() has data to read.
+        save();
+    }
+
+    @Benchmark
+    public void save() {
+        mState.clear();
+        mScene.writeState(mState);
+    }
+
+    @Benchmark
+    public GameObjects.Scene restore() {
+        mState.rewind();
+        return new PongScene(mState);
+    }
+}
@@ -0,0 +1,89 @@
+package com.charlesdrews.pongish.benchmarks;
+
+import com.charlesdrews.pongish.game.objects.GameObjects;
+import com.charlesdrews.pongish.game.objects.PongScene;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measure PongScene.updateGameObjects() for boards holding different numbers of balls.
+ *
+ * Each trial plays one long-lived scene, and each operation is one step of it, so the balls reach
+ * the paddles and end lines along the way. Bonus balls leave the board when they score, so the
+ * ones that scored are added back at the center after each step, as the game does when it
+ * releases bonus balls, and the ball count stays at the parameter. When the normal ball scores,
+ * the board is reset and filled again. Both happen inside the measured step, so their cost and
+ * allocations are part of the steady state being measured; nothing is allocated by them once the
+ * scene has grown to fit the ball count.
+ *
+ * In event-driven mode, balls are only brought up to date when they have an event or are drawn.
+ * Drawing them is measured by RenderFrameBenchmark.
+ *
+ * The parallel update only applies to fixed-step mode. When on, it's used for every ball count,
+ * to show where it starts paying for itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class SceneUpdateBenchmark {
+
+    private static final int BOARD_WIDTH = 1920;
+    private static final int BOARD_HEIGHT = 1080;
+    private static final float STEP_IN_MILLIS = 1_000f / 120f;
+
+    @Param({"1", "10", "100", "10000"})
+    public int ballCount;
+
+    @Param({"fixedStep", "eventDriven"})
+    public String physics;
+
+    @Param({"false", "true"})
+    public boolean ballCollisions;
+
+    @Param({"false", "true"})
+    public boolean parallel;
+
+    private PongScene mScene;
+
+    @Setup(Level.Trial)
+    public void createScene() {
+        mScene = new PongScene(BOARD_WIDTH, BOARD_HEIGHT, GameObjects.Scene.BOTH_PADDLES);
+        mScene.setPhysicsMode("eventDriven".equals(physics) ?
+                GameObjects.Scene.PHYSICS_EVENT_DRIVEN : GameObjects.Scene.PHYSICS_FIXED_STEP);
+        mScene.setBallCollisionsEnabled(ballCollisions);
+        mScene.setParallelUpdateThreshold(parallel ?
+                0 : GameObjects.Scene.PARALLEL_UPDATE_DISABLED);
+
+        // The normal ball counts as one of the balls.
+        mScene.addBonusBalls(ballCount - 1);
+    }
+
+    @Benchmark
+    public boolean updateGameObjects() {
+        boolean pointScored = mScene.updateGameObjects(STEP_IN_MILLIS);
+
+        if (pointScored) {
+            mScene.resetAfterPointScored();
+        }
+        if (mScene.getBallCount() < ballCount) {
+            mScene.addBonusBalls(ballCount - mScene.getBallCount());
+        }
+        return pointScored;
+    }
+}
@@ -0,0 +1,121 @@
+package com.charlesdrews.pongish.game;
+
+import java.util.Arrays;
+
+/**
+ * Groups circles by radius and color, so a Renderer can draw each group with one call to
+ * Renderer.drawCircles() instead of one call per circle. A frame rarely has more than a handful
+ * of groups (the normal ball, the bonus ball colors, and a ball that just scored), so finding a
+ * circle's group is a short linear search, starting with the group the last circle went into.
+ *
+ * Every array is kept from frame to frame and only grows, so once the batches are big enough,
+ * filling them allocates nothing.
+ */
+public class CircleBatches {
+
+    private static final int INITIAL_BATCH_CAPACITY = 4;
+    private static final int INITIAL_CIRCLE_CAPACITY = 16;
+
+    // ================================= Member variables =======================================
+
+    private int mBatchCount;
+    private int mLastBatch;
+    private float[] mRadii = new float[INITIAL_BATCH_CAPACITY];
+    private int[] mColors = new int[INITIAL_BATCH_CAPACITY];
+    private int[] mCircleCounts = new int[INITIAL_BATCH_CAPACITY];
+    private float[][] mCenters = new float[INITIAL_BATCH_CAPACITY][];  // x, y pairs per batch
+
+
+    // ================================== Public methods ========================================
+
+    /**
+     * Empty every batch, keeping the capacity for reuse.
+     */
+    public void clear() {
+        mBatchCount = 0;
+        mLastBatch = 0;
+    }
+
+    /**
+     * Add a circle to the batch with the same radius and color, starting a new batch if there
+     * isn't one yet.
+     */
+    public void add(final float centerX, final float centerY, final float radius,
+                    final int color) {
+        int batch = findBatch(radius, color);
+
+        int count = mCircleCounts[batch];
+        float[] centers = mCenters[batch];
+        if (2 * (count + 1) > centers.length) {
+            centers = Arrays.copyOf(centers, centers.length * 2);
+            mCenters[batch] = centers;
+        }
+
+        centers[2 * count] = centerX;
+        centers[2 * count + 1] = centerY;
+        mCircleCounts[batch] = count + 1;
+    }
+
+    public int getBatchCount() {
+        return mBatchCount;
+    }
+
+    /**
+     * @param batch is from 0 to getBatchCount() - 1.
+     * @return the batch's circle centers as x, y pairs, in the order they were added. Only the
+     * first 2 * getCircleCount(batch) values belong to the batch.
+     */
+    public float[] getCenters(final int batch) {
+        return mCenters[batch];
+    }
+
+    public int getCircleCount(final int batch) {
+        return mCircleCounts[batch];
+    }
+
+    public float getRadius(final int batch) {
+        return mRadii[batch];
+    }
+
+    public int getColor(final int batch) {
+        return mColors[batch];
+    }
+
+
+    // ================================ Helper methods ===========================================
+
+    /**
+     * @return the index of the batch for circles of the specified radius and color.
+     */
+    private int findBatch(final float radius, final int color) {
+        if (mLastBatch < mBatchCount && mRadii[mLastBatch] == radius &&
+                mColors[mLastBatch] == color) {
+            return mLastBatch;
+        }
+
+        for (int batch = 0; batch < mBatchCount; batch++) {
+            if (mRadii[batch] == radius && mColors[batch] == color) {
+                mLastBatch = batch;
+                return batch;
+            }
+        }
+
+        if (mBatchCount == mRadii.length) {
+            int capacity = mRadii.length * 2;
+            mRadii = Arrays.copyOf(mRadii, capacity);
+            mColors = Arrays.copyOf(mColors, capacity);
+            mCircleCounts = Arrays.copyOf(mCircleCounts, capacity);
+            mCenters = Arrays.copyOf(mCenters, capacity);
+        }
+
+        int batch = mBatchCount++;
+        mRadii[batch] = radius;
+        mColors[batch] = color;
+        mCircleCounts[batch] = 0;
+        if (mCenters[batch] == null) {
+            mCenters[batch] = new float[2 * INITIAL_CIRCLE_CAPACITY];
+        }
+        mLastBatch = batch;
+        return batch;
+    }
+}
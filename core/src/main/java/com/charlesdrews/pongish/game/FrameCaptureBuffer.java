@@ -0,0 +1,245 @@
+package com.charlesdrews.pongish.game;
+
+import com.charlesdrews.pongish.game.objects.GameObjects;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free, single-producer/single-consumer ring of bytes holding captured frames. The game
+ * thread offers each frame it publishes, as compact state rather than pixels, and a background
+ * thread drains the bytes to a file, so capturing costs the game thread one copy of the frame's
+ * numbers. All storage is preallocated; neither side allocates or blocks. If the consumer falls
+ * behind and the ring fills up, frames are dropped rather than waiting for room.
+ *
+ * A capture file is a header, written with writeHeader(), followed by the drained bytes: one
+ * record per frame, each an int with the number of bytes that follow, the long state time in
+ * nanos, the int countdown number, then the frame as written by RenderFrame.writeState(). Every
+ * number is big-endian, as DataInputStream reads them. FrameCaptureReader reads the file back.
+ */
+public class FrameCaptureBuffer {
+
+    public static final int DEFAULT_CAPACITY_IN_BYTES = 1 << 20;
+
+    static final int FILE_MAGIC = 0x504F4E47;    // "PONG"
+    static final int FILE_VERSION = 1;
+
+    // The length at the start of each record doesn't count itself.
+    private static final int RECORD_LENGTH_SIZE = 4;
+
+    // ================================= Member variables =======================================
+
+    private final int mMask;
+    private final byte[] mBytes;
+
+    // Next byte to write; only advanced by the producer.
+    private final AtomicLong mHead = new AtomicLong();
+
+    // Next byte to drain; only advanced by the consumer.
+    private final AtomicLong mTail = new AtomicLong();
+
+    // Owned by the producer.
+    private final RecordWriter mWriter = new RecordWriter();
+    private volatile long mCapturedFrameCount;
+    private volatile long mDroppedFrameCount;
+
+
+    // ==================================== Constructors ========================================
+
+    public FrameCaptureBuffer() {
+        this(DEFAULT_CAPACITY_IN_BYTES);
+    }
+
+    /**
+     * @param capacityInBytes is the most bytes of frames that may wait to be drained, and must be
+     *                        a power of two. At least a few times the size of the biggest frame
+     *                        (16 bytes per ball), so a slow drain doesn't drop frames.
+     */
+    public FrameCaptureBuffer(final int capacityInBytes) {
+        if (capacityInBytes <= 0 || Integer.bitCount(capacityInBytes) != 1) {
+            throw new IllegalArgumentException("capacityInBytes must be a positive power of two");
+        }
+
+        mMask = capacityInBytes - 1;
+        mBytes = new byte[capacityInBytes];
+    }
+
+
+    // ================================== Producer methods ======================================
+
+    /**
+     * Add a frame to the ring. Only call from the producer (game) thread.
+     *
+     * @param frame is the frame to capture.
+     * @param stateTimeInNanos is the System.nanoTime() that the frame represents.
+     * @param countDownNumber is the countdown number shown over the frame, or 0 if none.
+     * @return true if captured, or false if there wasn't room and the frame was dropped.
+     */
+    public boolean offer(final RenderFrame frame, final long stateTimeInNanos,
+                         final int countDownNumber) {
+        long head = mHead.get();
+        int free = mBytes.length - (int) (head - mTail.get());
+
+        // Write straight into the ring, leaving room for the length, and only publish the record
+        // once it's known to fit.
+        mWriter.begin(head + RECORD_LENGTH_SIZE, free - RECORD_LENGTH_SIZE);
+        mWriter.writeLong(stateTimeInNanos);
+        mWriter.writeInt(countDownNumber);
+        frame.writeState(mWriter);
+
+        if (mWriter.hasOverflowed()) {
+            mDroppedFrameCount++;
+            return false;
+        }
+
+        int length = mWriter.getLength();
+        putInt(head, length);
+
+        // Publish the record. The ordered write makes its bytes visible to the consumer before
+        // the new head is.
+        mHead.lazySet(head + RECORD_LENGTH_SIZE + length);
+        mCapturedFrameCount++;
+        return true;
+    }
+
+    /**
+     * @return how many frames have been added to the ring since it was created.
+     */
+    public long getCapturedFrameCount() {
+        return mCapturedFrameCount;
+    }
+
+    /**
+     * @return how many frames have been dropped for lack of room since the ring was created.
+     */
+    public long getDroppedFrameCount() {
+        return mDroppedFrameCount;
+    }
+
+
+    // ================================== Consumer methods ======================================
+
+    /**
+     * Write every captured byte to the stream, in order, and free its room in the ring. Only call
+     * from the consumer thread.
+     *
+     * @param out is the stream to write to, after the file's header.
+     * @return the number of bytes written.
+     */
+    public int drainTo(final OutputStream out) throws IOException {
+        long tail = mTail.get();
+        int count = (int) (mHead.get() - tail);
+        if (count == 0) {
+            return 0;
+        }
+
+        // The bytes may wrap around the end of the array.
+        int start = (int) (tail & mMask);
+        int firstCount = Math.min(count, mBytes.length - start);
+        out.write(mBytes, start, firstCount);
+        if (firstCount < count) {
+            out.write(mBytes, 0, count - firstCount);
+        }
+
+        // Release the drained bytes back to the producer.
+        mTail.lazySet(tail + count);
+        return count;
+    }
+
+    /**
+     * Start a capture file.
+     *
+     * @param width is the width of the board the frames were captured from.
+     * @param height is the height of the board the frames were captured from.
+     */
+    public static void writeHeader(final OutputStream out, final int width, final int height)
+            throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("width and height must be greater than 0");
+        }
+
+        DataOutputStream dataOut = new DataOutputStream(out);
+        dataOut.writeInt(FILE_MAGIC);
+        dataOut.writeInt(FILE_VERSION);
+        dataOut.writeInt(width);
+        dataOut.writeInt(height);
+        dataOut.flush();
+    }
+
+
+    // ================================== Helper methods ========================================
+
+    private void putInt(final long position, final int value) {
+        mBytes[(int) (position & mMask)] = (byte) (value >>> 24);
+        mBytes[(int) ((position + 1) & mMask)] = (byte) (value >>> 16);
+        mBytes[(int) ((position + 2) & mMask)] = (byte) (value >>> 8);
+        mBytes[(int) ((position + 3) & mMask)] = (byte) value;
+    }
+
+
+    /**
+     * Writes one record's bytes into the ring from a given position, stopping (and remembering
+     * that it stopped) at the first byte that doesn't fit.
+     */
+    private class RecordWriter implements GameObjects.StateWriter {
+
+        private long mPosition;
+        private int mLength;
+        private int mLimit;
+        private boolean mOverflowed;
+
+        void begin(final long position, final int limit) {
+            mPosition = position;
+            mLength = 0;
+            mLimit = limit;
+            mOverflowed = limit < 0;
+        }
+
+        boolean hasOverflowed() {
+            return mOverflowed;
+        }
+
+        int getLength() {
+            return mLength;
+        }
+
+        void writeLong(final long value) {
+            writeInt((int) (value >>> 32));
+            writeInt((int) value);
+        }
+
+        @Override
+        public void writeInt(final int value) {
+            if (mOverflowed || mLength + 4 > mLimit) {
+                mOverflowed = true;
+                return;
+            }
+
+            putInt(mPosition + mLength, value);
+            mLength += 4;
+        }
+
+        @Override
+        public void writeFloat(final float value) {
+            writeInt(Float.floatToRawIntBits(value));
+        }
+
+        @Override
+        public void writeDouble(final double value) {
+            writeLong(Double.doubleToRawLongBits(value));
+        }
+
+        @Override
+        public void writeBoolean(final boolean value) {
+            if (mOverflowed || mLength + 1 > mLimit) {
+                mOverflowed = true;
+                return;
+            }
+
+            mBytes[(int) ((mPosition + mLength) & mMask)] = (byte) (value ? 1 : 0);
+            mLength++;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.charlesdrews.pongish.game;
+
+import com.charlesdrews.pongish.game.objects.GameObjects;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Reads the frames back out of a capture file written from a FrameCaptureBuffer, one at a time
+ * and in the order they were captured.
+ */
+public class FrameCaptureReader implements Closeable {
+
+    // Time, countdown number, and at least the frame's background color and four counts
+    private static final int MIN_RECORD_LENGTH = 8 + 4 + 5 * 4;
+
+    // ================================= Member variables =======================================
+
+    private final DataInputStream mIn;
+    private final int mWidth;
+    private final int mHeight;
+
+    private byte[] mRecord = new byte[1024];
+    private final RecordReader mRecordReader = new RecordReader();
+    private long mStateTimeInNanos;
+    private int mCountDownNumber;
+
+
+    // ==================================== Constructor =========================================
+
+    /**
+     * Read the capture file's header.
+     *
+     * @throws IOException if the stream doesn't start with a capture file header.
+     */
+    public FrameCaptureReader(final InputStream in) throws IOException {
+        mIn = new DataInputStream(new BufferedInputStream(in));
+
+        if (mIn.readInt() != FrameCaptureBuffer.FILE_MAGIC) {
+            throw new IOException("Not a gameplay capture file");
+        }
+        int version = mIn.readInt();
+        if (version != FrameCaptureBuffer.FILE_VERSION) {
+            throw new IOException("Unsupported gameplay capture version " + version);
+        }
+
+        mWidth = mIn.readInt();
+        mHeight = mIn.readInt();
+        if (mWidth <= 0 || mHeight <= 0) {
+            throw new IOException("Corrupt gameplay capture header");
+        }
+    }
+
+
+    // ================================== Public methods ========================================
+
+    /**
+     * @return the width of the board the frames were captured from.
+     */
+    public int getWidth() {
+        return mWidth;
+    }
+
+    /**
+     * @return the height of the board the frames were captured from.
+     */
+    public int getHeight() {
+        return mHeight;
+    }
+
+    /**
+     * Read the next frame. A record cut short at the end of the file, e.g. because the app was
+     * killed while writing it, counts as the end of the file.
+     *
+     * @param frame is where to put the frame.
+     * @return true if a frame was read, or false at the end of the file.
+     * @throws IOException if reading fails or the record is corrupt.
+     */
+    public boolean readFrame(final RenderFrame frame) throws IOException {
+        int length;
+        try {
+            length = mIn.readInt();
+            if (length < MIN_RECORD_LENGTH) {
+                throw new IOException("Corrupt gameplay capture record");
+            }
+
+            if (mRecord.length < length) {
+                mRecord = new byte[Math.max(length, mRecord.length * 2)];
+            }
+            mIn.readFully(mRecord, 0, length);
+        }
+        catch (EOFException e) {
+            return false;
+        }
+
+        ByteBuffer record = ByteBuffer.wrap(mRecord, 0, length);
+        try {
+            mStateTimeInNanos = record.getLong();
+            mCountDownNumber = record.getInt();
+
+            mRecordReader.mRecord = record;
+            frame.readState(mRecordReader);
+        }
+        catch (BufferUnderflowException e) {
+            throw new IOException("Corrupt gameplay capture record", e);
+        }
+        return true;
+    }
+
+    /**
+     * @return the System.nanoTime() that the last frame read represents.
+     */
+    public long getStateTimeInNanos() {
+        return mStateTimeInNanos;
+    }
+
+    /**
+     * @return the countdown number shown over the last frame read, or 0 if none.
+     */
+    public int getCountDownNumber() {
+        return mCountDownNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        mIn.close();
+    }
+
+
+    /**
+     * Reads a frame's state from the current record.
+     */
+    private static class RecordReader implements GameObjects.StateReader {
+
+        private ByteBuffer mRecord;
+
+        @Override
+        public int readInt() {
+            return mRecord.getInt();
+        }
+
+        @Override
+        public float readFloat() {
+            return mRecord.getFloat();
+        }
+
+        @Override
+        public double readDouble() {
+            return mRecord.getDouble();
+        }
+
+        @Override
+        public boolean readBoolean() {
+            return mRecord.get() != 0;
+        }
+    }
+}
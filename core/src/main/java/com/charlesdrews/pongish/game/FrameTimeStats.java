@@ -0,0 +1,83 @@
+package com.charlesdrews.pongish.game;
+
+/**
+ * Running statistics about how long frames take to draw: how many, and the shortest, longest, and
+ * average time. Frames are recorded by the drawing thread and the statistics may be read from any
+ * other thread, so every method is synchronized; recording is cheap and almost never contended.
+ */
+public class FrameTimeStats {
+
+    private static final float NANOS_PER_MILLI = 1_000_000f;
+
+    // ================================= Member variables =======================================
+
+    private long mFrameCount;
+    private long mTotalNanos;
+    private long mMinNanos;
+    private long mMaxNanos;
+
+
+    // ================================== Public methods ========================================
+
+    /**
+     * Add one frame to the statistics.
+     *
+     * @param frameTimeInNanos is how long the frame took to draw. Must not be negative.
+     */
+    public synchronized void record(final long frameTimeInNanos) {
+        if (frameTimeInNanos < 0L) {
+            throw new IllegalArgumentException("frameTimeInNanos must not be negative");
+        }
+
+        if (mFrameCount == 0L || frameTimeInNanos < mMinNanos) {
+            mMinNanos = frameTimeInNanos;
+        }
+        if (frameTimeInNanos > mMaxNanos) {
+            mMaxNanos = frameTimeInNanos;
+        }
+        mTotalNanos += frameTimeInNanos;
+        mFrameCount++;
+    }
+
+    /**
+     * Forget every frame recorded so far.
+     */
+    public synchronized void reset() {
+        mFrameCount = 0L;
+        mTotalNanos = 0L;
+        mMinNanos = 0L;
+        mMaxNanos = 0L;
+    }
+
+    public synchronized long getFrameCount() {
+        return mFrameCount;
+    }
+
+    /**
+     * @return the average frame time, or 0 if no frames have been recorded.
+     */
+    public synchronized long getAverageNanos() {
+        return mFrameCount == 0L ? 0L : mTotalNanos / mFrameCount;
+    }
+
+    /**
+     * @return the shortest frame time, or 0 if no frames have been recorded.
+     */
+    public synchronized long getMinNanos() {
+        return mMinNanos;
+    }
+
+    /**
+     * @return the longest frame time, or 0 if no frames have been recorded.
+     */
+    public synchronized long getMaxNanos() {
+        return mMaxNanos;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return mFrameCount + " frames, average " + getAverageNanos() / NANOS_PER_MILLI +
+                " ms, min " + mMinNanos / NANOS_PER_MILLI + " ms, max " +
+                mMaxNanos / NANOS_PER_MILLI + " ms";
+    }
+}
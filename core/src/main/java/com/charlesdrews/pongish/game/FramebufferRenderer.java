@@ -0,0 +1,358 @@
+package com.charlesdrews.pongish.game;
+
+import java.util.Arrays;
+
+/**
+ * A Renderer that draws into an int[] of ARGB pixels in plain Java, so frames can be drawn off
+ * the device: by tests comparing them with golden images, or by benchmarks measuring the cost of
+ * producing the draw calls apart from Android's Canvas.
+ *
+ * Shapes are filled a scanline at a time, and a pixel is covered when its center is inside the
+ * shape, so there's no anti-aliasing and every color is drawn opaque. Lines are one pixel wide,
+ * with the same 15 pixel dashes as PongView. Text uses a built-in bitmap font with digits and the
+ * few letters the HUD needs; other characters are left blank.
+ *
+ * The static layer is cached in a second pixel array, and a dirty rectangle clips drawing to it,
+ * so this also shows whether a partial redraw produces exactly the same pixels as a full one.
+ * Both arrays are allocated up front; drawing never allocates.
+ */
+public class FramebufferRenderer implements GameEngine.Renderer {
+
+    private static final int DASH_LENGTH = 15;
+    private static final float COUNT_DOWN_MARGIN = 15f;
+
+    // 3x5 bitmap font, one row per string, '#' for a filled pixel
+    private static final int GLYPH_WIDTH = 3;
+    private static final int GLYPH_HEIGHT = 5;
+    private static final String GLYPH_CHARS = "0123456789-:FPS";
+    private static final String[] GLYPH_ROWS = {
+            "###", "#.#", "#.#", "#.#", "###",      // 0
+            ".#.", "##.", ".#.", ".#.", "###",      // 1
+            "###", "..#", "###", "#..", "###",      // 2
+            "###", "..#", "###", "..#", "###",      // 3
+            "#.#", "#.#", "###", "..#", "..#",      // 4
+            "###", "#..", "###", "..#", "###",      // 5
+            "###", "#..", "###", "#.#", "###",      // 6
+            "###", "..#", "..#", "..#", "..#",      // 7
+            "###", "#.#", "###", "#.#", "###",      // 8
+            "###", "#.#", "###", "..#", "###",      // 9
+            "...", "...", "###", "...", "...",      // -
+            "...", ".#.", "...", ".#.", "...",      // :
+            "###", "#..", "##.", "#..", "#..",      // F
+            "###", "#.#", "###", "#..", "#..",      // P
+            "###", "#..", "###", "..#", "###",      // S
+    };
+
+    // Bit (row * GLYPH_WIDTH + column) is set for each filled pixel of each glyph
+    private static final int[] GLYPHS = new int[GLYPH_CHARS.length()];
+
+    static {
+        for (int glyph = 0; glyph < GLYPHS.length; glyph++) {
+            for (int row = 0; row < GLYPH_HEIGHT; row++) {
+                String pixels = GLYPH_ROWS[glyph * GLYPH_HEIGHT + row];
+                for (int column = 0; column < GLYPH_WIDTH; column++) {
+                    if (pixels.charAt(column) == '#') {
+                        GLYPHS[glyph] |= 1 << (row * GLYPH_WIDTH + column);
+                    }
+                }
+            }
+        }
+    }
+
+
+    // ================================= Member variables =======================================
+
+    private final int mWidth;
+    private final int mHeight;
+    private final int[] mPixels;
+    private final int[] mStaticLayerPixels;
+    private boolean mStaticLayerDrawn = false;
+
+    // What's being drawn on, mPixels or mStaticLayerPixels, and the part of it that may change
+    private int[] mTarget;
+    private int mClipLeft;
+    private int mClipTop;
+    private int mClipRight;      // exclusive
+    private int mClipBottom;     // exclusive
+
+    // The screen's clip, while drawing on the static layer
+    private int mSavedClipLeft;
+    private int mSavedClipTop;
+    private int mSavedClipRight;
+    private int mSavedClipBottom;
+
+    private int mFrameCount;
+
+
+    // ====================================== Constructor =======================================
+
+    /**
+     * @param width of the framebuffer in pixels. Must be positive.
+     * @param height of the framebuffer in pixels. Must be positive.
+     */
+    public FramebufferRenderer(final int width, final int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("width and height must be positive");
+        }
+
+        mWidth = width;
+        mHeight = height;
+        mPixels = new int[width * height];
+        mStaticLayerPixels = new int[width * height];
+        mTarget = mPixels;
+        setClip(0, 0, width, height);
+    }
+
+
+    // ================================== Public methods ========================================
+
+    public int getWidth() {
+        return mWidth;
+    }
+
+    public int getHeight() {
+        return mHeight;
+    }
+
+    /**
+     * @return the frame's pixels as ARGB ints, row by row from the top left. Drawing the next
+     * frame changes them.
+     */
+    public int[] getPixels() {
+        return mPixels;
+    }
+
+    public int getPixel(final int x, final int y) {
+        return mPixels[y * mWidth + x];
+    }
+
+    /**
+     * @return the number of frames committed so far.
+     */
+    public int getFrameCount() {
+        return mFrameCount;
+    }
+
+
+    // ============================ GameEngine.Renderer methods ==================================
+
+    /**
+     * Always succeeds, since there's no surface to wait for.
+     */
+    @Override
+    public boolean beginDrawing() {
+        mTarget = mPixels;
+        setClip(0, 0, mWidth, mHeight);
+        return true;
+    }
+
+    /**
+     * Clip drawing to the pixels that the dirty rectangle touches, leaving the rest of the last
+     * frame as it was.
+     */
+    @Override
+    public boolean beginDrawing(float dirtyLeft, float dirtyTop, float dirtyRight,
+                                float dirtyBottom) {
+        mTarget = mPixels;
+        setClip((int) Math.floor(dirtyLeft), (int) Math.floor(dirtyTop),
+                (int) Math.ceil(dirtyRight), (int) Math.ceil(dirtyBottom));
+        return true;
+    }
+
+    @Override
+    public void commitDrawing() {
+        mFrameCount++;
+    }
+
+    @Override
+    public boolean beginStaticLayer() {
+        mSavedClipLeft = mClipLeft;
+        mSavedClipTop = mClipTop;
+        mSavedClipRight = mClipRight;
+        mSavedClipBottom = mClipBottom;
+
+        mTarget = mStaticLayerPixels;
+        setClip(0, 0, mWidth, mHeight);
+        return true;
+    }
+
+    @Override
+    public void endStaticLayer() {
+        mTarget = mPixels;
+        setClip(mSavedClipLeft, mSavedClipTop, mSavedClipRight, mSavedClipBottom);
+        mStaticLayerDrawn = true;
+    }
+
+    @Override
+    public boolean drawStaticLayer() {
+        if (!mStaticLayerDrawn) {
+            return false;
+        }
+
+        for (int y = mClipTop; y < mClipBottom; y++) {
+            int start = y * mWidth + mClipLeft;
+            System.arraycopy(mStaticLayerPixels, start, mTarget, start, mClipRight - mClipLeft);
+        }
+        return true;
+    }
+
+    @Override
+    public void drawBackground(int color) {
+        fillSpans(mClipLeft, mClipTop, mClipRight, mClipBottom, color);
+    }
+
+    @Override
+    public void drawVerticalLine(float x, float topY, float bottomY, int color, boolean dashed) {
+        int column = (int) Math.floor(x);
+        if (column < mClipLeft || column >= mClipRight) {
+            return;
+        }
+
+        // Dashes are counted from the top of the line, so clipping doesn't move them
+        int firstRow = firstPixel(topY);
+        int top = Math.max(firstRow, mClipTop);
+        int bottom = Math.min(firstPixel(bottomY), mClipBottom);
+        for (int y = top; y < bottom; y++) {
+            if (!dashed || ((y - firstRow) / DASH_LENGTH) % 2 == 0) {
+                mTarget[y * mWidth + column] = color;
+            }
+        }
+    }
+
+    @Override
+    public void drawScore(char[] scoreText, int scoreTextLength, float x, float topY,
+                          float textSize, int color, boolean rightAlign) {
+        float left = rightAlign ? x - getTextWidth(scoreTextLength, textSize) : x;
+        drawText(scoreText, scoreTextLength, left, topY, textSize, color);
+    }
+
+    @Override
+    public void drawCircle(float centerX, float centerY, float radius, int color) {
+        int top = Math.max(firstPixel(centerY - radius), mClipTop);
+        int bottom = Math.min(firstPixel(centerY + radius), mClipBottom);
+        float radiusSquared = radius * radius;
+
+        for (int y = top; y < bottom; y++) {
+            float dy = y + 0.5f - centerY;
+            float halfWidthSquared = radiusSquared - dy * dy;
+            if (halfWidthSquared < 0f) {
+                continue;
+            }
+            float halfWidth = (float) Math.sqrt(halfWidthSquared);
+            fillRow(y, firstPixel(centerX - halfWidth), firstPixel(centerX + halfWidth), color);
+        }
+    }
+
+    @Override
+    public void drawCircles(float[] centers, int count, float radius, int color) {
+        for (int i = 0; i < count; i++) {
+            drawCircle(centers[2 * i], centers[2 * i + 1], radius, color);
+        }
+    }
+
+    @Override
+    public void drawRect(float leftX, float topY, float rightX, float bottomY, int color) {
+        fillSpans(firstPixel(leftX), firstPixel(topY), firstPixel(rightX), firstPixel(bottomY),
+                color);
+    }
+
+    @Override
+    public void drawCountDown(char[] countDownText, int countDownTextLength, float textSize,
+                              int textColor, int backgroundColor) {
+        float width = getTextWidth(countDownTextLength, textSize);
+        float left = (mWidth - width) / 2f;
+        float top = (mHeight - textSize) / 2f;
+
+        // A box behind the text, as in PongView, so it doesn't overlap other game objects
+        drawRect(left - COUNT_DOWN_MARGIN, top - COUNT_DOWN_MARGIN,
+                left + width + COUNT_DOWN_MARGIN, top + textSize + COUNT_DOWN_MARGIN,
+                backgroundColor);
+        drawText(countDownText, countDownTextLength, left, top, textSize, textColor);
+    }
+
+    /**
+     * Draw the text with y as its baseline, the bottom of the font's glyphs.
+     */
+    @Override
+    public void drawFramesPerSecond(char[] fpsText, int fpsTextLength, float x, float y,
+                                    float textSize, int color) {
+        drawText(fpsText, fpsTextLength, x, y - textSize, textSize, color);
+    }
+
+
+    // ================================ Helper methods ===========================================
+
+    private void setClip(final int left, final int top, final int right, final int bottom) {
+        mClipLeft = Math.max(left, 0);
+        mClipTop = Math.max(top, 0);
+        mClipRight = Math.min(right, mWidth);
+        mClipBottom = Math.min(bottom, mHeight);
+    }
+
+    /**
+     * @return the first pixel whose center is at or past the coordinate, so a span from a to b
+     * covers the pixels from firstPixel(a) up to, but not including, firstPixel(b).
+     */
+    private static int firstPixel(final float coordinate) {
+        return (int) Math.ceil(coordinate - 0.5f);
+    }
+
+    /**
+     * Fill the pixels from left to right (exclusive) in each row from top to bottom (exclusive),
+     * within the clip.
+     */
+    private void fillSpans(final int left, final int top, final int right, final int bottom,
+                           final int color) {
+        int clippedTop = Math.max(top, mClipTop);
+        int clippedBottom = Math.min(bottom, mClipBottom);
+        for (int y = clippedTop; y < clippedBottom; y++) {
+            fillRow(y, left, right, color);
+        }
+    }
+
+    private void fillRow(final int y, final int left, final int right, final int color) {
+        int clippedLeft = Math.max(left, mClipLeft);
+        int clippedRight = Math.min(right, mClipRight);
+        if (clippedLeft < clippedRight) {
+            Arrays.fill(mTarget, y * mWidth + clippedLeft, y * mWidth + clippedRight, color);
+        }
+    }
+
+    /**
+     * @return the width of the text, with a font pixel's gap between glyphs but not after the
+     * last one.
+     */
+    private static float getTextWidth(final int length, final float textSize) {
+        if (length == 0) {
+            return 0f;
+        }
+        float pixelSize = textSize / GLYPH_HEIGHT;
+        return (length * (GLYPH_WIDTH + 1) - 1) * pixelSize;
+    }
+
+    /**
+     * Draw the text with its top left corner at left, top. The glyphs are textSize tall.
+     */
+    private void drawText(final char[] text, final int length, final float left,
+                          final float top, final float textSize, final int color) {
+        float pixelSize = textSize / GLYPH_HEIGHT;
+
+        for (int i = 0; i < length; i++) {
+            int glyph = GLYPH_CHARS.indexOf(text[i]);
+            if (glyph < 0) {
+                continue;
+            }
+
+            float glyphLeft = left + i * (GLYPH_WIDTH + 1) * pixelSize;
+            for (int row = 0; row < GLYPH_HEIGHT; row++) {
+                for (int column = 0; column < GLYPH_WIDTH; column++) {
+                    if ((GLYPHS[glyph] & (1 << (row * GLYPH_WIDTH + column))) != 0) {
+                        float x = glyphLeft + column * pixelSize;
+                        float y = top + row * pixelSize;
+                        drawRect(x, y, x + pixelSize, y + pixelSize, color);
+                    }
+                }
+            }
+        }
+    }
+}
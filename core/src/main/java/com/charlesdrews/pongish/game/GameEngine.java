@@ -0,0 +1,349 @@
+package com.charlesdrews.pongish.game;
+
+import com.charlesdrews.pongish.game.objects.GameObjects;
+
+/**
+ * Contracts for the game engine and the game renderer
+ *
+ * Created by charlie on 9/10/16.
+ */
+public interface GameEngine {
+
+    /**
+     * Provides the functionality to control and manage the game execution loop.
+     */
+    interface Engine extends Runnable {
+
+        /**
+         * Update and draw on the same thread, one after the other.
+         */
+        int SINGLE_THREAD = 0;
+
+        /**
+         * Update on the game thread and draw on a separate render thread, so the simulation keeps
+         * running while the render thread is blocked waiting for the surface.
+         */
+        int SEPARATE_RENDER_THREAD = 1;
+
+        /**
+         * Update and draw on the game thread once per display refresh, paced by Choreographer
+         * vsync callbacks instead of looping as fast as the surface allows.
+         */
+        int VSYNC_PACED = 2;
+
+        /**
+         * Bind a reference to the given Renderer to the Engine.
+         *
+         * @param renderer is the instance of Renderer to bind to the Engine.
+         */
+        void bindRenderer(Renderer renderer);
+
+        /**
+         * Unbind the Renderer from the Engine by removing the reference.
+         */
+        void unbindRenderer();
+
+        /**
+         * Set the PongScene object upon which the Engine will act. The Scene is handed to the
+         * game thread in order with start, stop, and draw requests, so it is safe to call while
+         * a stop is still completing.
+         *
+         * @param scene is the PongScene instance the Engine will update and render.
+         */
+        void setScene(GameObjects.Scene scene);
+
+        /**
+         * Queue a paddle movement requested by the user. May be called from the UI thread while
+         * the game loop is running; the movement is applied by the game thread at the start of
+         * its next simulation step, and its speed is limited based on the time since the previous
+         * movement of the same paddle.
+         *
+         * @param paddle must be GameObjects.Scene.LEFT_PADDLE or GameObjects.Scene.RIGHT_PADDLE.
+         * @param deltaY is the amount to move up (negative) or down (positive).
+         * @param eventTimeInMillis is the time the touch sample was taken, in the
+         *                          SystemClock.uptimeMillis() time base.
+         */
+        void queuePaddleMove(final int paddle, final float deltaY, final long eventTimeInMillis);
+
+        /**
+         * Retrieve the fixed rate at which the Engine advances the Scene. The simulation always
+         * steps by exactly 1/stepsPerSecond, regardless of how long each frame takes to draw.
+         *
+         * @return the number of simulation steps per second of game time.
+         */
+        int getSimulationStepsPerSecond();
+
+        /**
+         * Capture every frame the game publishes from now on, or stop capturing. The game thread
+         * offers each frame to the capture buffer as it's published, and never waits for room;
+         * draining the buffer is up to the caller.
+         *
+         * @param capture is the buffer to capture frames into, or null to stop capturing.
+         */
+        void setFrameCapture(FrameCaptureBuffer capture);
+
+        /**
+         * Start (or resume) the update/draw loop on the Engine's game thread. The game thread,
+         * and in SEPARATE_RENDER_THREAD mode the render thread, are created on first use and
+         * reused by every later start, so pausing and resuming never creates threads. Any paddle
+         * movements queued while the game was stopped are discarded.
+         */
+        void startGameExecution();
+
+        /**
+         * Ask the update/draw loop to stop, without waiting for it. Same as calling
+         * stopGameExecution(null).
+         */
+        void stopGameExecution();
+
+        /**
+         * Ask the update/draw loop to stop, without waiting for it. The loop finishes the frame
+         * in progress, if any, and its threads park until the game is started again.
+         *
+         * @param listener is notified on the main thread once the loop has stopped and no longer
+         *                 touches the Scene or the Renderer. May be null.
+         */
+        void stopGameExecution(OnStoppedListener listener);
+
+        /**
+         * Block until a stop requested by stopGameExecution() has completed. Only needed by
+         * callers that must read the Scene right away, e.g. to save it; waits for at most the
+         * frame in progress. Returns immediately if the game has been started again since.
+         */
+        void awaitGameExecutionStopped();
+
+        /**
+         * Draw one frame using the current positions of all game objects. The frame is drawn
+         * asynchronously by the game thread, after any previously requested start, stop, or
+         * setScene() call has been handled.
+         */
+        void drawFrame();
+
+        /**
+         * Stop the update/draw loop if it is running and let the Engine's threads end. The
+         * Engine cannot be started again afterwards.
+         */
+        void release();
+
+        /**
+         * Provide the main game update/draw loop, which will run on the Engine's game thread. In
+         * SEPARATE_RENDER_THREAD mode this loop only updates, and publishes a snapshot of the
+         * Scene after each update for the render thread to draw.
+         */
+        @Override
+        void run();
+
+        /**
+         * Notified when a stop requested by stopGameExecution() has completed.
+         */
+        interface OnStoppedListener {
+
+            /**
+             * Called on the main thread once the update/draw loop has stopped.
+             */
+            void onGameExecutionStopped();
+        }
+    }
+
+    /**
+     * Provides the functionality to draw game objects to the screen.
+     */
+    interface Renderer {
+
+        /**
+         * MUST be called before any of the draw___() methods for a given frame of animation
+         *
+         * @return true if surface is ready for drawing, else false
+         */
+        boolean beginDrawing();
+
+        /**
+         * Same as beginDrawing(), except that only the pixels inside the given rectangle, the
+         * damaged part of the screen, have to be drawn, since the rest still shows the previous
+         * frame. The rectangle covers exactly the shapes that changed, so a Renderer should pad
+         * it by however far its strokes and anti-aliasing spread. A Renderer may clip the draw
+         * calls that follow to the rectangle, or ignore it and redraw the whole frame.
+         *
+         * @return true if surface is ready for drawing, else false
+         */
+        boolean beginDrawing(float dirtyLeft, float dirtyTop, float dirtyRight, float dirtyBottom);
+
+        /**
+         * MUST be called after all the draw___() methods for a given frame of animation
+         */
+        void commitDrawing();
+
+        /**
+         * Redirect the draw___() calls that follow, up to endStaticLayer(), into a cached static
+         * layer, replacing what it held, instead of onto the screen. The static layer holds what
+         * rarely changes (the background, scores, and lines), so it can be drawn each frame with
+         * one drawStaticLayer() call instead of being drawn again piece by piece.
+         * beginDrawing MUST be called prior, and commitDrawing() MUST be called after.
+         *
+         * @return true if the draw calls are now going into the cache, or false if this Renderer
+         * doesn't keep one, in which case they go onto the screen as usual.
+         */
+        boolean beginStaticLayer();
+
+        /**
+         * Stop redirecting draw calls into the static layer. Only call if beginStaticLayer()
+         * returned true.
+         */
+        void endStaticLayer();
+
+        /**
+         * Draw the cached static layer onto the screen, covering everything drawn so far.
+         * beginDrawing MUST be called prior, and commitDrawing() MUST be called after.
+         *
+         * @return false if there is no cached static layer to draw, e.g. because the surface
+         * changed size since it was drawn.
+         */
+        boolean drawStaticLayer();
+
+        /**
+         * Fill in the background color for the game area.
+         * beginDrawing MUST be called prior, and commitDrawing() MUST be called after.
+         *
+         * @param color of the background as an int
+         */
+        void drawBackground(int color);
+
+        /**
+         * Draw a vertical line in the game area.
+         *
+         * @param x is the x coordinate of the vertical line.
+         * @param topY is the y coordinate of the top of the line.
+         * @param bottomY is the y coordinate of the bottom of the line.
+         * @param color is the color of the line as an int.
+         * @param dashed indicates whether line should be solid (false) or dashed (true).
+         */
+        void drawVerticalLine(float x, float topY, float bottomY, int color, boolean dashed);
+
+        /**
+         * Draw a player's score on the game board.
+         * @param scoreText holds the score to be displayed. The array may be reused once this
+         *                  returns, so keep a copy if needed.
+         * @param scoreTextLength is the number of characters in scoreText to display.
+         * @param x is the left x coordinate of the text if rightAlign is false, else the right x
+         *          coordinate of the text.
+         * @param topY is the y coordinate for the TOP of the text.
+         * @param textSize is the height of the text.
+         * @param color is the color of the text as an int.
+         * @param rightAlign indicates whether the text should be right or left aligned.
+         */
+        void drawScore(char[] scoreText, int scoreTextLength, float x, float topY,
+                       float textSize, int color, boolean rightAlign);
+
+        /**
+         * Draw a circle in the game area.
+         * beginDrawing MUST be called prior, and commitDrawing() MUST be called after.
+         *
+         * @param centerX is the x coordinate of the circle's center.
+         * @param centerY is the y coordinate of the circle's center.
+         * @param radius of the circle in pixels
+         * @param color of the circle as an int
+         */
+        void drawCircle(float centerX, float centerY, float radius, int color);
+
+        /**
+         * Draw several circles of the same radius and color in one call, e.g. one of the
+         * batches in CircleBatches.
+         * beginDrawing MUST be called prior, and commitDrawing() MUST be called after.
+         *
+         * @param centers holds the circles' centers as x, y pairs.
+         * @param count is the number of circles, so centers holds 2 * count values to draw.
+         * @param radius of every circle in pixels
+         * @param color of every circle as an int
+         */
+        void drawCircles(float[] centers, int count, float radius, int color);
+
+        /**
+         * Draw a rectangle in the game area.
+         * beginDrawing MUST be called prior, and commitDrawing() MUST be called after.
+         *
+         * @param leftX is the x coordinate of the rectangle's left edge.
+         * @param topY is the y coordinate of the rectangles's top edge.
+         * @param rightX is the x coordinate of the rectangle's right edge.
+         * @param bottomY is the y coordinate of the rectangle's bottom edge.
+         * @param color of the rectangle as an int.
+         */
+        void drawRect(float leftX, float topY, float rightX, float bottomY, int color);
+
+        /**
+         * Draw a countdown number in the center of the screen.
+         *
+         * @param countDownText holds the text to display, like scoreText in drawScore().
+         * @param countDownTextLength is the number of characters in countDownText to display.
+         * @param textSize is the desired text size.
+         * @param textColor is the textColor of the text as an int.
+         * @param backgroundColor is the color, as an int, to show behind the text.
+         */
+        void drawCountDown(char[] countDownText, int countDownTextLength, float textSize,
+                           int textColor, int backgroundColor);
+
+        /**
+         * Draw the frames per second rate as text in the game area.
+         * beginDrawing MUST be called prior, and commitDrawing() MUST be called after.
+         *
+         * @param fpsText holds the FPS text, like scoreText in drawScore().
+         * @param fpsTextLength is the number of characters in fpsText to display.
+         * @param x coordinate of the top-left text corner
+         * @param y coordinate of the top-left text corner
+         * @param textSize in pixels
+         * @param color of the text as an int
+         */
+        void drawFramesPerSecond(char[] fpsText, int fpsTextLength, float x, float y,
+                                 float textSize, int color);
+    }
+
+    /**
+     * Simple interface any circular game object must implement in order to be drawn to the screen.
+     * The previous center is the position as of the start of the last simulation step, so the
+     * Engine can interpolate between the last two simulation states when rendering.
+     */
+    interface CircleToRender {
+        float getCenterX();
+        float getCenterY();
+        float getPreviousCenterX();
+        float getPreviousCenterY();
+        float getRadius();
+        int getColor();
+    }
+
+    /**
+     * Simple interface any rectangular game object must implement in order to be drawn to the screen.
+     * The previous coordinates are as of the start of the last simulation step.
+     */
+    interface RectangleToRender {
+        float getLeftX();
+        float getTopY();
+        float getRightX();
+        float getBottomY();
+        float getPreviousLeftX();
+        float getPreviousTopY();
+        float getPreviousRightX();
+        float getPreviousBottomY();
+        int getColor();
+    }
+
+    /**
+     * Simple interface any vertical line in the game must implement in order to be drawn on the screen.
+     */
+    interface VerticalLineToRender {
+        float getX();
+        float getTopY();
+        float getBottomY();
+        int getColor();
+        boolean isDashed();
+    }
+
+    interface ScoreToRender {
+        char[] getScoreText();
+        int getScoreTextLength();
+        float getX();
+        float getTopY();
+        float getTextSize();
+        int getColor();
+        boolean isRightAligned();
+    }
+}
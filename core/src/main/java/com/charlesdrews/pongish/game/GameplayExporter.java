@@ -0,0 +1,288 @@
+package com.charlesdrews.pongish.game;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Locale;
+
+/**
+ * Turns a capture file, written on the device from a FrameCaptureBuffer, into an animated GIF or
+ * a sequence of PPM images, off the device. Each frame is drawn with a FramebufferRenderer, so
+ * none of the cost lands on the game. The captured frames come at whatever rate the game
+ * published them, so they're resampled to a steady frame rate: each output frame shows the
+ * latest captured frame as of its time. Time when nothing was captured for a while, e.g. while
+ * the game was paused, is skipped.
+ *
+ * Run from the command line with:
+ *   GameplayExporter capture-file output.gif|output-directory [frames-per-second] [shrink-factor]
+ */
+public class GameplayExporter {
+
+    public static final int DEFAULT_FRAMES_PER_SECOND = 25;
+    public static final int DEFAULT_SHRINK_FACTOR = 2;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final int CENTIS_PER_SECOND = 100;
+
+    // Longer than the countdown's one second between frames, so only real gaps are skipped
+    private static final long MAX_GAP_IN_NANOS = 2L * NANOS_PER_SECOND;
+
+    // As PongEngine draws the countdown
+    private static final float COUNTDOWN_TEXT_SIZE = 150f;
+    private static final int COUNTDOWN_TEXT_COLOR = 0xFFFFFFFF;
+
+    // ================================= Member variables =======================================
+
+    private final int mFramesPerSecond;
+    private final int mShrinkFactor;
+    private final NumberText mCountDownText = new NumberText();
+
+
+    // ==================================== Constructor =========================================
+
+    /**
+     * @param framesPerSecond is the frame rate to export at, from 1 to 100. GIFs are timed in
+     *                        hundredths of a second, so rates that don't divide 100 come out a
+     *                        little slow.
+     * @param shrinkFactor is how many times smaller than the board to make each frame, at least
+     *                     1. Each output pixel is the top left pixel of its block.
+     */
+    public GameplayExporter(final int framesPerSecond, final int shrinkFactor) {
+        if (framesPerSecond <= 0 || framesPerSecond > CENTIS_PER_SECOND) {
+            throw new IllegalArgumentException("framesPerSecond must be from 1 to 100");
+        }
+        if (shrinkFactor <= 0) {
+            throw new IllegalArgumentException("shrinkFactor must be greater than 0");
+        }
+
+        mFramesPerSecond = framesPerSecond;
+        mShrinkFactor = shrinkFactor;
+    }
+
+
+    // ================================== Public methods ========================================
+
+    /**
+     * Export the capture as an animated GIF that loops forever.
+     *
+     * @return the number of frames written.
+     */
+    public int exportGif(final InputStream capture, final OutputStream gif) throws IOException {
+        FrameCaptureReader reader = new FrameCaptureReader(capture);
+        final GifEncoder encoder = new GifEncoder(gif, getOutputWidth(reader),
+                getOutputHeight(reader));
+        final int delayInCentis = CENTIS_PER_SECOND / mFramesPerSecond;
+
+        int frameCount = export(reader, new FrameSink() {
+            @Override
+            public void writeFrame(int[] pixels, int width, int height, int frameNumber)
+                    throws IOException {
+                encoder.addFrame(pixels, delayInCentis);
+            }
+        });
+        encoder.finish();
+        return frameCount;
+    }
+
+    /**
+     * Export the capture as binary PPM images, named frame-00000.ppm, frame-00001.ppm, and so on,
+     * e.g. for a video encoder to turn into a video.
+     *
+     * @param directory is where to write the images. It's created if need be.
+     * @return the number of frames written.
+     */
+    public int exportFrames(final InputStream capture, final File directory) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create " + directory);
+        }
+
+        FrameCaptureReader reader = new FrameCaptureReader(capture);
+        return export(reader, new FrameSink() {
+
+            private byte[] mRgb;
+
+            @Override
+            public void writeFrame(int[] pixels, int width, int height, int frameNumber)
+                    throws IOException {
+                if (mRgb == null) {
+                    mRgb = new byte[3 * pixels.length];
+                }
+                for (int i = 0; i < pixels.length; i++) {
+                    mRgb[3 * i] = (byte) (pixels[i] >> 16);
+                    mRgb[3 * i + 1] = (byte) (pixels[i] >> 8);
+                    mRgb[3 * i + 2] = (byte) pixels[i];
+                }
+
+                File file = new File(directory,
+                        String.format(Locale.US, "frame-%05d.ppm", frameNumber));
+                OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+                try {
+                    out.write(String.format(Locale.US, "P6\n%d %d\n255\n", width, height)
+                            .getBytes("US-ASCII"));
+                    out.write(mRgb);
+                }
+                finally {
+                    out.close();
+                }
+            }
+        });
+    }
+
+    public static void main(final String[] args) throws IOException {
+        if (args.length < 2 || args.length > 4) {
+            System.err.println("Usage: GameplayExporter capture-file " +
+                    "output.gif|output-directory [frames-per-second] [shrink-factor]");
+            System.exit(1);
+        }
+
+        int framesPerSecond = args.length > 2 ? Integer.parseInt(args[2]) :
+                DEFAULT_FRAMES_PER_SECOND;
+        int shrinkFactor = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_SHRINK_FACTOR;
+        GameplayExporter exporter = new GameplayExporter(framesPerSecond, shrinkFactor);
+
+        File output = new File(args[1]);
+        InputStream capture = new FileInputStream(args[0]);
+        int frameCount;
+        try {
+            if (output.getName().toLowerCase(Locale.US).endsWith(".gif")) {
+                OutputStream gif = new BufferedOutputStream(new FileOutputStream(output));
+                try {
+                    frameCount = exporter.exportGif(capture, gif);
+                }
+                finally {
+                    gif.close();
+                }
+            }
+            else {
+                frameCount = exporter.exportFrames(capture, output);
+            }
+        }
+        finally {
+            capture.close();
+        }
+
+        System.out.println("Wrote " + frameCount + " frames to " + output);
+    }
+
+
+    // ================================== Helper methods ========================================
+
+    /**
+     * Draw the captured frames at the export frame rate, and hand each to the sink.
+     *
+     * @return the number of frames written.
+     */
+    private int export(final FrameCaptureReader reader, final FrameSink sink)
+            throws IOException {
+        FramebufferRenderer renderer = new FramebufferRenderer(reader.getWidth(),
+                reader.getHeight());
+        int outputWidth = getOutputWidth(reader);
+        int outputHeight = getOutputHeight(reader);
+        int[] output = mShrinkFactor == 1 ? null : new int[outputWidth * outputHeight];
+        long frameIntervalInNanos = NANOS_PER_SECOND / mFramesPerSecond;
+
+        // Keep the frame being shown, and the one after it to know when to move on.
+        RenderFrame current = new RenderFrame();
+        RenderFrame next = new RenderFrame();
+        if (!reader.readFrame(current)) {
+            return 0;
+        }
+        int currentCountDownNumber = reader.getCountDownNumber();
+        long outputTimeInNanos = reader.getStateTimeInNanos();
+
+        boolean hasNext = reader.readFrame(next);
+        int frameCount = 0;
+        while (true) {
+            while (hasNext && reader.getStateTimeInNanos() <= outputTimeInNanos) {
+                RenderFrame swap = current;
+                current = next;
+                next = swap;
+                currentCountDownNumber = reader.getCountDownNumber();
+                hasNext = reader.readFrame(next);
+            }
+
+            drawFrame(renderer, current, currentCountDownNumber);
+            int[] pixels = renderer.getPixels();
+            if (output != null) {
+                shrink(pixels, reader.getWidth(), output, outputWidth, outputHeight);
+                pixels = output;
+            }
+            sink.writeFrame(pixels, outputWidth, outputHeight, frameCount);
+            frameCount++;
+
+            if (!hasNext) {
+                return frameCount;
+            }
+
+            outputTimeInNanos += frameIntervalInNanos;
+            if (reader.getStateTimeInNanos() - outputTimeInNanos > MAX_GAP_IN_NANOS) {
+                outputTimeInNanos = reader.getStateTimeInNanos();
+            }
+        }
+    }
+
+    private void drawFrame(final FramebufferRenderer renderer, final RenderFrame frame,
+                           final int countDownNumber) {
+        renderer.beginDrawing();
+        renderer.drawBackground(frame.getBackgroundColor());
+
+        for (int i = 0; i < frame.getScoreCount(); i++) {
+            renderer.drawScore(frame.getScoreText(i), frame.getScoreTextLength(i),
+                    frame.getScoreX(i), frame.getScoreTopY(i), frame.getScoreTextSize(i),
+                    frame.getScoreColor(i), frame.isScoreRightAligned(i));
+        }
+
+        for (int i = 0; i < frame.getLineCount(); i++) {
+            renderer.drawVerticalLine(frame.getLineX(i), frame.getLineTopY(i),
+                    frame.getLineBottomY(i), frame.getLineColor(i), frame.isLineDashed(i));
+        }
+
+        for (int i = 0; i < frame.getCircleCount(); i++) {
+            renderer.drawCircle(frame.getCircleCenterX(i, 1f), frame.getCircleCenterY(i, 1f),
+                    frame.getCircleRadius(i), frame.getCircleColor(i));
+        }
+
+        for (int i = 0; i < frame.getRectCount(); i++) {
+            renderer.drawRect(frame.getRectLeftX(i, 1f), frame.getRectTopY(i, 1f),
+                    frame.getRectRightX(i, 1f), frame.getRectBottomY(i, 1f),
+                    frame.getRectColor(i));
+        }
+
+        if (countDownNumber > 0) {
+            mCountDownText.setNumber(countDownNumber);
+            renderer.drawCountDown(mCountDownText.getChars(), mCountDownText.getLength(),
+                    COUNTDOWN_TEXT_SIZE, COUNTDOWN_TEXT_COLOR, frame.getBackgroundColor());
+        }
+        renderer.commitDrawing();
+    }
+
+    private void shrink(final int[] pixels, final int width, final int[] output,
+                        final int outputWidth, final int outputHeight) {
+        for (int y = 0; y < outputHeight; y++) {
+            int row = y * mShrinkFactor * width;
+            for (int x = 0; x < outputWidth; x++) {
+                output[y * outputWidth + x] = pixels[row + x * mShrinkFactor];
+            }
+        }
+    }
+
+    private int getOutputWidth(final FrameCaptureReader reader) {
+        return Math.max(1, reader.getWidth() / mShrinkFactor);
+    }
+
+    private int getOutputHeight(final FrameCaptureReader reader) {
+        return Math.max(1, reader.getHeight() / mShrinkFactor);
+    }
+
+
+    /**
+     * Where export() sends each finished frame.
+     */
+    private interface FrameSink {
+        void writeFrame(int[] pixels, int width, int height, int frameNumber) throws IOException;
+    }
+}
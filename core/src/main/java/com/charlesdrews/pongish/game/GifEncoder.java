@@ -0,0 +1,345 @@
+package com.charlesdrews.pongish.game;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Writes an animated GIF that loops forever, one frame of ARGB pixels at a time. Each frame gets
+ * its own palette of the colors in it; the game only uses a handful, so there's no dithering.
+ * If a frame has more than 256 colors, the rest are drawn in whichever of the first 256 is
+ * nearest. Alpha is ignored.
+ */
+public class GifEncoder {
+
+    private static final int MAX_COLORS = 256;
+    private static final int MAX_CODE_SIZE = 12;
+    private static final int MAX_CODE_COUNT = 1 << MAX_CODE_SIZE;
+    private static final int CODE_TABLE_SIZE = 2 * MAX_CODE_COUNT;     // power of two
+    private static final int MAX_SUB_BLOCK_SIZE = 255;
+
+    // ================================= Member variables =======================================
+
+    private final OutputStream mOut;
+    private final int mWidth;
+    private final int mHeight;
+
+    // Palette of the current frame, with an open-addressing table from color to palette index
+    private final int[] mPalette = new int[MAX_COLORS];
+    private int mPaletteSize;
+    private final int[] mColorTableKeys = new int[2 * MAX_COLORS];
+    private final int[] mColorTableIndices = new int[2 * MAX_COLORS];
+    private final byte[] mIndices;
+
+    // LZW string table, from (prefix code << 8 | next index) to code
+    private final int[] mCodeTableKeys = new int[CODE_TABLE_SIZE];
+    private final int[] mCodeTableCodes = new int[CODE_TABLE_SIZE];
+
+    // Codes are packed into bytes from the least significant bit up, then into sub-blocks.
+    private final byte[] mSubBlock = new byte[MAX_SUB_BLOCK_SIZE];
+    private int mSubBlockSize;
+    private int mBitBuffer;
+    private int mBitCount;
+
+    private boolean mFinished = false;
+
+
+    // ==================================== Constructor =========================================
+
+    /**
+     * Write the GIF's header.
+     *
+     * @param out is where to write the GIF. It's not closed by finish().
+     * @param width is the width of every frame, from 1 to 65535.
+     * @param height is the height of every frame, from 1 to 65535.
+     */
+    public GifEncoder(final OutputStream out, final int width, final int height)
+            throws IOException {
+        if (width <= 0 || width > 0xFFFF || height <= 0 || height > 0xFFFF) {
+            throw new IllegalArgumentException("width and height must be from 1 to 65535");
+        }
+
+        mOut = out;
+        mWidth = width;
+        mHeight = height;
+        mIndices = new byte[width * height];
+
+        // Header, and a logical screen descriptor with no global color table
+        writeAscii("GIF89a");
+        writeShort(width);
+        writeShort(height);
+        mOut.write(0);
+        mOut.write(0);
+        mOut.write(0);
+
+        // NETSCAPE2.0 application extension: loop forever
+        mOut.write(0x21);
+        mOut.write(0xFF);
+        mOut.write(11);
+        writeAscii("NETSCAPE2.0");
+        mOut.write(3);
+        mOut.write(1);
+        writeShort(0);
+        mOut.write(0);
+    }
+
+
+    // ================================== Public methods ========================================
+
+    /**
+     * Add a frame.
+     *
+     * @param pixels is the frame's ARGB colors, row by row, width * height of them.
+     * @param delayInCentis is how long to show the frame, in hundredths of a second. Many
+     *                      viewers show frames shorter than 2 for longer than asked.
+     */
+    public void addFrame(final int[] pixels, final int delayInCentis) throws IOException {
+        if (mFinished) {
+            throw new IllegalStateException("GIF already finished");
+        }
+        if (pixels.length != mIndices.length) {
+            throw new IllegalArgumentException("pixels must hold width * height colors");
+        }
+        if (delayInCentis < 0 || delayInCentis > 0xFFFF) {
+            throw new IllegalArgumentException("delayInCentis must be from 0 to 65535");
+        }
+
+        buildPalette(pixels);
+
+        // The color table holds a power of two colors, at least 2.
+        int colorBits = 1;
+        while ((1 << colorBits) < mPaletteSize) {
+            colorBits++;
+        }
+
+        // Graphic control extension: the delay, with no transparency
+        mOut.write(0x21);
+        mOut.write(0xF9);
+        mOut.write(4);
+        mOut.write(0);
+        writeShort(delayInCentis);
+        mOut.write(0);
+        mOut.write(0);
+
+        // Image descriptor, covering the whole screen, with a local color table
+        mOut.write(0x2C);
+        writeShort(0);
+        writeShort(0);
+        writeShort(mWidth);
+        writeShort(mHeight);
+        mOut.write(0x80 | (colorBits - 1));
+
+        for (int i = 0; i < (1 << colorBits); i++) {
+            int color = i < mPaletteSize ? mPalette[i] : 0;
+            mOut.write(color >>> 16);
+            mOut.write(color >>> 8);
+            mOut.write(color);
+        }
+
+        writeImageData(Math.max(2, colorBits));
+    }
+
+    /**
+     * Write the GIF's trailer and flush. Add no more frames after this.
+     */
+    public void finish() throws IOException {
+        if (mFinished) {
+            return;
+        }
+
+        mOut.write(0x3B);
+        mOut.flush();
+        mFinished = true;
+    }
+
+
+    // ================================== Palette methods =======================================
+
+    /**
+     * Collect the frame's colors into the palette, and write each pixel's palette index.
+     */
+    private void buildPalette(final int[] pixels) {
+        mPaletteSize = 0;
+        Arrays.fill(mColorTableIndices, -1);
+
+        int lastColor = 0;
+        int lastIndex = -1;
+        for (int i = 0; i < pixels.length; i++) {
+            int color = pixels[i] & 0xFFFFFF;
+
+            // Runs of the same color are the common case.
+            if (color != lastColor || lastIndex < 0) {
+                lastColor = color;
+                lastIndex = findPaletteIndex(color);
+            }
+            mIndices[i] = (byte) lastIndex;
+        }
+    }
+
+    private int findPaletteIndex(final int color) {
+        int mask = mColorTableKeys.length - 1;
+        int slot = (color * 0x9E3779B9) >>> 23 & mask;
+
+        while (mColorTableIndices[slot] >= 0) {
+            if (mColorTableKeys[slot] == color) {
+                return mColorTableIndices[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        int index;
+        if (mPaletteSize < MAX_COLORS) {
+            index = mPaletteSize;
+            mPalette[mPaletteSize++] = color;
+        }
+        else {
+            index = findNearestPaletteIndex(color);
+        }
+
+        mColorTableKeys[slot] = color;
+        mColorTableIndices[slot] = index;
+        return index;
+    }
+
+    private int findNearestPaletteIndex(final int color) {
+        int nearest = 0;
+        int nearestDistance = Integer.MAX_VALUE;
+        for (int i = 0; i < mPaletteSize; i++) {
+            int red = ((mPalette[i] >> 16) & 0xFF) - ((color >> 16) & 0xFF);
+            int green = ((mPalette[i] >> 8) & 0xFF) - ((color >> 8) & 0xFF);
+            int blue = (mPalette[i] & 0xFF) - (color & 0xFF);
+            int distance = red * red + green * green + blue * blue;
+            if (distance < nearestDistance) {
+                nearest = i;
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+
+    // ==================================== LZW methods =========================================
+
+    /**
+     * Compress the palette indices with variable-length LZW codes, as GIF requires.
+     *
+     * @param minCodeSize is the number of bits per palette index, at least 2.
+     */
+    private void writeImageData(final int minCodeSize) throws IOException {
+        mOut.write(minCodeSize);
+
+        int clearCode = 1 << minCodeSize;
+        int endCode = clearCode + 1;
+        int codeSize = minCodeSize + 1;
+        int nextCode = clearCode + 2;
+        clearCodeTable();
+        writeCode(clearCode, codeSize);
+
+        int prefix = mIndices[0] & 0xFF;
+        for (int i = 1; i < mIndices.length; i++) {
+            int index = mIndices[i] & 0xFF;
+            int key = (prefix << 8) | index;
+
+            int slot = findCodeSlot(key);
+            if (mCodeTableCodes[slot] >= 0) {
+                prefix = mCodeTableCodes[slot];
+                continue;
+            }
+
+            writeCode(prefix, codeSize);
+
+            // The decoder adds each string one code later than this does, so it needs wider
+            // codes from the code after next.
+            if (nextCode >= (1 << codeSize) && codeSize < MAX_CODE_SIZE) {
+                codeSize++;
+            }
+
+            if (nextCode < MAX_CODE_COUNT) {
+                mCodeTableKeys[slot] = key;
+                mCodeTableCodes[slot] = nextCode++;
+            }
+            else {
+                // The table is full; start a new one.
+                writeCode(clearCode, codeSize);
+                clearCodeTable();
+                codeSize = minCodeSize + 1;
+                nextCode = clearCode + 2;
+            }
+            prefix = index;
+        }
+
+        writeCode(prefix, codeSize);
+        if (nextCode >= (1 << codeSize) && codeSize < MAX_CODE_SIZE) {
+            codeSize++;
+        }
+        writeCode(endCode, codeSize);
+
+        // Flush the last partial byte and sub-block, then end the image data.
+        if (mBitCount > 0) {
+            writeByte(mBitBuffer);
+            mBitBuffer = 0;
+            mBitCount = 0;
+        }
+        flushSubBlock();
+        mOut.write(0);
+    }
+
+    private void clearCodeTable() {
+        Arrays.fill(mCodeTableCodes, -1);
+    }
+
+    /**
+     * @return the slot holding the key, or the empty slot where it belongs.
+     */
+    private int findCodeSlot(final int key) {
+        int mask = CODE_TABLE_SIZE - 1;
+        int slot = (key * 0x9E3779B9) >>> 19 & mask;
+
+        while (mCodeTableCodes[slot] >= 0 && mCodeTableKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void writeCode(final int code, final int codeSize) throws IOException {
+        mBitBuffer |= code << mBitCount;
+        mBitCount += codeSize;
+
+        while (mBitCount >= 8) {
+            writeByte(mBitBuffer & 0xFF);
+            mBitBuffer >>>= 8;
+            mBitCount -= 8;
+        }
+    }
+
+    private void writeByte(final int value) throws IOException {
+        mSubBlock[mSubBlockSize++] = (byte) value;
+        if (mSubBlockSize == MAX_SUB_BLOCK_SIZE) {
+            flushSubBlock();
+        }
+    }
+
+    private void flushSubBlock() throws IOException {
+        if (mSubBlockSize == 0) {
+            return;
+        }
+
+        mOut.write(mSubBlockSize);
+        mOut.write(mSubBlock, 0, mSubBlockSize);
+        mSubBlockSize = 0;
+    }
+
+
+    // ================================== Helper methods ========================================
+
+    private void writeShort(final int value) throws IOException {
+        mOut.write(value & 0xFF);
+        mOut.write((value >> 8) & 0xFF);
+    }
+
+    private void writeAscii(final String text) throws IOException {
+        for (int i = 0; i < text.length(); i++) {
+            mOut.write(text.charAt(i));
+        }
+    }
+}
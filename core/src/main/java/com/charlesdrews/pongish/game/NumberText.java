@@ -0,0 +1,97 @@
+package com.charlesdrews.pongish.game;
+
+/**
+ * Text showing a whole number after a fixed prefix, such as "FPS: 60", kept in a char[] so it
+ * can be drawn every frame without building a String. The digits are only rewritten when the
+ * number changes, and the array never grows, so setting the number never allocates.
+ *
+ * Digits are always ASCII, whatever the default Locale.
+ */
+public class NumberText {
+
+    // Enough for "-2147483648"
+    private static final int MAX_NUMBER_LENGTH = 11;
+
+    // ================================= Member variables =======================================
+
+    private final char[] mChars;
+    private final int mPrefixLength;
+    private int mLength;
+    private int mNumber;
+
+
+    // ====================================== Constructors ======================================
+
+    /**
+     * Create text showing the number 0, with no prefix.
+     */
+    public NumberText() {
+        this("");
+    }
+
+    /**
+     * Create text showing the number 0 after the specified prefix.
+     */
+    public NumberText(final String prefix) {
+        mPrefixLength = prefix.length();
+        mChars = new char[mPrefixLength + MAX_NUMBER_LENGTH];
+        prefix.getChars(0, mPrefixLength, mChars, 0);
+        writeNumber(0);
+    }
+
+
+    // ================================== Public methods ========================================
+
+    public void setNumber(final int number) {
+        if (number != mNumber) {
+            writeNumber(number);
+        }
+    }
+
+    public int getNumber() {
+        return mNumber;
+    }
+
+    /**
+     * @return the text's characters. Only the first getLength() belong to the text, and they are
+     * overwritten the next time the number changes.
+     */
+    public char[] getChars() {
+        return mChars;
+    }
+
+    public int getLength() {
+        return mLength;
+    }
+
+    @Override
+    public String toString() {
+        return new String(mChars, 0, mLength);
+    }
+
+
+    // ================================ Helper methods ===========================================
+
+    private void writeNumber(final int number) {
+        mNumber = number;
+
+        // Count the digits first so they can be written from the last one back. Use a long so
+        // that negating Integer.MIN_VALUE doesn't overflow.
+        long remaining = Math.abs((long) number);
+        int digitCount = 1;
+        for (long rest = remaining / 10L; rest > 0L; rest /= 10L) {
+            digitCount++;
+        }
+
+        int position = mPrefixLength;
+        if (number < 0) {
+            mChars[position++] = '-';
+        }
+        mLength = position + digitCount;
+
+        for (int i = mLength - 1; i >= position; i--) {
+            mChars[i] = (char) ('0' + (int) (remaining % 10L));
+            remaining /= 10L;
+        }
+    }
+}
@@ -0,0 +1,676 @@
+package com.charlesdrews.pongish.game;
+
+import java.util.Arrays;
+
+/**
+ * A Renderer that records a frame instead of drawing it, so the frame can be replayed onto a real
+ * Renderer afterward, as many times as needed. Recording happens between beginDrawing() and
+ * commitDrawing(), and replay() draws the recorded commands in between the target's own
+ * beginDrawing() and commitDrawing().
+ *
+ * On commit, the commands are sorted so that those drawn with the same paint settings are next to
+ * each other, which lets a Renderer that skips redundant paint changes make fewer of them. Sorting
+ * never moves a command out of its layer, since shapes in a later layer may cover those in an
+ * earlier one: the background comes first, then the board (scores and lines), then the game
+ * objects (balls and paddles), then the overlay (frame rate and countdown). Within a layer,
+ * commands are grouped by kind and then by color, and otherwise keep the order they were
+ * recorded in.
+ *
+ * The background and board layers hardly ever change (only when a point is scored and an end
+ * line flashes), so together they form a static layer. Each commit compares the static layer with
+ * the one before it, and replay() only redraws it onto a target that keeps a cached static layer
+ * (see Renderer.beginStaticLayer()) when it has changed. Otherwise the target just draws its
+ * cache. Targets without a cache get the static layer drawn like everything else.
+ *
+ * replay() also compares the frame with the last one replayed onto the same target, and if only
+ * some of the game objects moved, asks the target to redraw just the rectangle covering their old
+ * and new bounds (see Renderer.beginDrawing(float, float, float, float)), since the rest of the
+ * screen still shows the last frame. If the number of game objects changed, so they can't be
+ * paired up with the last frame's, the rectangle covers all of them, old and new. Text can't be
+ * measured without the target's fonts, so its bounds are a generous estimate: no glyph is wider
+ * than the text size, or reaches further below the baseline than half of it. The whole frame is
+ * redrawn when the static layer changed, or when the countdown changed, since the target centers
+ * it on a screen whose size the buffer doesn't know.
+ *
+ * Every array is kept from frame to frame and only grows, so once the buffer has held the
+ * biggest frame a game will draw, recording and replaying allocate nothing.
+ */
+public class RenderCommandBuffer implements GameEngine.Renderer {
+
+    // Kinds of command, in the order they're drawn within a layer
+    private static final int COMMAND_BACKGROUND = 0;
+    private static final int COMMAND_SCORE = 1;
+    private static final int COMMAND_VERTICAL_LINE = 2;
+    private static final int COMMAND_CIRCLE = 3;
+    private static final int COMMAND_CIRCLES = 4;
+    private static final int COMMAND_RECT = 5;
+    private static final int COMMAND_FRAMES_PER_SECOND = 6;
+    private static final int COMMAND_COUNT_DOWN = 7;
+
+    private static final int LAYER_BACKGROUND = 0;
+    private static final int LAYER_BOARD = 1;
+    private static final int LAYER_OBJECTS = 2;
+    private static final int LAYER_OVERLAY = 3;
+    private static final int FIRST_DYNAMIC_LAYER = LAYER_OBJECTS;
+
+    private static final int FLOATS_PER_COMMAND = 4;
+    private static final int BOUNDS_PER_COMMAND = 4;     // left, top, right, bottom
+    private static final int INITIAL_CAPACITY = 32;
+
+    // Upper bounds on glyph size, as fractions of the text size, for estimating text bounds
+    private static final float MAX_GLYPH_WIDTH = 1f;
+    private static final float MAX_GLYPH_DESCENT = 0.5f;
+
+    // Sort key: layer, kind, then color, with the command's index in the low bits so that equal
+    // keys keep their recorded order and the index can be read back after sorting.
+    private static final int LAYER_SHIFT = 60;
+    private static final int COMMAND_SHIFT = 56;
+    private static final int COLOR_SHIFT = 24;
+    private static final long INDEX_MASK = (1L << COLOR_SHIFT) - 1L;
+
+
+    // ================================= Member variables =======================================
+
+    private int mCommandCount;
+    private int[] mCommands = new int[INITIAL_CAPACITY];
+    private int[] mColors = new int[INITIAL_CAPACITY];
+    private int[] mIntArgs = new int[INITIAL_CAPACITY];      // flags, counts, or a second color
+    private float[] mFloatArgs = new float[INITIAL_CAPACITY * FLOATS_PER_COMMAND];
+    private char[][] mTexts = new char[INITIAL_CAPACITY][];      // kept per slot, like mCenters
+    private int[] mTextLengths = new int[INITIAL_CAPACITY];
+    private float[][] mCenters = new float[INITIAL_CAPACITY][];  // kept per slot for drawCircles
+    private long[] mSortKeys = new long[INITIAL_CAPACITY];
+    private boolean mSorted;
+
+    // The static layer is the first mStaticCommandCount commands in sorted order. The saved copy
+    // is what it held when mStaticLayerVersion last changed.
+    private int mStaticCommandCount;
+    private int mStaticLayerVersion;
+    private final SavedCommands mSavedStaticLayer = new SavedCommands();
+
+    // The target whose cached static layer was last redrawn, and the version it was drawn from
+    private GameEngine.Renderer mStaticLayerTarget;
+    private int mStaticLayerTargetVersion;
+
+    // The dynamic commands last replayed onto mLastReplayTarget, with the bounds each covered, and
+    // the bounds of the recorded frame's dynamic commands, both in sorted order.
+    private GameEngine.Renderer mLastReplayTarget;
+    private int mLastReplayStaticLayerVersion;
+    private final SavedCommands mLastReplayedCommands = new SavedCommands();
+    private float[] mLastReplayedBounds = new float[INITIAL_CAPACITY * BOUNDS_PER_COMMAND];
+    private float[] mBounds = new float[INITIAL_CAPACITY * BOUNDS_PER_COMMAND];
+
+    // The rectangle found by findDamage()
+    private float mDamageLeft;
+    private float mDamageTop;
+    private float mDamageRight;
+    private float mDamageBottom;
+
+
+    // ================================== Public methods ========================================
+
+    /**
+     * Draw the recorded frame onto the specified Renderer, in sorted order. If the last frame
+     * replayed onto the same Renderer differs from this one in only a part of the screen, the
+     * Renderer is asked to redraw only that part.
+     *
+     * @param target is the Renderer to draw onto.
+     * @return false if the target couldn't begin drawing, so nothing was drawn.
+     */
+    public boolean replay(final GameEngine.Renderer target) {
+        boolean began;
+        if (findDamage(target)) {
+            began = target.beginDrawing(mDamageLeft, mDamageTop, mDamageRight, mDamageBottom);
+        }
+        else {
+            began = target.beginDrawing();
+        }
+        if (!began) {
+            return false;
+        }
+
+        replayStaticLayer(target);
+
+        for (int i = mStaticCommandCount; i < mCommandCount; i++) {
+            replayCommand(target, getSortedIndex(i));
+        }
+
+        target.commitDrawing();
+        saveReplayedFrame(target);
+        return true;
+    }
+
+    /**
+     * @return the number of commands in the recorded frame.
+     */
+    public int getCommandCount() {
+        return mCommandCount;
+    }
+
+    /**
+     * @return a number that changes whenever a commit finds the static layer (background, scores,
+     * and lines) different from the previous commit's.
+     */
+    public int getStaticLayerVersion() {
+        return mStaticLayerVersion;
+    }
+
+
+    // ============================ GameEngine.Renderer methods ==================================
+
+    /**
+     * Start recording a new frame, discarding the last one. Always succeeds.
+     */
+    @Override
+    public boolean beginDrawing() {
+        mCommandCount = 0;
+        mSorted = false;
+        return true;
+    }
+
+    /**
+     * Recording always covers the whole frame, so this is the same as beginDrawing().
+     */
+    @Override
+    public boolean beginDrawing(float dirtyLeft, float dirtyTop, float dirtyRight,
+                                float dirtyBottom) {
+        return beginDrawing();
+    }
+
+    /**
+     * Finish recording, sort the frame for replay, and check whether the static layer changed.
+     */
+    @Override
+    public void commitDrawing() {
+        if (mSorted) {
+            return;
+        }
+        Arrays.sort(mSortKeys, 0, mCommandCount);
+        mSorted = true;
+
+        mStaticCommandCount = 0;
+        while (mStaticCommandCount < mCommandCount &&
+                (mSortKeys[mStaticCommandCount] >>> LAYER_SHIFT) < FIRST_DYNAMIC_LAYER) {
+            mStaticCommandCount++;
+        }
+
+        if (!mSavedStaticLayer.isSameAs(this, 0, mStaticCommandCount)) {
+            mSavedStaticLayer.save(this, 0, mStaticCommandCount);
+            mStaticLayerVersion++;
+        }
+    }
+
+    /**
+     * Recording never uses a cache, so static layer commands are recorded like any others.
+     */
+    @Override
+    public boolean beginStaticLayer() {
+        return false;
+    }
+
+    @Override
+    public void endStaticLayer() {
+    }
+
+    @Override
+    public boolean drawStaticLayer() {
+        return false;
+    }
+
+    @Override
+    public void drawBackground(int color) {
+        addCommand(COMMAND_BACKGROUND, LAYER_BACKGROUND, color);
+    }
+
+    @Override
+    public void drawVerticalLine(float x, float topY, float bottomY, int color, boolean dashed) {
+        int index = addCommand(COMMAND_VERTICAL_LINE, LAYER_BOARD, color);
+        setFloatArgs(index, x, topY, bottomY, 0f);
+        mIntArgs[index] = dashed ? 1 : 0;
+    }
+
+    @Override
+    public void drawScore(char[] scoreText, int scoreTextLength, float x, float topY,
+                          float textSize, int color, boolean rightAlign) {
+        int index = addCommand(COMMAND_SCORE, LAYER_BOARD, color);
+        setFloatArgs(index, x, topY, textSize, 0f);
+        mIntArgs[index] = rightAlign ? 1 : 0;
+        setText(index, scoreText, scoreTextLength);
+    }
+
+    @Override
+    public void drawCircle(float centerX, float centerY, float radius, int color) {
+        int index = addCommand(COMMAND_CIRCLE, LAYER_OBJECTS, color);
+        setFloatArgs(index, centerX, centerY, radius, 0f);
+    }
+
+    @Override
+    public void drawCircles(float[] centers, int count, float radius, int color) {
+        int index = addCommand(COMMAND_CIRCLES, LAYER_OBJECTS, color);
+        setFloatArgs(index, radius, 0f, 0f, 0f);
+        mIntArgs[index] = count;
+
+        // The caller may reuse its array, so keep a copy in this slot's own array
+        float[] copy = mCenters[index];
+        if (copy == null || copy.length < 2 * count) {
+            copy = new float[Math.max(2 * count, copy == null ? 0 : copy.length * 2)];
+            mCenters[index] = copy;
+        }
+        System.arraycopy(centers, 0, copy, 0, 2 * count);
+    }
+
+    @Override
+    public void drawRect(float leftX, float topY, float rightX, float bottomY, int color) {
+        int index = addCommand(COMMAND_RECT, LAYER_OBJECTS, color);
+        setFloatArgs(index, leftX, topY, rightX, bottomY);
+    }
+
+    @Override
+    public void drawCountDown(char[] countDownText, int countDownTextLength, float textSize,
+                              int textColor, int backgroundColor) {
+        int index = addCommand(COMMAND_COUNT_DOWN, LAYER_OVERLAY, textColor);
+        setFloatArgs(index, textSize, 0f, 0f, 0f);
+        mIntArgs[index] = backgroundColor;
+        setText(index, countDownText, countDownTextLength);
+    }
+
+    @Override
+    public void drawFramesPerSecond(char[] fpsText, int fpsTextLength, float x, float y,
+                                    float textSize, int color) {
+        int index = addCommand(COMMAND_FRAMES_PER_SECOND, LAYER_OVERLAY, color);
+        setFloatArgs(index, x, y, textSize, 0f);
+        setText(index, fpsText, fpsTextLength);
+    }
+
+
+    // ================================ Helper methods ===========================================
+
+    /**
+     * Append a command, growing the arrays if needed.
+     *
+     * @return the command's index.
+     */
+    private int addCommand(final int command, final int layer, final int color) {
+        if (mCommandCount == mCommands.length) {
+            grow();
+        }
+
+        int index = mCommandCount++;
+        mCommands[index] = command;
+        mColors[index] = color;
+        mIntArgs[index] = 0;
+        setFloatArgs(index, 0f, 0f, 0f, 0f);
+        mTextLengths[index] = 0;
+        mSortKeys[index] = ((long) layer << LAYER_SHIFT) | ((long) command << COMMAND_SHIFT) |
+                ((color & 0xFFFFFFFFL) << COLOR_SHIFT) | index;
+        mSorted = false;
+        return index;
+    }
+
+    private void setFloatArgs(final int index, final float a, final float b, final float c,
+                              final float d) {
+        int start = index * FLOATS_PER_COMMAND;
+        mFloatArgs[start] = a;
+        mFloatArgs[start + 1] = b;
+        mFloatArgs[start + 2] = c;
+        mFloatArgs[start + 3] = d;
+    }
+
+    /**
+     * The caller may reuse its array, so keep a copy in this slot's own array.
+     */
+    private void setText(final int index, final char[] text, final int length) {
+        mTexts[index] = copyChars(text, length, mTexts[index]);
+        mTextLengths[index] = length;
+    }
+
+    /**
+     * Copy length chars from text into the specified array, or into a new, bigger one if it's
+     * null or too small.
+     *
+     * @return the array holding the copy.
+     */
+    private static char[] copyChars(final char[] text, final int length, char[] copy) {
+        if (copy == null || copy.length < length) {
+            copy = new char[Math.max(length, copy == null ? 0 : copy.length * 2)];
+        }
+        System.arraycopy(text, 0, copy, 0, length);
+        return copy;
+    }
+
+    private int getSortedIndex(final int i) {
+        return (int) (mSortKeys[i] & INDEX_MASK);
+    }
+
+    /**
+     * Draw the target's cached static layer if it's up to date, or else redraw the cache first.
+     * If the target has no cache, draw the static layer's commands directly.
+     */
+    private void replayStaticLayer(final GameEngine.Renderer target) {
+        boolean cacheUpToDate = (target == mStaticLayerTarget &&
+                mStaticLayerTargetVersion == mStaticLayerVersion);
+        if (cacheUpToDate && target.drawStaticLayer()) {
+            return;
+        }
+
+        boolean cached = target.beginStaticLayer();
+        for (int i = 0; i < mStaticCommandCount; i++) {
+            replayCommand(target, getSortedIndex(i));
+        }
+
+        if (cached) {
+            target.endStaticLayer();
+            mStaticLayerTarget = target;
+            mStaticLayerTargetVersion = mStaticLayerVersion;
+            target.drawStaticLayer();
+        }
+    }
+
+    /**
+     * Find the rectangle covering the old and new bounds of every dynamic command that differs
+     * from the last frame replayed onto the target, and store it in mDamageLeft, etc.
+     *
+     * @return false if the whole frame has to be redrawn instead.
+     */
+    private boolean findDamage(final GameEngine.Renderer target) {
+        int count = mCommandCount - mStaticCommandCount;
+        findDynamicBounds(count);
+
+        if (target != mLastReplayTarget || mLastReplayStaticLayerVersion != mStaticLayerVersion) {
+            return false;
+        }
+
+        mDamageLeft = Float.POSITIVE_INFINITY;
+        mDamageTop = Float.POSITIVE_INFINITY;
+        mDamageRight = Float.NEGATIVE_INFINITY;
+        mDamageBottom = Float.NEGATIVE_INFINITY;
+
+        SavedCommands last = mLastReplayedCommands;
+        if (count != last.mCount) {
+            // The commands can't be paired up, so all of the old and new ones are damaged
+            for (int i = 0; i < last.mCount; i++) {
+                if (last.mCommands[i] == COMMAND_COUNT_DOWN) {
+                    return false;
+                }
+                addDamage(mLastReplayedBounds, i);
+            }
+            for (int i = 0; i < count; i++) {
+                if (mCommands[getSortedIndex(mStaticCommandCount + i)] == COMMAND_COUNT_DOWN) {
+                    return false;
+                }
+                addDamage(mBounds, i);
+            }
+        }
+        else {
+            for (int i = 0; i < count; i++) {
+                // A batch of circles is nearly always moving, so it's cheaper to assume it
+                // changed than to compare every center.
+                int index = getSortedIndex(mStaticCommandCount + i);
+                if (mCommands[index] != COMMAND_CIRCLES && last.isSameAs(i, this, index)) {
+                    continue;
+                }
+                if (mCommands[index] == COMMAND_COUNT_DOWN ||
+                        last.mCommands[i] == COMMAND_COUNT_DOWN) {
+                    return false;
+                }
+                addDamage(mLastReplayedBounds, i);
+                addDamage(mBounds, i);
+            }
+        }
+
+        // With nothing damaged there would be nothing to post, so redraw the whole frame
+        return mDamageLeft < mDamageRight && mDamageTop < mDamageBottom;
+    }
+
+    /**
+     * Fill mBounds with the bounds of each of the recorded frame's dynamic commands, in sorted
+     * order. The countdown gets no bounds, since the target decides where it goes.
+     */
+    private void findDynamicBounds(final int count) {
+        if (mBounds.length < count * BOUNDS_PER_COMMAND) {
+            mBounds = new float[Math.max(count, mCommands.length) * BOUNDS_PER_COMMAND];
+        }
+
+        for (int i = 0; i < count; i++) {
+            int index = getSortedIndex(mStaticCommandCount + i);
+            int start = index * FLOATS_PER_COMMAND;
+            float a = mFloatArgs[start];
+            float b = mFloatArgs[start + 1];
+            float c = mFloatArgs[start + 2];
+            float d = mFloatArgs[start + 3];
+
+            float left = Float.POSITIVE_INFINITY;
+            float top = Float.POSITIVE_INFINITY;
+            float right = Float.NEGATIVE_INFINITY;
+            float bottom = Float.NEGATIVE_INFINITY;
+
+            switch (mCommands[index]) {
+                case COMMAND_CIRCLE:
+                    left = a - c;
+                    top = b - c;
+                    right = a + c;
+                    bottom = b + c;
+                    break;
+
+                case COMMAND_CIRCLES:
+                    float[] centers = mCenters[index];
+                    for (int circle = 0; circle < mIntArgs[index]; circle++) {
+                        float x = centers[2 * circle];
+                        float y = centers[2 * circle + 1];
+                        left = Math.min(left, x - a);
+                        top = Math.min(top, y - a);
+                        right = Math.max(right, x + a);
+                        bottom = Math.max(bottom, y + a);
+                    }
+                    break;
+
+                case COMMAND_RECT:
+                    left = Math.min(a, c);
+                    top = Math.min(b, d);
+                    right = Math.max(a, c);
+                    bottom = Math.max(b, d);
+                    break;
+
+                case COMMAND_SCORE:
+                    float width = mTextLengths[index] * c * MAX_GLYPH_WIDTH;
+                    left = mIntArgs[index] != 0 ? a - width : a;
+                    top = b;
+                    right = left + width;
+                    bottom = b + c + c * MAX_GLYPH_DESCENT;
+                    break;
+
+                case COMMAND_FRAMES_PER_SECOND:
+                    // Drawn left aligned, with y at the baseline
+                    left = a;
+                    top = b - c;
+                    right = a + mTextLengths[index] * c * MAX_GLYPH_WIDTH;
+                    bottom = b + c * MAX_GLYPH_DESCENT;
+                    break;
+            }
+
+            int boundsStart = i * BOUNDS_PER_COMMAND;
+            mBounds[boundsStart] = left;
+            mBounds[boundsStart + 1] = top;
+            mBounds[boundsStart + 2] = right;
+            mBounds[boundsStart + 3] = bottom;
+        }
+    }
+
+    private void addDamage(final float[] bounds, final int i) {
+        int start = i * BOUNDS_PER_COMMAND;
+        if (bounds[start] > bounds[start + 2]) {
+            return;     // Nothing drawn, e.g. an empty batch of circles
+        }
+        mDamageLeft = Math.min(mDamageLeft, bounds[start]);
+        mDamageTop = Math.min(mDamageTop, bounds[start + 1]);
+        mDamageRight = Math.max(mDamageRight, bounds[start + 2]);
+        mDamageBottom = Math.max(mDamageBottom, bounds[start + 3]);
+    }
+
+    /**
+     * Remember the dynamic commands just replayed onto the target, and their bounds, for the
+     * next call to findDamage().
+     */
+    private void saveReplayedFrame(final GameEngine.Renderer target) {
+        int count = mCommandCount - mStaticCommandCount;
+        mLastReplayedCommands.save(this, mStaticCommandCount, count);
+
+        float[] bounds = mLastReplayedBounds;
+        mLastReplayedBounds = mBounds;
+        mBounds = bounds;
+
+        mLastReplayTarget = target;
+        mLastReplayStaticLayerVersion = mStaticLayerVersion;
+    }
+
+    private void replayCommand(final GameEngine.Renderer target, final int index) {
+        int start = index * FLOATS_PER_COMMAND;
+        float a = mFloatArgs[start];
+        float b = mFloatArgs[start + 1];
+        float c = mFloatArgs[start + 2];
+        float d = mFloatArgs[start + 3];
+        int color = mColors[index];
+
+        switch (mCommands[index]) {
+            case COMMAND_BACKGROUND:
+                target.drawBackground(color);
+                break;
+
+            case COMMAND_SCORE:
+                target.drawScore(mTexts[index], mTextLengths[index], a, b, c, color,
+                        mIntArgs[index] != 0);
+                break;
+
+            case COMMAND_VERTICAL_LINE:
+                target.drawVerticalLine(a, b, c, color, mIntArgs[index] != 0);
+                break;
+
+            case COMMAND_CIRCLE:
+                target.drawCircle(a, b, c, color);
+                break;
+
+            case COMMAND_CIRCLES:
+                target.drawCircles(mCenters[index], mIntArgs[index], a, color);
+                break;
+
+            case COMMAND_RECT:
+                target.drawRect(a, b, c, d, color);
+                break;
+
+            case COMMAND_FRAMES_PER_SECOND:
+                target.drawFramesPerSecond(mTexts[index], mTextLengths[index], a, b, c, color);
+                break;
+
+            case COMMAND_COUNT_DOWN:
+                target.drawCountDown(mTexts[index], mTextLengths[index], a, color,
+                        mIntArgs[index]);
+                break;
+        }
+    }
+
+    private void grow() {
+        int capacity = mCommands.length * 2;
+        if (capacity > INDEX_MASK + 1) {
+            throw new IllegalStateException("Too many draw commands in one frame");
+        }
+
+        mCommands = Arrays.copyOf(mCommands, capacity);
+        mColors = Arrays.copyOf(mColors, capacity);
+        mIntArgs = Arrays.copyOf(mIntArgs, capacity);
+        mFloatArgs = Arrays.copyOf(mFloatArgs, capacity * FLOATS_PER_COMMAND);
+        mTexts = Arrays.copyOf(mTexts, capacity);
+        mTextLengths = Arrays.copyOf(mTextLengths, capacity);
+        mCenters = Arrays.copyOf(mCenters, capacity);
+        mSortKeys = Arrays.copyOf(mSortKeys, capacity);
+    }
+
+
+    /**
+     * A copy of a run of recorded commands, in sorted order, to compare a later frame with.
+     */
+    private static class SavedCommands {
+
+        private int mCount;
+        private int[] mCommands = new int[INITIAL_CAPACITY];
+        private int[] mColors = new int[INITIAL_CAPACITY];
+        private int[] mIntArgs = new int[INITIAL_CAPACITY];
+        private float[] mFloatArgs = new float[INITIAL_CAPACITY * FLOATS_PER_COMMAND];
+        private char[][] mTexts = new char[INITIAL_CAPACITY][];
+        private int[] mTextLengths = new int[INITIAL_CAPACITY];
+
+        /**
+         * Copy count of the buffer's commands, starting at position first in sorted order.
+         */
+        void save(final RenderCommandBuffer buffer, final int first, final int count) {
+            if (mCommands.length < count) {
+                int capacity = Math.max(count, mCommands.length * 2);
+                mCommands = new int[capacity];
+                mColors = new int[capacity];
+                mIntArgs = new int[capacity];
+                mFloatArgs = new float[capacity * FLOATS_PER_COMMAND];
+                mTexts = Arrays.copyOf(mTexts, capacity);
+                mTextLengths = new int[capacity];
+            }
+
+            for (int i = 0; i < count; i++) {
+                int index = buffer.getSortedIndex(first + i);
+                mCommands[i] = buffer.mCommands[index];
+                mColors[i] = buffer.mColors[index];
+                mIntArgs[i] = buffer.mIntArgs[index];
+                System.arraycopy(buffer.mFloatArgs, index * FLOATS_PER_COMMAND, mFloatArgs,
+                        i * FLOATS_PER_COMMAND, FLOATS_PER_COMMAND);
+                mTextLengths[i] = buffer.mTextLengths[index];
+                if (mTextLengths[i] > 0) {
+                    mTexts[i] = copyChars(buffer.mTexts[index], mTextLengths[i], mTexts[i]);
+                }
+            }
+            mCount = count;
+        }
+
+        /**
+         * @return true if this holds the same count of commands as the buffer does starting at
+         * position first in sorted order. Circle centers are not compared.
+         */
+        boolean isSameAs(final RenderCommandBuffer buffer, final int first, final int count) {
+            if (count != mCount) {
+                return false;
+            }
+
+            for (int i = 0; i < count; i++) {
+                if (!isSameAs(i, buffer, buffer.getSortedIndex(first + i))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * @return true if saved command i matches the buffer's command at the given index.
+         */
+        boolean isSameAs(final int i, final RenderCommandBuffer buffer, final int index) {
+            if (buffer.mCommands[index] != mCommands[i] || buffer.mColors[index] != mColors[i] ||
+                    buffer.mIntArgs[index] != mIntArgs[i]) {
+                return false;
+            }
+
+            for (int arg = 0; arg < FLOATS_PER_COMMAND; arg++) {
+                if (buffer.mFloatArgs[index * FLOATS_PER_COMMAND + arg] !=
+                        mFloatArgs[i * FLOATS_PER_COMMAND + arg]) {
+                    return false;
+                }
+            }
+
+            int length = buffer.mTextLengths[index];
+            if (length != mTextLengths[i]) {
+                return false;
+            }
+            char[] text = buffer.mTexts[index];
+            for (int c = 0; c < length; c++) {
+                if (text[c] != mTexts[i][c]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
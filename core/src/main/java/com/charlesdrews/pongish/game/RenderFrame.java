@@ -0,0 +1,438 @@
+package com.charlesdrews.pongish.game;
+
+import com.charlesdrews.pongish.game.objects.GameObjects;
+
+import java.util.Arrays;
+
+/**
+ * Everything needed to draw one frame of a Scene, stored as flat arrays of primitives with a
+ * count per kind of shape. A Scene writes into a RenderFrame with clear() followed by the add
+ * methods, and the Engine reads it back by index. The arrays only grow, so once a frame has held
+ * the most shapes a game will have, writing and reading it allocates nothing.
+ *
+ * Circles and rectangles keep their position as of the start of the last simulation step as well
+ * as their current position, so they can be drawn anywhere in between.
+ *
+ * A frame can also be written to a StateWriter and read back from a StateReader, e.g. to capture
+ * gameplay and draw it again later. Only current positions are written, so a frame read back is
+ * drawn the same at any interpolation.
+ */
+public class RenderFrame {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // ================================= Member variables =======================================
+
+    private int mBackgroundColor;
+
+    private int mScoreCount;
+    private char[][] mScoreTexts = new char[INITIAL_CAPACITY][];   // kept per slot, see addScore
+    private int[] mScoreTextLengths = new int[INITIAL_CAPACITY];
+    private float[] mScoreX = new float[INITIAL_CAPACITY];
+    private float[] mScoreTopY = new float[INITIAL_CAPACITY];
+    private float[] mScoreTextSizes = new float[INITIAL_CAPACITY];
+    private int[] mScoreColors = new int[INITIAL_CAPACITY];
+    private boolean[] mScoreRightAligned = new boolean[INITIAL_CAPACITY];
+
+    private int mLineCount;
+    private float[] mLineX = new float[INITIAL_CAPACITY];
+    private float[] mLineTopY = new float[INITIAL_CAPACITY];
+    private float[] mLineBottomY = new float[INITIAL_CAPACITY];
+    private int[] mLineColors = new int[INITIAL_CAPACITY];
+    private boolean[] mLineDashed = new boolean[INITIAL_CAPACITY];
+
+    private int mCircleCount;
+    private float[] mCircleCenterX = new float[INITIAL_CAPACITY];
+    private float[] mCircleCenterY = new float[INITIAL_CAPACITY];
+    private float[] mCirclePreviousCenterX = new float[INITIAL_CAPACITY];
+    private float[] mCirclePreviousCenterY = new float[INITIAL_CAPACITY];
+    private float[] mCircleRadii = new float[INITIAL_CAPACITY];
+    private int[] mCircleColors = new int[INITIAL_CAPACITY];
+
+    private int mRectCount;
+    private float[] mRectLeftX = new float[INITIAL_CAPACITY];
+    private float[] mRectTopY = new float[INITIAL_CAPACITY];
+    private float[] mRectRightX = new float[INITIAL_CAPACITY];
+    private float[] mRectBottomY = new float[INITIAL_CAPACITY];
+    private float[] mRectPreviousLeftX = new float[INITIAL_CAPACITY];
+    private float[] mRectPreviousTopY = new float[INITIAL_CAPACITY];
+    private float[] mRectPreviousRightX = new float[INITIAL_CAPACITY];
+    private float[] mRectPreviousBottomY = new float[INITIAL_CAPACITY];
+    private int[] mRectColors = new int[INITIAL_CAPACITY];
+
+    private char[] mTextBuffer = new char[INITIAL_CAPACITY];    // only used by readState
+
+
+    // ================================== Writer methods ========================================
+
+    /**
+     * Remove every shape, keeping the capacity for reuse, and set the background color.
+     *
+     * @param backgroundColor is the int representation of the frame's background color.
+     */
+    public void clear(final int backgroundColor) {
+        mBackgroundColor = backgroundColor;
+        mScoreCount = 0;
+        mLineCount = 0;
+        mCircleCount = 0;
+        mRectCount = 0;
+    }
+
+    /**
+     * Add a score. Its text is copied into an array kept for this slot, since the caller's array
+     * changes along with the score.
+     */
+    public void addScore(final char[] text, final int textLength, final float x,
+                         final float topY, final float textSize, final int color,
+                         final boolean rightAligned) {
+        if (mScoreCount == mScoreColors.length) {
+            int capacity = mScoreColors.length * 2;
+            mScoreTexts = Arrays.copyOf(mScoreTexts, capacity);
+            mScoreTextLengths = Arrays.copyOf(mScoreTextLengths, capacity);
+            mScoreX = Arrays.copyOf(mScoreX, capacity);
+            mScoreTopY = Arrays.copyOf(mScoreTopY, capacity);
+            mScoreTextSizes = Arrays.copyOf(mScoreTextSizes, capacity);
+            mScoreColors = Arrays.copyOf(mScoreColors, capacity);
+            mScoreRightAligned = Arrays.copyOf(mScoreRightAligned, capacity);
+        }
+
+        char[] copy = mScoreTexts[mScoreCount];
+        if (copy == null || copy.length < textLength) {
+            copy = new char[Math.max(textLength, copy == null ? 0 : copy.length * 2)];
+            mScoreTexts[mScoreCount] = copy;
+        }
+        System.arraycopy(text, 0, copy, 0, textLength);
+        mScoreTextLengths[mScoreCount] = textLength;
+        mScoreX[mScoreCount] = x;
+        mScoreTopY[mScoreCount] = topY;
+        mScoreTextSizes[mScoreCount] = textSize;
+        mScoreColors[mScoreCount] = color;
+        mScoreRightAligned[mScoreCount] = rightAligned;
+        mScoreCount++;
+    }
+
+    public void addScore(final GameEngine.ScoreToRender score) {
+        addScore(score.getScoreText(), score.getScoreTextLength(), score.getX(),
+                score.getTopY(), score.getTextSize(), score.getColor(), score.isRightAligned());
+    }
+
+    public void addVerticalLine(final float x, final float topY, final float bottomY,
+                                final int color, final boolean dashed) {
+        if (mLineCount == mLineColors.length) {
+            int capacity = mLineColors.length * 2;
+            mLineX = Arrays.copyOf(mLineX, capacity);
+            mLineTopY = Arrays.copyOf(mLineTopY, capacity);
+            mLineBottomY = Arrays.copyOf(mLineBottomY, capacity);
+            mLineColors = Arrays.copyOf(mLineColors, capacity);
+            mLineDashed = Arrays.copyOf(mLineDashed, capacity);
+        }
+
+        mLineX[mLineCount] = x;
+        mLineTopY[mLineCount] = topY;
+        mLineBottomY[mLineCount] = bottomY;
+        mLineColors[mLineCount] = color;
+        mLineDashed[mLineCount] = dashed;
+        mLineCount++;
+    }
+
+    public void addVerticalLine(final GameEngine.VerticalLineToRender line) {
+        addVerticalLine(line.getX(), line.getTopY(), line.getBottomY(), line.getColor(),
+                line.isDashed());
+    }
+
+    /**
+     * Copy the first count circles from parallel arrays, as kept by a struct-of-arrays store,
+     * after any circles already in the frame.
+     */
+    public void addCircles(final float[] centerX, final float[] centerY,
+                           final float[] previousCenterX, final float[] previousCenterY,
+                           final float[] radii, final int[] colors, final int count) {
+        ensureCircleCapacity(mCircleCount + count);
+
+        System.arraycopy(centerX, 0, mCircleCenterX, mCircleCount, count);
+        System.arraycopy(centerY, 0, mCircleCenterY, mCircleCount, count);
+        System.arraycopy(previousCenterX, 0, mCirclePreviousCenterX, mCircleCount, count);
+        System.arraycopy(previousCenterY, 0, mCirclePreviousCenterY, mCircleCount, count);
+        System.arraycopy(radii, 0, mCircleRadii, mCircleCount, count);
+        System.arraycopy(colors, 0, mCircleColors, mCircleCount, count);
+        mCircleCount += count;
+    }
+
+    public void addCircle(final float centerX, final float centerY, final float previousCenterX,
+                          final float previousCenterY, final float radius, final int color) {
+        ensureCircleCapacity(mCircleCount + 1);
+
+        mCircleCenterX[mCircleCount] = centerX;
+        mCircleCenterY[mCircleCount] = centerY;
+        mCirclePreviousCenterX[mCircleCount] = previousCenterX;
+        mCirclePreviousCenterY[mCircleCount] = previousCenterY;
+        mCircleRadii[mCircleCount] = radius;
+        mCircleColors[mCircleCount] = color;
+        mCircleCount++;
+    }
+
+    public void addRect(final float leftX, final float topY, final float rightX,
+                        final float bottomY, final float previousLeftX,
+                        final float previousTopY, final float previousRightX,
+                        final float previousBottomY, final int color) {
+        if (mRectCount == mRectColors.length) {
+            int capacity = mRectColors.length * 2;
+            mRectLeftX = Arrays.copyOf(mRectLeftX, capacity);
+            mRectTopY = Arrays.copyOf(mRectTopY, capacity);
+            mRectRightX = Arrays.copyOf(mRectRightX, capacity);
+            mRectBottomY = Arrays.copyOf(mRectBottomY, capacity);
+            mRectPreviousLeftX = Arrays.copyOf(mRectPreviousLeftX, capacity);
+            mRectPreviousTopY = Arrays.copyOf(mRectPreviousTopY, capacity);
+            mRectPreviousRightX = Arrays.copyOf(mRectPreviousRightX, capacity);
+            mRectPreviousBottomY = Arrays.copyOf(mRectPreviousBottomY, capacity);
+            mRectColors = Arrays.copyOf(mRectColors, capacity);
+        }
+
+        mRectLeftX[mRectCount] = leftX;
+        mRectTopY[mRectCount] = topY;
+        mRectRightX[mRectCount] = rightX;
+        mRectBottomY[mRectCount] = bottomY;
+        mRectPreviousLeftX[mRectCount] = previousLeftX;
+        mRectPreviousTopY[mRectCount] = previousTopY;
+        mRectPreviousRightX[mRectCount] = previousRightX;
+        mRectPreviousBottomY[mRectCount] = previousBottomY;
+        mRectColors[mRectCount] = color;
+        mRectCount++;
+    }
+
+    public void addRect(final GameEngine.RectangleToRender rect) {
+        addRect(rect.getLeftX(), rect.getTopY(), rect.getRightX(), rect.getBottomY(),
+                rect.getPreviousLeftX(), rect.getPreviousTopY(), rect.getPreviousRightX(),
+                rect.getPreviousBottomY(), rect.getColor());
+    }
+
+
+    // =================================== Getter methods =======================================
+
+    public int getBackgroundColor() {
+        return mBackgroundColor;
+    }
+
+    public int getScoreCount() {
+        return mScoreCount;
+    }
+
+    /**
+     * @return the score's characters. Only the first getScoreTextLength(i) belong to the score.
+     */
+    public char[] getScoreText(int i) {
+        return mScoreTexts[i];
+    }
+
+    public int getScoreTextLength(int i) {
+        return mScoreTextLengths[i];
+    }
+
+    public float getScoreX(int i) {
+        return mScoreX[i];
+    }
+
+    public float getScoreTopY(int i) {
+        return mScoreTopY[i];
+    }
+
+    public float getScoreTextSize(int i) {
+        return mScoreTextSizes[i];
+    }
+
+    public int getScoreColor(int i) {
+        return mScoreColors[i];
+    }
+
+    public boolean isScoreRightAligned(int i) {
+        return mScoreRightAligned[i];
+    }
+
+    public int getLineCount() {
+        return mLineCount;
+    }
+
+    public float getLineX(int i) {
+        return mLineX[i];
+    }
+
+    public float getLineTopY(int i) {
+        return mLineTopY[i];
+    }
+
+    public float getLineBottomY(int i) {
+        return mLineBottomY[i];
+    }
+
+    public int getLineColor(int i) {
+        return mLineColors[i];
+    }
+
+    public boolean isLineDashed(int i) {
+        return mLineDashed[i];
+    }
+
+    public int getCircleCount() {
+        return mCircleCount;
+    }
+
+    /**
+     * @param i is from 0 to getCircleCount() - 1.
+     * @param interpolation is 0 for the previous position, 1 for the current position, or
+     *                      anything in between.
+     */
+    public float getCircleCenterX(int i, float interpolation) {
+        return interpolate(mCirclePreviousCenterX[i], mCircleCenterX[i], interpolation);
+    }
+
+    public float getCircleCenterY(int i, float interpolation) {
+        return interpolate(mCirclePreviousCenterY[i], mCircleCenterY[i], interpolation);
+    }
+
+    public float getCircleRadius(int i) {
+        return mCircleRadii[i];
+    }
+
+    public int getCircleColor(int i) {
+        return mCircleColors[i];
+    }
+
+    public int getRectCount() {
+        return mRectCount;
+    }
+
+    public float getRectLeftX(int i, float interpolation) {
+        return interpolate(mRectPreviousLeftX[i], mRectLeftX[i], interpolation);
+    }
+
+    public float getRectTopY(int i, float interpolation) {
+        return interpolate(mRectPreviousTopY[i], mRectTopY[i], interpolation);
+    }
+
+    public float getRectRightX(int i, float interpolation) {
+        return interpolate(mRectPreviousRightX[i], mRectRightX[i], interpolation);
+    }
+
+    public float getRectBottomY(int i, float interpolation) {
+        return interpolate(mRectPreviousBottomY[i], mRectBottomY[i], interpolation);
+    }
+
+    public int getRectColor(int i) {
+        return mRectColors[i];
+    }
+
+
+    // ================================== State methods =========================================
+
+    /**
+     * Write everything needed to draw this frame, without interpolation. Allocates nothing.
+     */
+    public void writeState(final GameObjects.StateWriter writer) {
+        writer.writeInt(mBackgroundColor);
+
+        writer.writeInt(mScoreCount);
+        for (int i = 0; i < mScoreCount; i++) {
+            writer.writeInt(mScoreTextLengths[i]);
+            for (int c = 0; c < mScoreTextLengths[i]; c++) {
+                writer.writeInt(mScoreTexts[i][c]);
+            }
+            writer.writeFloat(mScoreX[i]);
+            writer.writeFloat(mScoreTopY[i]);
+            writer.writeFloat(mScoreTextSizes[i]);
+            writer.writeInt(mScoreColors[i]);
+            writer.writeBoolean(mScoreRightAligned[i]);
+        }
+
+        writer.writeInt(mLineCount);
+        for (int i = 0; i < mLineCount; i++) {
+            writer.writeFloat(mLineX[i]);
+            writer.writeFloat(mLineTopY[i]);
+            writer.writeFloat(mLineBottomY[i]);
+            writer.writeInt(mLineColors[i]);
+            writer.writeBoolean(mLineDashed[i]);
+        }
+
+        writer.writeInt(mCircleCount);
+        for (int i = 0; i < mCircleCount; i++) {
+            writer.writeFloat(mCircleCenterX[i]);
+            writer.writeFloat(mCircleCenterY[i]);
+            writer.writeFloat(mCircleRadii[i]);
+            writer.writeInt(mCircleColors[i]);
+        }
+
+        writer.writeInt(mRectCount);
+        for (int i = 0; i < mRectCount; i++) {
+            writer.writeFloat(mRectLeftX[i]);
+            writer.writeFloat(mRectTopY[i]);
+            writer.writeFloat(mRectRightX[i]);
+            writer.writeFloat(mRectBottomY[i]);
+            writer.writeInt(mRectColors[i]);
+        }
+    }
+
+    /**
+     * Replace this frame's contents with a frame written by writeState(). Each shape's previous
+     * position is set to its current one.
+     */
+    public void readState(final GameObjects.StateReader reader) {
+        clear(reader.readInt());
+
+        int scoreCount = reader.readInt();
+        for (int i = 0; i < scoreCount; i++) {
+            int textLength = reader.readInt();
+            if (mTextBuffer.length < textLength) {
+                mTextBuffer = new char[Math.max(textLength, mTextBuffer.length * 2)];
+            }
+            for (int c = 0; c < textLength; c++) {
+                mTextBuffer[c] = (char) reader.readInt();
+            }
+            addScore(mTextBuffer, textLength, reader.readFloat(), reader.readFloat(),
+                    reader.readFloat(), reader.readInt(), reader.readBoolean());
+        }
+
+        int lineCount = reader.readInt();
+        for (int i = 0; i < lineCount; i++) {
+            addVerticalLine(reader.readFloat(), reader.readFloat(), reader.readFloat(),
+                    reader.readInt(), reader.readBoolean());
+        }
+
+        int circleCount = reader.readInt();
+        for (int i = 0; i < circleCount; i++) {
+            float centerX = reader.readFloat();
+            float centerY = reader.readFloat();
+            addCircle(centerX, centerY, centerX, centerY, reader.readFloat(), reader.readInt());
+        }
+
+        int rectCount = reader.readInt();
+        for (int i = 0; i < rectCount; i++) {
+            float leftX = reader.readFloat();
+            float topY = reader.readFloat();
+            float rightX = reader.readFloat();
+            float bottomY = reader.readFloat();
+            addRect(leftX, topY, rightX, bottomY, leftX, topY, rightX, bottomY,
+                    reader.readInt());
+        }
+    }
+
+
+    // ================================== Helper methods ========================================
+
+    private void ensureCircleCapacity(final int capacity) {
+        if (capacity <= mCircleColors.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, mCircleColors.length * 2);
+        mCircleCenterX = Arrays.copyOf(mCircleCenterX, newCapacity);
+        mCircleCenterY = Arrays.copyOf(mCircleCenterY, newCapacity);
+        mCirclePreviousCenterX = Arrays.copyOf(mCirclePreviousCenterX, newCapacity);
+        mCirclePreviousCenterY = Arrays.copyOf(mCirclePreviousCenterY, newCapacity);
+        mCircleRadii = Arrays.copyOf(mCircleRadii, newCapacity);
+        mCircleColors = Arrays.copyOf(mCircleColors, newCapacity);
+    }
+
+    private static float interpolate(final float previous, final float current,
+                                     final float interpolation) {
+        return previous + (current - previous) * interpolation;
+    }
+}
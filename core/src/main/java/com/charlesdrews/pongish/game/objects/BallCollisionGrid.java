@@ -0,0 +1,251 @@
+package com.charlesdrews.pongish.game.objects;
+
+import java.util.Arrays;
+
+/**
+ * Finds and resolves collisions between balls using a uniform grid over the game board. Each
+ * step, the balls are sorted into cells at least as wide as the largest ball, so any ball can
+ * only touch balls in its own cell and the 8 around it. Sorting is a counting sort into arrays
+ * that are reused from step to step, so nothing is allocated unless the number of balls grows.
+ *
+ * Collisions are elastic, with each ball's mass proportional to its area. The number of pairs
+ * checked per step is capped, so the cost stays bounded with thousands of balls on the board.
+ * When the cap cuts a step short, the next step starts where it left off.
+ */
+public class BallCollisionGrid {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+
+    // ================================= Member variables =======================================
+
+    private final float mLeftX, mTopY, mCellSize;
+    private final int mColumns, mRows;
+
+    private final int[] mCellStarts;   // cell -> first slot in mCellBalls, plus one extra entry
+    private int[] mCellBalls;          // ball indices, grouped by cell
+    private int[] mBallCells;          // ball index -> cell
+    private int[] mChangedBalls;       // indices of balls whose velocity changed this step
+    private int mChangedBallCount;
+    private int mNextFirstBall;
+
+
+    // =================================== Constructor ==========================================
+
+    /**
+     * @param leftX is the x coordinate of the left edge of the area the balls move in.
+     * @param topY is the y coordinate of the top edge of the area the balls move in.
+     * @param width is the width of that area.
+     * @param height is the height of that area.
+     * @param cellSize must be at least the diameter of the largest ball.
+     */
+    public BallCollisionGrid(final float leftX, final float topY, final float width,
+                             final float height, final float cellSize) {
+        if (cellSize <= 0f) {
+            throw new IllegalArgumentException("cellSize must be greater than 0");
+        }
+
+        mLeftX = leftX;
+        mTopY = topY;
+        mCellSize = cellSize;
+        mColumns = Math.max(1, (int) Math.ceil(width / cellSize));
+        mRows = Math.max(1, (int) Math.ceil(height / cellSize));
+
+        mCellStarts = new int[mColumns * mRows + 1];
+        mCellBalls = new int[DEFAULT_INITIAL_CAPACITY];
+        mBallCells = new int[DEFAULT_INITIAL_CAPACITY];
+        mChangedBalls = new int[DEFAULT_INITIAL_CAPACITY];
+    }
+
+
+    // ================================== Public methods ========================================
+
+    /**
+     * Bounce apart any balls that overlap and are moving toward each other.
+     *
+     * @param balls is the store holding the balls.
+     * @param firstBall is the index of the first ball that takes part; balls before it are
+     *                  ignored.
+     * @param maxPairChecks is the most pairs of balls to check for overlap.
+     */
+    public void resolveCollisions(final GameObjects.BallStore balls, final int firstBall,
+                                  final int maxPairChecks) {
+        mChangedBallCount = 0;
+
+        int ballCount = balls.size();
+        if (ballCount - firstBall < 2) {
+            return;
+        }
+
+        sortIntoCells(balls, firstBall);
+
+        // Go through the balls in order, starting wherever the last step ran out of budget
+        if (mNextFirstBall < firstBall || mNextFirstBall >= ballCount) {
+            mNextFirstBall = firstBall;
+        }
+
+        int pairChecks = 0;
+        int ball = mNextFirstBall;
+        do {
+            pairChecks += resolveCollisionsWithNeighbors(balls, ball);
+
+            ball++;
+            if (ball == ballCount) {
+                ball = firstBall;
+            }
+        } while (ball != mNextFirstBall && pairChecks < maxPairChecks);
+
+        mNextFirstBall = ball;
+    }
+
+    /**
+     * @return the number of balls whose velocity changed in the last resolveCollisions().
+     */
+    public int getChangedBallCount() {
+        return mChangedBallCount;
+    }
+
+    /**
+     * @param i is from 0 to getChangedBallCount() - 1.
+     * @return the index of a ball whose velocity changed in the last resolveCollisions(). A ball
+     * that collided more than once is listed more than once.
+     */
+    public int getChangedBall(final int i) {
+        return mChangedBalls[i];
+    }
+
+
+    // ================================ Helper methods ===========================================
+
+    /**
+     * Counting sort the balls into cells: count the balls in each cell, turn the counts into
+     * starting slots, then place each ball.
+     */
+    private void sortIntoCells(final GameObjects.BallStore balls, final int firstBall) {
+        int ballCount = balls.size();
+        if (mBallCells.length < ballCount) {
+            int capacity = Math.max(ballCount, mBallCells.length * 2);
+            mCellBalls = new int[capacity];
+            mBallCells = new int[capacity];
+        }
+
+        Arrays.fill(mCellStarts, 0);
+        for (int i = firstBall; i < ballCount; i++) {
+            int cell = getCell(balls.getCenterX(i), balls.getCenterY(i));
+            mBallCells[i] = cell;
+            mCellStarts[cell + 1]++;
+        }
+
+        for (int cell = 0; cell < mCellStarts.length - 1; cell++) {
+            mCellStarts[cell + 1] += mCellStarts[cell];
+        }
+
+        // Use the starts as fill positions, which leaves each one at the next cell's start...
+        for (int i = firstBall; i < ballCount; i++) {
+            mCellBalls[mCellStarts[mBallCells[i]]++] = i;
+        }
+
+        // ...then shift them back
+        for (int cell = mCellStarts.length - 1; cell > 0; cell--) {
+            mCellStarts[cell] = mCellStarts[cell - 1];
+        }
+        mCellStarts[0] = 0;
+    }
+
+    /**
+     * Check the specified ball against every higher-indexed ball in its own cell and the cells
+     * around it, so each pair is checked once.
+     *
+     * @return the number of pairs checked.
+     */
+    private int resolveCollisionsWithNeighbors(final GameObjects.BallStore balls, final int ball) {
+        int cell = mBallCells[ball];
+        int column = cell % mColumns;
+        int row = cell / mColumns;
+        int pairChecks = 0;
+
+        for (int neighborRow = Math.max(0, row - 1);
+             neighborRow <= Math.min(mRows - 1, row + 1); neighborRow++) {
+
+            for (int neighborColumn = Math.max(0, column - 1);
+                 neighborColumn <= Math.min(mColumns - 1, column + 1); neighborColumn++) {
+
+                int neighborCell = neighborRow * mColumns + neighborColumn;
+                for (int slot = mCellStarts[neighborCell];
+                     slot < mCellStarts[neighborCell + 1]; slot++) {
+
+                    int other = mCellBalls[slot];
+                    if (other > ball) {
+                        pairChecks++;
+                        resolveCollision(balls, ball, other);
+                    }
+                }
+            }
+        }
+        return pairChecks;
+    }
+
+    /**
+     * If the two balls overlap and are moving toward each other, exchange momentum along the
+     * line between their centers.
+     */
+    private void resolveCollision(final GameObjects.BallStore balls, final int ball,
+                                  final int other) {
+        float deltaX = balls.getCenterX(other) - balls.getCenterX(ball);
+        float deltaY = balls.getCenterY(other) - balls.getCenterY(ball);
+        float radius = balls.getRadius(ball);
+        float otherRadius = balls.getRadius(other);
+        float touchingDistance = radius + otherRadius;
+
+        float distanceSquared = deltaX * deltaX + deltaY * deltaY;
+
+        // Balls start out stacked on the same spot, with no line between their centers
+        if (distanceSquared >= touchingDistance * touchingDistance || distanceSquared == 0f) {
+            return;
+        }
+
+        float distance = (float) Math.sqrt(distanceSquared);
+        float normalX = deltaX / distance;
+        float normalY = deltaY / distance;
+
+        // Speed at which the other ball is moving away from this one along the normal
+        float separatingSpeed =
+                (balls.getVelocityX(other) - balls.getVelocityX(ball)) * normalX +
+                (balls.getVelocityY(other) - balls.getVelocityY(ball)) * normalY;
+        if (separatingSpeed >= 0f) {
+            return;
+        }
+
+        float mass = radius * radius;
+        float otherMass = otherRadius * otherRadius;
+        float impulse = 2f * separatingSpeed / (mass + otherMass);
+
+        balls.setVelocity(ball,
+                balls.getVelocityX(ball) + impulse * otherMass * normalX,
+                balls.getVelocityY(ball) + impulse * otherMass * normalY);
+        balls.setVelocity(other,
+                balls.getVelocityX(other) - impulse * mass * normalX,
+                balls.getVelocityY(other) - impulse * mass * normalY);
+
+        recordChangedBall(ball);
+        recordChangedBall(other);
+    }
+
+    private void recordChangedBall(final int ball) {
+        if (mChangedBallCount == mChangedBalls.length) {
+            mChangedBalls = Arrays.copyOf(mChangedBalls, mChangedBalls.length * 2);
+        }
+        mChangedBalls[mChangedBallCount++] = ball;
+    }
+
+    /**
+     * @return the cell containing the specified point, clamped to the grid.
+     */
+    private int getCell(final float x, final float y) {
+        int column = (int) ((x - mLeftX) / mCellSize);
+        int row = (int) ((y - mTopY) / mCellSize);
+        column = Math.max(0, Math.min(mColumns - 1, column));
+        row = Math.max(0, Math.min(mRows - 1, row));
+        return row * mColumns + column;
+    }
+}
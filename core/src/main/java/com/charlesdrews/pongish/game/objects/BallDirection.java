@@ -0,0 +1,115 @@
+package com.charlesdrews.pongish.game.objects;
+
+import java.util.Random;
+
+/**
+ * Helpers for ball directions. A direction in degrees has 0° = up, 180°/-180° = down, anything
+ * positive up to 180° = rightward, and anything negative down to -180° = leftward. Balls move
+ * along unit vectors, so a direction in degrees is only used to pick a ball's first heading, and
+ * paddle hits look their new heading up in a table of unit vectors built once.
+ *
+ * Created by charlie on 9/10/16.
+ */
+public final class BallDirection {
+
+    private static final double MAX_RANDOM_DEGREES = 150d;
+    private static final double MIN_RANDOM_DEGREES = 30d;
+
+    private static final double MIN_ABS_VAL_DEG_AFTER_PADDLE_COLLISION = 10d;
+    private static final double HALF_ABS_VAL_RANGE_AFTER_PADDLE_COLLISION =
+            (180d - 2d * MIN_ABS_VAL_DEG_AFTER_PADDLE_COLLISION) / 2d;
+
+    // Unit vectors for a ball leaving the left paddle, indexed by where it hit the paddle, from
+    // the bottom (index 0) to the top (last index). Mirror x for the right paddle.
+    private static final int DEFLECTION_TABLE_SIZE = 129;
+    private static final float[] DEFLECTION_UNIT_X = new float[DEFLECTION_TABLE_SIZE];
+    private static final float[] DEFLECTION_UNIT_Y = new float[DEFLECTION_TABLE_SIZE];
+
+    static {
+        for (int i = 0; i < DEFLECTION_TABLE_SIZE; i++) {
+            double collisionLocation = 2d * i / (DEFLECTION_TABLE_SIZE - 1) - 1d;
+            double degrees = 90d - collisionLocation * HALF_ABS_VAL_RANGE_AFTER_PADDLE_COLLISION;
+            DEFLECTION_UNIT_X[i] = getUnitX(degrees);
+            DEFLECTION_UNIT_Y[i] = getUnitY(degrees);
+        }
+    }
+
+    private static Random sRandom = new Random();
+
+    private BallDirection() {
+    }
+
+
+    // ================================== Static methods ========================================
+
+    /**
+     * Make the random directions repeatable, so tests can run the same game twice.
+     */
+    static void setRandomSeed(final long seed) {
+        sRandom = new Random(seed);
+    }
+
+    /**
+     * @return a random direction ranging from 30° to 150°, or from -30° to -150°, suitable for
+     * the initial direction of the ball at the beginning of a round.
+     */
+    public static double getRandomInitialDegrees() {
+
+        // First get absolute value in allowed range
+        double degrees = MIN_RANDOM_DEGREES +
+                sRandom.nextDouble() * (MAX_RANDOM_DEGREES - MIN_RANDOM_DEGREES);
+
+        // Then choose leftward (-) or rightward (+) at random
+        if (sRandom.nextInt(2) == 0) {
+            degrees = -degrees;
+        }
+        return degrees;
+    }
+
+    /**
+     * @param degrees is a direction in degrees, as described above.
+     * @return the x component of a unit vector pointing that way, with positive = rightward.
+     */
+    public static float getUnitX(final double degrees) {
+        return (float) Math.sin(Math.toRadians(degrees));
+    }
+
+    /**
+     * @param degrees is a direction in degrees, as described above.
+     * @return the y component of a unit vector pointing that way, with positive = downward.
+     */
+    public static float getUnitY(final double degrees) {
+        return (float) -Math.cos(Math.toRadians(degrees));
+    }
+
+    /**
+     * Find the entry in the deflection table for a ball that has struck a paddle in the given
+     * location.
+     *
+     * @param collisionLocation ranges from -1.0, bottom of paddle, to 1.0, top of paddle, with
+     *                          0.0 being the exact center of the paddle. Values outside that
+     *                          range are treated as the nearest end of the paddle.
+     * @return an index for getDeflectionUnitX() and getDeflectionUnitY().
+     */
+    public static int getDeflectionIndex(final float collisionLocation) {
+        float clamped = Math.max(-1f, Math.min(1f, collisionLocation));
+        return Math.round((clamped + 1f) / 2f * (DEFLECTION_TABLE_SIZE - 1));
+    }
+
+    /**
+     * @param deflectionIndex is an index returned by getDeflectionIndex().
+     * @return the x component of the unit vector for a ball leaving the left paddle. Negate it
+     * for the right paddle.
+     */
+    public static float getDeflectionUnitX(final int deflectionIndex) {
+        return DEFLECTION_UNIT_X[deflectionIndex];
+    }
+
+    /**
+     * @param deflectionIndex is an index returned by getDeflectionIndex().
+     * @return the y component of the unit vector for a ball leaving either paddle.
+     */
+    public static float getDeflectionUnitY(final int deflectionIndex) {
+        return DEFLECTION_UNIT_Y[deflectionIndex];
+    }
+}
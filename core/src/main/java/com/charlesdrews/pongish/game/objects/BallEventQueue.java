@@ -0,0 +1,275 @@
+package com.charlesdrews.pongish.game.objects;
+
+import java.util.Arrays;
+
+/**
+ * Keeps each ball's next predicted event (hitting a wall, reaching a paddle, or crossing an end
+ * line) in an indexed binary min-heap ordered by the event's time, so the earliest event can be
+ * found in constant time and any ball's event rescheduled in log time. Balls are identified by
+ * their index in the BallStore.
+ *
+ * Also tracks, for each ball, the simulation time that its position in the BallStore is current
+ * as of, and the time its previous position (where the Renderer interpolates from) is from. A
+ * ball is only brought forward when it has an event or is drawn, so between those it stays
+ * behind the rest of the simulation.
+ */
+public class BallEventQueue {
+
+    public static final int NO_EVENT = 0;
+    public static final int EVENT_TOP_WALL = 1;
+    public static final int EVENT_BOTTOM_WALL = 2;
+    public static final int EVENT_PADDLE = 3;
+    public static final int EVENT_END_LINE = 4;
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private static final int NOT_IN_HEAP = -1;
+
+
+    // ================================= Member variables =======================================
+
+    private int mHeapSize;
+    private int[] mHeap;               // heap slot -> ball index
+    private int[] mHeapSlots;          // ball index -> heap slot, or NOT_IN_HEAP
+    private double[] mEventTimes;      // ball index -> time of its next event
+    private int[] mEventTypes;         // ball index -> type of its next event
+    private double[] mPositionTimes;   // ball index -> time its position is current as of
+    private double[] mPreviousTimes;   // ball index -> time its previous position is from
+
+
+    // =================================== Constructor ==========================================
+
+    public BallEventQueue() {
+        mHeap = new int[DEFAULT_INITIAL_CAPACITY];
+        mHeapSlots = new int[DEFAULT_INITIAL_CAPACITY];
+        mEventTimes = new double[DEFAULT_INITIAL_CAPACITY];
+        mEventTypes = new int[DEFAULT_INITIAL_CAPACITY];
+        mPositionTimes = new double[DEFAULT_INITIAL_CAPACITY];
+        mPreviousTimes = new double[DEFAULT_INITIAL_CAPACITY];
+        Arrays.fill(mHeapSlots, NOT_IN_HEAP);
+    }
+
+
+    // ================================== Public methods ========================================
+
+    /**
+     * Forget every event and position time, e.g. before rescheduling every ball.
+     */
+    public void clear() {
+        for (int i = 0; i < mHeapSize; i++) {
+            mHeapSlots[mHeap[i]] = NOT_IN_HEAP;
+        }
+        mHeapSize = 0;
+    }
+
+    /**
+     * @return true if no ball has an event scheduled.
+     */
+    public boolean isEmpty() {
+        return mHeapSize == 0;
+    }
+
+    /**
+     * @return the index of the ball with the earliest event. Only valid if !isEmpty().
+     */
+    public int peekBall() {
+        return mHeap[0];
+    }
+
+    /**
+     * Schedule the next event for a ball, replacing any event it already had.
+     *
+     * @param ball is the index of the ball in the BallStore.
+     * @param time is the simulation time in milliseconds at which the event happens.
+     * @param type is one of the EVENT_* constants, or NO_EVENT to unschedule the ball.
+     */
+    public void schedule(final int ball, final double time, final int type) {
+        ensureCapacity(ball + 1);
+
+        if (type == NO_EVENT) {
+            unschedule(ball);
+            return;
+        }
+
+        mEventTimes[ball] = time;
+        mEventTypes[ball] = type;
+
+        int slot = mHeapSlots[ball];
+        if (slot == NOT_IN_HEAP) {
+            slot = mHeapSize++;
+            mHeap[slot] = ball;
+            mHeapSlots[ball] = slot;
+        }
+
+        // The new time may be earlier or later than the old one
+        siftDown(siftUp(slot));
+    }
+
+    /**
+     * Remove a ball's event, if it has one.
+     *
+     * @param ball is the index of the ball in the BallStore.
+     */
+    public void unschedule(final int ball) {
+        if (ball >= mHeapSlots.length || mHeapSlots[ball] == NOT_IN_HEAP) {
+            return;
+        }
+
+        int slot = mHeapSlots[ball];
+        mHeapSlots[ball] = NOT_IN_HEAP;
+        mHeapSize--;
+
+        if (slot != mHeapSize) {
+            int lastBall = mHeap[mHeapSize];
+            mHeap[slot] = lastBall;
+            mHeapSlots[lastBall] = slot;
+            siftDown(siftUp(slot));
+        }
+    }
+
+    /**
+     * Mirror BallStore.remove(): drop the removed ball's event, then relabel the last ball, which
+     * the store moved into the removed ball's slot.
+     *
+     * @param ball is the index of the removed ball.
+     * @param lastBall is the index the last ball had before the removal.
+     */
+    public void onBallRemoved(final int ball, final int lastBall) {
+        ensureCapacity(lastBall + 1);
+        unschedule(ball);
+        if (ball == lastBall) {
+            return;
+        }
+
+        mPositionTimes[ball] = mPositionTimes[lastBall];
+        mPreviousTimes[ball] = mPreviousTimes[lastBall];
+        int slot = mHeapSlots[lastBall];
+        if (slot != NOT_IN_HEAP) {
+            mHeapSlots[lastBall] = NOT_IN_HEAP;
+            mHeapSlots[ball] = slot;
+            mHeap[slot] = ball;
+            mEventTimes[ball] = mEventTimes[lastBall];
+            mEventTypes[ball] = mEventTypes[lastBall];
+        }
+    }
+
+    public double getEventTime(final int ball) {
+        return mEventTimes[ball];
+    }
+
+    public int getEventType(final int ball) {
+        return mEventTypes[ball];
+    }
+
+    /**
+     * @param ball is the index of the ball in the BallStore.
+     * @return the simulation time that the ball's position in the BallStore is current as of.
+     */
+    public double getPositionTime(final int ball) {
+        return mPositionTimes[ball];
+    }
+
+    /**
+     * @param ball is the index of the ball in the BallStore.
+     * @param time is the simulation time that the ball's position is now current as of.
+     */
+    public void setPositionTime(final int ball, final double time) {
+        ensureCapacity(ball + 1);
+        mPositionTimes[ball] = time;
+    }
+
+    /**
+     * @param ball is the index of the ball in the BallStore.
+     * @return the simulation time that the ball's previous position in the BallStore is from.
+     */
+    public double getPreviousPositionTime(final int ball) {
+        return mPreviousTimes[ball];
+    }
+
+    /**
+     * @param ball is the index of the ball in the BallStore.
+     * @param time is the simulation time that the ball's previous position is now from.
+     */
+    public void setPreviousPositionTime(final int ball, final double time) {
+        ensureCapacity(ball + 1);
+        mPreviousTimes[ball] = time;
+    }
+
+
+    // ================================ Helper methods ===========================================
+
+    /**
+     * Move the ball in the specified heap slot toward the root until its parent's event is no
+     * later than its own.
+     *
+     * @return the slot the ball ended up in.
+     */
+    private int siftUp(int slot) {
+        int ball = mHeap[slot];
+        double time = mEventTimes[ball];
+
+        while (slot > 0) {
+            int parentSlot = (slot - 1) / 2;
+            int parentBall = mHeap[parentSlot];
+            if (mEventTimes[parentBall] <= time) {
+                break;
+            }
+            mHeap[slot] = parentBall;
+            mHeapSlots[parentBall] = slot;
+            slot = parentSlot;
+        }
+
+        mHeap[slot] = ball;
+        mHeapSlots[ball] = slot;
+        return slot;
+    }
+
+    /**
+     * Move the ball in the specified heap slot away from the root until neither child's event is
+     * earlier than its own.
+     */
+    private void siftDown(int slot) {
+        int ball = mHeap[slot];
+        double time = mEventTimes[ball];
+
+        while (true) {
+            int childSlot = 2 * slot + 1;
+            if (childSlot >= mHeapSize) {
+                break;
+            }
+            if (childSlot + 1 < mHeapSize &&
+                    mEventTimes[mHeap[childSlot + 1]] < mEventTimes[mHeap[childSlot]]) {
+                childSlot++;
+            }
+
+            int childBall = mHeap[childSlot];
+            if (mEventTimes[childBall] >= time) {
+                break;
+            }
+            mHeap[slot] = childBall;
+            mHeapSlots[childBall] = slot;
+            slot = childSlot;
+        }
+
+        mHeap[slot] = ball;
+        mHeapSlots[ball] = slot;
+    }
+
+    /**
+     * Grow every array, if needed, to hold at least the specified number of balls.
+     */
+    private void ensureCapacity(final int capacity) {
+        if (capacity <= mHeapSlots.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, mHeapSlots.length * 2);
+        int oldCapacity = mHeapSlots.length;
+        mHeap = Arrays.copyOf(mHeap, newCapacity);
+        mHeapSlots = Arrays.copyOf(mHeapSlots, newCapacity);
+        mEventTimes = Arrays.copyOf(mEventTimes, newCapacity);
+        mEventTypes = Arrays.copyOf(mEventTypes, newCapacity);
+        mPositionTimes = Arrays.copyOf(mPositionTimes, newCapacity);
+        mPreviousTimes = Arrays.copyOf(mPreviousTimes, newCapacity);
+        Arrays.fill(mHeapSlots, oldCapacity, newCapacity, NOT_IN_HEAP);
+    }
+}
@@ -0,0 +1,127 @@
+package com.charlesdrews.pongish.game.objects;
+
+import java.util.Arrays;
+
+/**
+ * A set of ball indices with constant-time add, remove, and membership tests, that can be walked
+ * in time proportional to its size rather than to the number of balls. Balls are identified by
+ * their index in the BallStore, so the set follows the store's swap-remove through onBallRemoved().
+ */
+public class BallIndexSet {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+    private static final int NOT_IN_SET = -1;
+
+
+    // ================================= Member variables =======================================
+
+    private int mSize;
+    private int[] mBalls;    // set slot -> ball index
+    private int[] mSlots;    // ball index -> set slot, or NOT_IN_SET
+
+
+    // =================================== Constructor ==========================================
+
+    public BallIndexSet() {
+        mBalls = new int[DEFAULT_INITIAL_CAPACITY];
+        mSlots = new int[DEFAULT_INITIAL_CAPACITY];
+        Arrays.fill(mSlots, NOT_IN_SET);
+    }
+
+
+    // ================================== Public methods ========================================
+
+    public int size() {
+        return mSize;
+    }
+
+    /**
+     * @param slot ranges from 0 to size() - 1. Removing a ball moves the last one into its slot,
+     *             so walk the set from the last slot to the first when removing along the way.
+     * @return the index of the ball in that slot.
+     */
+    public int get(final int slot) {
+        return mBalls[slot];
+    }
+
+    public boolean contains(final int ball) {
+        return ball < mSlots.length && mSlots[ball] != NOT_IN_SET;
+    }
+
+    /**
+     * @param ball is the index of the ball in the BallStore. Adding a ball twice has no effect.
+     */
+    public void add(final int ball) {
+        ensureCapacity(ball + 1);
+        if (mSlots[ball] != NOT_IN_SET) {
+            return;
+        }
+        mBalls[mSize] = ball;
+        mSlots[ball] = mSize;
+        mSize++;
+    }
+
+    /**
+     * @param ball is the index of the ball in the BallStore. Removing a ball that isn't in the set
+     *             has no effect.
+     */
+    public void remove(final int ball) {
+        if (!contains(ball)) {
+            return;
+        }
+
+        int slot = mSlots[ball];
+        mSlots[ball] = NOT_IN_SET;
+        mSize--;
+
+        if (slot != mSize) {
+            int lastBall = mBalls[mSize];
+            mBalls[slot] = lastBall;
+            mSlots[lastBall] = slot;
+        }
+    }
+
+    public void clear() {
+        for (int i = 0; i < mSize; i++) {
+            mSlots[mBalls[i]] = NOT_IN_SET;
+        }
+        mSize = 0;
+    }
+
+    /**
+     * Mirror BallStore.remove(): drop the removed ball, then relabel the last ball, which the
+     * store moved into the removed ball's slot.
+     *
+     * @param ball is the index of the removed ball.
+     * @param lastBall is the index the last ball had before the removal.
+     */
+    public void onBallRemoved(final int ball, final int lastBall) {
+        remove(ball);
+        if (ball == lastBall || !contains(lastBall)) {
+            return;
+        }
+
+        int slot = mSlots[lastBall];
+        mSlots[lastBall] = NOT_IN_SET;
+        mSlots[ball] = slot;
+        mBalls[slot] = ball;
+    }
+
+
+    // ================================ Helper methods ===========================================
+
+    /**
+     * Grow both arrays, if needed, to hold at least the specified number of balls.
+     */
+    private void ensureCapacity(final int capacity) {
+        if (capacity <= mSlots.length) {
+            return;
+        }
+
+        int newCapacity = Math.max(capacity, mSlots.length * 2);
+        int oldCapacity = mSlots.length;
+        mBalls = Arrays.copyOf(mBalls, newCapacity);
+        mSlots = Arrays.copyOf(mSlots, newCapacity);
+        Arrays.fill(mSlots, oldCapacity, newCapacity, NOT_IN_SET);
+    }
+}
@@ -0,0 +1,18 @@
+package com.charlesdrews.pongish.game.objects;
+
+/**
+ * ARGB color constants for the game objects. The values match android.graphics.Color, so a
+ * Renderer on Android can use them as is, but nothing here depends on Android.
+ */
+public final class GameColors {
+
+    public static final int BLACK = 0xFF000000;
+    public static final int WHITE = 0xFFFFFFFF;
+    public static final int RED = 0xFFFF0000;
+    public static final int GREEN = 0xFF00FF00;
+    public static final int YELLOW = 0xFFFFFF00;
+    public static final int CYAN = 0xFF00FFFF;
+    public static final int MAGENTA = 0xFFFF00FF;
+
+    private GameColors() {}
+}
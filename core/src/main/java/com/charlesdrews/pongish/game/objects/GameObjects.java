@@ -0,0 +1,494 @@
+package com.charlesdrews.pongish.game.objects;
+
+import com.charlesdrews.pongish.game.GameEngine;
+import com.charlesdrews.pongish.game.RenderFrame;
+
+import java.util.List;
+
+/**
+ * Contracts for the objects that will appear in the game. Nothing here depends on Android, so the
+ * simulation can run on a plain JVM; platform-specific persistence adapts StateWriter and
+ * StateReader instead (see SceneParcel in the app module).
+ *
+ * Created by charlie on 9/10/16.
+ */
+public interface GameObjects {
+
+    /**
+     * The PongScene is a container for the other game objects (paddles, balls) and will include the
+     * logic to detect and handle collisions between game objects.
+     */
+    interface Scene extends Persistable {
+
+        int LEFT_PADDLE = 0;
+        int RIGHT_PADDLE = 1;
+        int NEITHER_PADDLE = 2;
+        int BOTH_PADDLES = 3;
+
+        float NO_PADDLE_HIT = -2f;
+
+        int NO_WALL_HIT = 0;
+        int LEFT_WALL_HIT = 1;
+        int RIGHT_WALL_HIT = 2;
+
+        int PHYSICS_FIXED_STEP = 0;
+        int PHYSICS_EVENT_DRIVEN = 1;
+
+        int PARALLEL_UPDATE_DISABLED = -1;
+
+        /**
+         * Move the specified paddle by the specified amount.
+         *
+         * @param paddle must be PongScene.LEFT_PADDLE (0), or PongScene.RIGHT_PADDLE (1).
+         * @param deltaY is the amount to move up (negative) or down (positive).
+         */
+        void movePaddle(final int paddle, final float deltaY, final float millisSinceLastUpdate);
+
+        /**
+         * Move all game objects the distance they should travel in the specified amount of time.
+         * Before anything moves, each ball and paddle records its current position as its previous
+         * position, so the Engine can interpolate between the last two steps when rendering.
+         *
+         * @param millisSinceLastUpdate is the time delta for the movement. The Engine passes a
+         *                              fixed step size here, which may be fractional.
+         * @return true if a point was scored and the game loop needs to pause, else false.
+         */
+        boolean updateGameObjects(final float millisSinceLastUpdate);
+
+        /**
+         * Advance effects that play out over time even when the game objects are not moving,
+         * e.g. an end line flashing red after a point. Called by updateGameObjects(), and by the
+         * Engine on its own while a countdown is in progress.
+         *
+         * @param millisSinceLastUpdate is the time delta for the effects.
+         * @return true if anything visible changed, so the Engine knows to redraw.
+         */
+        boolean updateTimedEffects(final float millisSinceLastUpdate);
+
+        /**
+         * Retrieve the background color to use for this Scene.
+         * @return an int representation of the background color.
+         */
+        int getBackgroundColor();
+
+        /**
+         * Write everything to draw for the current state into the specified frame, replacing
+         * whatever it held. This is what the Engine calls every frame, so it allocates nothing
+         * once the frame has grown to fit the Scene. The List getters below describe the same
+         * objects, for callers that prefer them outside the frame loop.
+         *
+         * @param frame is the frame to fill.
+         */
+        void writeRenderFrame(RenderFrame frame);
+
+        /**
+         * Retrieve a List of scores for the Renderer to draw as text.
+         *
+         * @return the scores included in the Scene.
+         */
+        List<GameEngine.ScoreToRender> getScoresToRender();
+
+        /**
+         * Retrieve a List of circles for the Renderer to draw.
+         *
+         * @return the circles included in the Scene.
+         */
+        List<GameEngine.CircleToRender> getCirclesToRender();
+
+        /**
+         * Retrieve a list of rectangles for the Renderer to draw.
+         *
+         * @return the rectangles included in the Scene.
+         */
+        List<GameEngine.RectangleToRender> getRectanglesToRender();
+
+        /**
+         * Retrieve a list of vertical lines for the Renderer to draw.
+         *
+         * @return the vertical lines includes in the Scene.
+         */
+        List<GameEngine.VerticalLineToRender> getVerticalLinesToRender();
+
+        /**
+         * Start a new normal game ball after a point is scored. Game objects are reset in place
+         * rather than replaced, so this allocates nothing.
+         */
+        void resetAfterPointScored();
+
+        /**
+         * Start over from 0 to 0, keeping the settings (physics mode, ball collisions, parallel
+         * threshold) and reusing every game object, so restarting allocates nothing.
+         */
+        void resetForNewGame();
+
+        /**
+         * Notify the Scene if the game engine has initiated a countdown before game play. Use
+         * this value to determine whether or not to allow paddle movements.
+         *
+         * @param countdownInProgress indicates whether a countdown is currently in progress.
+         */
+        void setCountdownInProgress(boolean countdownInProgress);
+
+        /**
+         * Choose how updateGameObjects() moves the balls. PHYSICS_FIXED_STEP (the default) moves
+         * every ball and checks it against the paddles and end lines on every step.
+         * PHYSICS_EVENT_DRIVEN predicts when each ball will next hit something and only handles
+         * the balls with an event due in the step, so the cost of collision handling depends on
+         * the number of events rather than the number of balls.
+         *
+         * @param physicsMode must be PHYSICS_FIXED_STEP or PHYSICS_EVENT_DRIVEN.
+         */
+        void setPhysicsMode(final int physicsMode);
+
+        /**
+         * Choose whether bonus balls bounce off each other, rather than passing through each
+         * other. Off by default. The normal ball never collides with other balls.
+         *
+         * @param enabled is true to make bonus balls collide.
+         */
+        void setBallCollisionsEnabled(final boolean enabled);
+
+        /**
+         * Let PHYSICS_FIXED_STEP move and check the balls on several threads at once whenever
+         * there are more than the specified number of balls on the board. The results are the same
+         * as moving them on one thread. Disabled by default.
+         *
+         * Uses java.util.concurrent.ForkJoinPool, which Android only has from API 21, so only
+         * enable it there.
+         *
+         * @param ballCountThreshold is the ball count above which to go parallel, or
+         *                           PARALLEL_UPDATE_DISABLED to always stay on one thread.
+         */
+        void setParallelUpdateThreshold(final int ballCountThreshold);
+    }
+
+    interface Score extends GameEngine.ScoreToRender, Persistable {
+        void increaseScore(int pointsToAddToScore);
+        void setScore(int score);
+    }
+
+    /**
+     * Paddles will appear on the left and right of the game board and will reflect balls.
+     */
+    interface Paddle extends GameEngine.RectangleToRender, Persistable {
+
+        /**
+         * Tell the caller whether this paddle is controlled by the computer.
+         *
+         * @return true if paddle is computer controlled, else false.
+         */
+        boolean isComputerControlled();
+
+        /**
+         * Move up (negative deltaY) or down (positive deltaY) and ensure paddle stays on screen.
+         * The Paddle's top y cannot be < 0 and the bottom y cannot be > gameBoardHeight. Also,
+         * ensure the movement does not exceed the maximum speed of the paddle.
+         *
+         * @param deltaY is the number of pixels to move up (negative) or down (positive).
+         * @param gameBoardHeight is the maximum allowable y value for the game/scene.
+         * @param millisecondsSinceLastUpdate will determine how far it is possible for the paddle
+         *                                    to move, based on it's maximum speed, or
+         *                                    Float.POSITIVE_INFINITY to not limit it.
+         */
+        void move(float deltaY, final float gameBoardHeight, final float millisecondsSinceLastUpdate);
+
+        /**
+         * Save the current position as the previous position, at the start of a simulation step.
+         */
+        void savePreviousPosition();
+
+        /**
+         * Move back to the vertical center of the game board, as at the start of a point, and
+         * forget the previous position so nothing is interpolated across the jump.
+         *
+         * @param gameBoardHeight is the maximum allowable y value for the game/scene.
+         */
+        void resetPosition(final float gameBoardHeight);
+
+        /**
+         * Determine whether a ball moving in a straight line from one position to another
+         * collides with the Paddle along the way, and if so, when. Only balls moving toward the
+         * far side of the board can collide, so a ball leaving the paddle never does.
+         *
+         * @param startX is the x coordinate of the ball's center before the movement.
+         * @param startY is the y coordinate of the ball's center before the movement.
+         * @param endX is the x coordinate of the ball's center after the movement.
+         * @param endY is the y coordinate of the ball's center after the movement.
+         * @param ballRadius is the ball's radius.
+         * @return the time of impact as a fraction of the movement, from 0.0 (the ball already
+         * touches the paddle at its start position) to 1.0 (it touches at its end position). If
+         * no collision detected, will return PongScene.NO_PADDLE_HIT (-2f).
+         */
+        float getTimeOfImpact(final float startX, final float startY, final float endX,
+                              final float endY, final float ballRadius);
+
+        /**
+         * Return a value indicating where on the paddle a ball that has collided with it struck.
+         *
+         * @param ballCenterY is the y coordinate of the ball's center at the time of impact.
+         * @return about -1.0 to 1.0, with 1.0 representing a collision at the exact top of the
+         * paddle, 0.0 indicating a collision with the exact center of the paddle, and -1.0
+         * representing a collision with the exact bottom of the paddle, and proportional values
+         * for positions in between. Hits on the corners fall a little outside that range.
+         */
+        float getRelativeCollisionLocation(final float ballCenterY);
+
+        /**
+         * Retrieve the y coordinate of the center of the paddle.
+         * @return the center y coordinate.
+         */
+        float getCenterY();
+    }
+
+    /**
+     * One or more balls will move across the game board at a given time, bouncing off the top and
+     * bottom walls as well as the paddles. All balls are kept in one BallStore and addressed by
+     * index, so moving many of them is a tight loop over primitive arrays. Indexes are only
+     * stable until the next remove(), which moves the last ball into the removed ball's slot.
+     */
+    interface BallStore extends Persistable {
+
+        /**
+         * @return the number of balls in the store.
+         */
+        int size();
+
+        /**
+         * Add a ball to the end of the store, growing its capacity if needed. The direction is
+         * converted to a velocity vector once, here; after that only collisions change it.
+         *
+         * @param centerX is the x coordinate of the ball's center.
+         * @param centerY is the y coordinate of the ball's center.
+         * @param radiusInPx is the ball's radius.
+         * @param speedInPxPerMs is the ball's speed.
+         * @param directionInDegrees is the ball's direction, with 0° = up, 90° = right,
+         *                           -90° = left, and 180°/-180° = down.
+         * @param color is the int representation of the ball's color.
+         * @return the index of the new ball, which is always the previous size().
+         */
+        int add(final float centerX, final float centerY, final float radiusInPx,
+                final float speedInPxPerMs, final double directionInDegrees, final int color);
+
+        /**
+         * Remove the ball at the specified index by moving the last ball into its slot.
+         *
+         * @param index is the index of the ball to remove.
+         */
+        void remove(final int index);
+
+        /**
+         * Remove every ball, keeping the capacity for reuse.
+         */
+        void clear();
+
+        /**
+         * Update every ball's position based on its velocity and the specified change in time,
+         * bouncing off the top and bottom walls.
+         *
+         * @param millisecondsSinceLastUpdate is the time delta for the balls' movement.
+         * @param gameBoardHeight is the maximum allowable y value for the game/scene.
+         */
+        void moveAll(final float millisecondsSinceLastUpdate, final float gameBoardHeight);
+
+        /**
+         * Same as moveAll(), but only for the balls from fromIndex up to, not including, toIndex.
+         * Calls for ranges that don't overlap touch separate slots, so they may run on separate
+         * threads at the same time.
+         *
+         * @param fromIndex is the index of the first ball to move.
+         * @param toIndex is one past the index of the last ball to move.
+         * @param millisecondsSinceLastUpdate is the time delta for the balls' movement.
+         * @param gameBoardHeight is the maximum allowable y value for the game/scene.
+         */
+        void moveRange(final int fromIndex, final int toIndex,
+                       final float millisecondsSinceLastUpdate, final float gameBoardHeight);
+
+        /**
+         * Move a single ball in a straight line for the specified time, without checking for
+         * walls. Used to bring a ball up to the time of a predicted event.
+         *
+         * @param index is the index of the ball.
+         * @param milliseconds is the time delta for the ball's movement.
+         */
+        void moveBall(final int index, final float milliseconds);
+
+        /**
+         * Point a ball's vertical velocity downward, after it hits the top wall, or upward,
+         * after it hits the bottom wall.
+         *
+         * @param index is the index of the ball.
+         * @param downward is true if the ball should head down, or false if it should head up.
+         */
+        void bounceVertically(final int index, final boolean downward);
+
+        /**
+         * Save every ball's current position as its previous position, at the start of a
+         * simulation step.
+         */
+        void savePreviousPositions();
+
+        /**
+         * Save one ball's current position as its previous position, for a ball that is moved
+         * separately from the rest.
+         *
+         * @param index is the index of the ball.
+         */
+        void savePreviousPosition(final int index);
+
+        /**
+         * @param index is the index of the ball.
+         * @return the x coordinate of the ball's center before the latest moveAll().
+         */
+        float getMoveStartX(final int index);
+
+        /**
+         * @param index is the index of the ball.
+         * @return the y coordinate of the ball's center before the latest moveAll().
+         */
+        float getMoveStartY(final int index);
+
+        /**
+         * Put a ball's center at the specified coordinates, e.g. after resolving a collision.
+         *
+         * @param index is the index of the ball.
+         * @param centerX is the new x coordinate.
+         * @param centerY is the new y coordinate.
+         */
+        void setCenter(final int index, final float centerX, final float centerY);
+
+        /**
+         * Determine whether the specified ball has hit either the left or right side walls.
+         *
+         * @param index is the index of the ball to check.
+         * @param gameBoardWidth is the width of the game board in pixels.
+         * @param gameBoardHorizontalMargin is the width of the thumb margin in pixels.
+         * @return PongScene.NO_WALL_HIT (0), PongScene.LEFT_WALL_HIT (1),
+         * or PongScene.RIGHT_WALL_HIT (2).
+         */
+        int checkIfPointScored(final int index, final float gameBoardWidth,
+                               final float gameBoardHorizontalMargin);
+
+        /**
+         * Increase or decrease a ball's speed by the given percentage, depending on whether it
+         * is +/-.
+         *
+         * @param index is the index of the ball.
+         * @param percentChangeInBallSpeed is the desired % change in speed, either + or -.
+         */
+        void changeSpeed(final int index, final float percentChangeInBallSpeed);
+
+        /**
+         * Point a ball along the specified unit vector, keeping its current speed.
+         *
+         * @param index is the index of the ball.
+         * @param unitX is the x component of the new direction, with positive = rightward.
+         * @param unitY is the y component of the new direction, with positive = downward.
+         */
+        void setHeading(final int index, final float unitX, final float unitY);
+
+        /**
+         * Set a ball's velocity directly, e.g. after it collides with another ball. Its speed
+         * becomes the length of the new velocity.
+         *
+         * @param index is the index of the ball.
+         * @param velocityX is the horizontal velocity in pixels per ms, positive = rightward.
+         * @param velocityY is the vertical velocity in pixels per ms, positive = downward.
+         */
+        void setVelocity(final int index, final float velocityX, final float velocityY);
+
+        /**
+         * @param index is the index of the ball.
+         * @return the ball's horizontal velocity in pixels per ms, with positive = rightward.
+         */
+        float getVelocityX(final int index);
+
+        /**
+         * @param index is the index of the ball.
+         * @return the ball's vertical velocity in pixels per ms, with positive = downward.
+         */
+        float getVelocityY(final int index);
+
+        /**
+         * @param index is the index of the ball.
+         * @param color is the int representation of the desired color.
+         */
+        void setColor(final int index, final int color);
+
+        float getCenterX(final int index);
+
+        float getCenterY(final int index);
+
+        float getRadius(final int index);
+
+        /**
+         * @param index is the index of the ball.
+         * @return the ball's speed in pixels per ms.
+         */
+        float getSpeed(final int index);
+
+        /**
+         * Retrieve a view of the ball in the specified slot for the Renderer. Views belong to
+         * slots, not balls, and are created only when the store grows, so this never allocates.
+         *
+         * @param index is the index of the ball.
+         * @return a CircleToRender that reads the ball's current values from the store.
+         */
+        GameEngine.CircleToRender getCircleToRender(final int index);
+
+        /**
+         * Add every ball, in index order, to the circles of the specified frame.
+         *
+         * @param frame is the frame to add the balls to.
+         */
+        void writeCircles(RenderFrame frame);
+    }
+
+    /**
+     * Vertical lines will be used to mark the left and right edges of the game board, as well as
+     * the center.
+     */
+    interface VerticalLine extends GameEngine.VerticalLineToRender, Persistable {
+
+        /**
+         * Change the line's color.
+         * @param color is the new color as an int.
+         */
+        void setColor(int color);
+    }
+
+    /**
+     * Game objects that can save their state, e.g. so a game survives the app being stopped.
+     * Each implementation also provides a constructor taking a StateReader, which must read the
+     * values back in the same order they were written.
+     */
+    interface Persistable {
+
+        /**
+         * Write everything needed to recreate this object.
+         *
+         * @param out is the destination for the object's state.
+         */
+        void writeState(StateWriter out);
+    }
+
+    /**
+     * Destination for the state of Persistable objects. Adapt this to a platform's own
+     * persistence mechanism, e.g. an Android Parcel.
+     */
+    interface StateWriter {
+        void writeInt(int value);
+        void writeFloat(float value);
+        void writeDouble(double value);
+        void writeBoolean(boolean value);
+    }
+
+    /**
+     * Source of state previously written to a StateWriter, read back in the same order.
+     */
+    interface StateReader {
+        int readInt();
+        float readFloat();
+        double readDouble();
+        boolean readBoolean();
+    }
+}
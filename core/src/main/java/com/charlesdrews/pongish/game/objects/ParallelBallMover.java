@@ -0,0 +1,265 @@
+package com.charlesdrews.pongish.game.objects;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Moves every ball through one substep on a ForkJoinPool, splitting the balls into chunks of
+ * consecutive indices. Each chunk also runs the read-only half of the per-ball checks: whether
+ * the ball's latest movement reached a paddle or an end line. The few balls that did are
+ * collected into a buffer per chunk, and the buffers are merged in chunk order, so the result is
+ * the same list of ball indices, in ascending order, no matter how the work was scheduled.
+ *
+ * Everything that changes shared state or draws random numbers (deflecting off paddles, scoring
+ * points, removing balls) is left to the caller, on its own thread, for just the listed balls.
+ * Handled in the same order as the sequential update, they give the same results.
+ *
+ * Needs java.util.concurrent.ForkJoinPool, which Android only has from API 21, so only create
+ * one where it exists.
+ */
+public class ParallelBallMover {
+
+    private static final int MIN_BALLS_PER_CHUNK = 256;
+    private static final int CHUNKS_PER_THREAD = 4;
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+    private static ForkJoinPool sSharedPool;
+
+
+    // ================================= Member variables =======================================
+
+    private final ForkJoinPool mPool;
+    private final RootTask mRootTask = new RootTask(this);
+    private ChunkTask[] mChunks = new ChunkTask[0];
+    private int mChunkCount;
+
+    // Inputs for the pass in progress, read by every chunk
+    private GameObjects.BallStore mBalls;
+    private GameObjects.Paddle mLeftPaddle, mRightPaddle;
+    private float mMillis, mGameBoardWidth, mGameBoardHeight, mGameBoardHorizontalMargin;
+
+    private int[] mBallsToCheck = new int[DEFAULT_INITIAL_CAPACITY];
+    private int mBallsToCheckCount;
+
+
+    // =================================== Constructors =========================================
+
+    /**
+     * Use a pool shared by every instance, with one thread per available processor.
+     */
+    public ParallelBallMover() {
+        this(getSharedPool());
+    }
+
+    /**
+     * @param pool is the pool to run the chunks on.
+     */
+    public ParallelBallMover(final ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool must not be null");
+        }
+        mPool = pool;
+    }
+
+
+    // ================================== Public methods ========================================
+
+    /**
+     * Do what BallStore.moveAll() does, then list every ball whose movement reached a paddle or
+     * an end line. Returns once every chunk is done.
+     *
+     * @param balls is the store holding the balls.
+     * @param leftPaddle is the left paddle, which must not move until this returns.
+     * @param rightPaddle is the right paddle, which must not move until this returns.
+     * @param millis is the time delta for the balls' movement.
+     * @param gameBoardWidth is the width of the game board.
+     * @param gameBoardHeight is the maximum allowable y value for the game/scene.
+     * @param gameBoardHorizontalMargin is the space between each end line and the board's edge.
+     */
+    public void moveAndFindBallsToCheck(final GameObjects.BallStore balls,
+                                        final GameObjects.Paddle leftPaddle,
+                                        final GameObjects.Paddle rightPaddle, final float millis,
+                                        final float gameBoardWidth, final float gameBoardHeight,
+                                        final float gameBoardHorizontalMargin) {
+        mBalls = balls;
+        mLeftPaddle = leftPaddle;
+        mRightPaddle = rightPaddle;
+        mMillis = millis;
+        mGameBoardWidth = gameBoardWidth;
+        mGameBoardHeight = gameBoardHeight;
+        mGameBoardHorizontalMargin = gameBoardHorizontalMargin;
+
+        splitIntoChunks(balls.size());
+        mRootTask.reinitialize();
+        mPool.invoke(mRootTask);
+
+        mergeChunkBuffers();
+        mBalls = null;
+        mLeftPaddle = null;
+        mRightPaddle = null;
+    }
+
+    /**
+     * @return the number of balls listed by the last moveAndFindBallsToCheck().
+     */
+    public int getBallToCheckCount() {
+        return mBallsToCheckCount;
+    }
+
+    /**
+     * @param i is from 0 to getBallToCheckCount() - 1.
+     * @return the index of a ball that reached a paddle or an end line. Indices are in ascending
+     * order.
+     */
+    public int getBallToCheck(final int i) {
+        return mBallsToCheck[i];
+    }
+
+
+    // ================================ Helper methods ===========================================
+
+    private static synchronized ForkJoinPool getSharedPool() {
+        if (sSharedPool == null) {
+            sSharedPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        }
+        return sSharedPool;
+    }
+
+    /**
+     * Divide the balls into a few chunks per thread, but not chunks so small that forking them
+     * costs more than the work they hold. Chunk objects are kept and reused.
+     */
+    private void splitIntoChunks(final int ballCount) {
+        int maxChunks = mPool.getParallelism() * CHUNKS_PER_THREAD;
+        mChunkCount = Math.max(1, Math.min(maxChunks,
+                (ballCount + MIN_BALLS_PER_CHUNK - 1) / MIN_BALLS_PER_CHUNK));
+
+        if (mChunks.length < mChunkCount) {
+            int oldLength = mChunks.length;
+            mChunks = Arrays.copyOf(mChunks, mChunkCount);
+            for (int c = oldLength; c < mChunkCount; c++) {
+                mChunks[c] = new ChunkTask(this);
+            }
+        }
+
+        for (int c = 0; c < mChunkCount; c++) {
+            ChunkTask chunk = mChunks[c];
+            chunk.reinitialize();
+            chunk.mFromIndex = (int) ((long) ballCount * c / mChunkCount);
+            chunk.mToIndex = (int) ((long) ballCount * (c + 1) / mChunkCount);
+        }
+    }
+
+    /**
+     * Concatenate the chunks' buffers in chunk order. Each buffer is in ascending order and the
+     * chunks cover ascending ranges, so the result is too.
+     */
+    private void mergeChunkBuffers() {
+        int total = 0;
+        for (int c = 0; c < mChunkCount; c++) {
+            total += mChunks[c].mFoundCount;
+        }
+        if (mBallsToCheck.length < total) {
+            mBallsToCheck = new int[Math.max(total, mBallsToCheck.length * 2)];
+        }
+
+        mBallsToCheckCount = 0;
+        for (int c = 0; c < mChunkCount; c++) {
+            ChunkTask chunk = mChunks[c];
+            System.arraycopy(chunk.mFound, 0, mBallsToCheck, mBallsToCheckCount,
+                    chunk.mFoundCount);
+            mBallsToCheckCount += chunk.mFoundCount;
+        }
+    }
+
+    /**
+     * @return true if the ball's latest movement reached either paddle or either end line.
+     */
+    private boolean needsCheck(final int index) {
+        float startX = mBalls.getMoveStartX(index);
+        float startY = mBalls.getMoveStartY(index);
+        float endX = mBalls.getCenterX(index);
+        float endY = mBalls.getCenterY(index);
+        float radius = mBalls.getRadius(index);
+
+        return mLeftPaddle.getTimeOfImpact(startX, startY, endX, endY, radius) !=
+                GameObjects.Scene.NO_PADDLE_HIT ||
+                mRightPaddle.getTimeOfImpact(startX, startY, endX, endY, radius) !=
+                        GameObjects.Scene.NO_PADDLE_HIT ||
+                mBalls.checkIfPointScored(index, mGameBoardWidth, mGameBoardHorizontalMargin) !=
+                        GameObjects.Scene.NO_WALL_HIT;
+    }
+
+
+    // ================================== Fork/join tasks =======================================
+
+    // ForkJoinTask is Serializable, but these tasks are never serialized, so they declare no
+    // serialVersionUID. They're static, taking the mover explicitly, so none holds a hidden
+    // reference to it either.
+
+    /**
+     * Runs the first chunk itself and forks the rest, then waits for all of them.
+     */
+    @SuppressWarnings("serial")
+    private static class RootTask extends RecursiveAction {
+
+        private final ParallelBallMover mMover;
+
+        RootTask(final ParallelBallMover mover) {
+            mMover = mover;
+        }
+
+        @Override
+        protected void compute() {
+            ChunkTask[] chunks = mMover.mChunks;
+            int chunkCount = mMover.mChunkCount;
+            for (int c = 1; c < chunkCount; c++) {
+                chunks[c].fork();
+            }
+            chunks[0].invoke();
+
+            // Join the most recently forked first, which is likeliest to still be queued here
+            for (int c = chunkCount - 1; c > 0; c--) {
+                chunks[c].join();
+            }
+        }
+    }
+
+    /**
+     * Moves and checks the balls from mFromIndex up to, not including, mToIndex, listing the
+     * ones that need attention in its own buffer.
+     */
+    @SuppressWarnings("serial")
+    private static class ChunkTask extends RecursiveAction {
+
+        private final ParallelBallMover mMover;
+        private int mFromIndex, mToIndex;
+        private int[] mFound = new int[DEFAULT_INITIAL_CAPACITY];
+        private int mFoundCount;
+
+        ChunkTask(final ParallelBallMover mover) {
+            mMover = mover;
+        }
+
+        @Override
+        protected void compute() {
+            mFoundCount = 0;
+            if (mFromIndex == mToIndex) {
+                return;
+            }
+
+            mMover.mBalls.moveRange(mFromIndex, mToIndex, mMover.mMillis,
+                    mMover.mGameBoardHeight);
+
+            for (int i = mFromIndex; i < mToIndex; i++) {
+                if (mMover.needsCheck(i)) {
+                    if (mFoundCount == mFound.length) {
+                        mFound = Arrays.copyOf(mFound, mFound.length * 2);
+                    }
+                    mFound[mFoundCount++] = i;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.charlesdrews.pongish.game.objects;
+
+import com.charlesdrews.pongish.game.GameEngine;
+import com.charlesdrews.pongish.game.RenderFrame;
+
+import java.util.Arrays;
+
+/**
+ * Keeps every ball's position, velocity, speed, radius, and color in parallel primitive arrays.
+ * Moving all balls is one loop of multiply-adds over those arrays, with no per-ball objects to
+ * chase and no trigonometry: velocities only change on collisions. Removing a ball moves the last
+ * ball into its slot, and adding only allocates when the capacity doubles.
+ */
+public class PongBallStore implements GameObjects.BallStore {
+
+    private static final int DEFAULT_INITIAL_CAPACITY = 16;
+
+
+    // ================================= Member variables =======================================
+
+    private int mSize;
+    private float[] mCenterX, mCenterY, mPreviousCenterX, mPreviousCenterY;
+    private float[] mMoveStartX, mMoveStartY;
+    private float[] mVelocityX, mVelocityY;
+    private float[] mRadiiInPx, mSpeedsInPxPerMs;
+    private int[] mColors;
+    private BallView[] mViews;
+
+
+    // =================================== Constructors =========================================
+
+    public PongBallStore() {
+        this(DEFAULT_INITIAL_CAPACITY);
+    }
+
+    /**
+     * @param initialCapacity is the number of balls the store can hold before it has to grow.
+     *                        Must be greater than zero.
+     */
+    public PongBallStore(final int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("initialCapacity must be greater than 0");
+        }
+        allocate(initialCapacity);
+    }
+
+
+    // ============================ GameObjects.BallStore methods ================================
+
+    @Override
+    public int size() {
+        return mSize;
+    }
+
+    @Override
+    public int add(final float centerX, final float centerY, final float radiusInPx,
+                   final float speedInPxPerMs, final double directionInDegrees, final int color) {
+        if (mSize == mColors.length) {
+            allocate(mColors.length * 2);
+        }
+
+        int index = mSize++;
+        mCenterX[index] = centerX;
+        mCenterY[index] = centerY;
+        mPreviousCenterX[index] = centerX;
+        mPreviousCenterY[index] = centerY;
+        mMoveStartX[index] = centerX;
+        mMoveStartY[index] = centerY;
+        mRadiiInPx[index] = radiusInPx;
+        mSpeedsInPxPerMs[index] = speedInPxPerMs;
+        mColors[index] = color;
+        setHeading(index, BallDirection.getUnitX(directionInDegrees),
+                BallDirection.getUnitY(directionInDegrees));
+        return index;
+    }
+
+    @Override
+    public void remove(final int index) {
+        if (index < 0 || index >= mSize) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + mSize);
+        }
+
+        int last = --mSize;
+        if (index != last) {
+            mCenterX[index] = mCenterX[last];
+            mCenterY[index] = mCenterY[last];
+            mPreviousCenterX[index] = mPreviousCenterX[last];
+            mPreviousCenterY[index] = mPreviousCenterY[last];
+            mMoveStartX[index] = mMoveStartX[last];
+            mMoveStartY[index] = mMoveStartY[last];
+            mRadiiInPx[index] = mRadiiInPx[last];
+            mVelocityX[index] = mVelocityX[last];
+            mVelocityY[index] = mVelocityY[last];
+            mSpeedsInPxPerMs[index] = mSpeedsInPxPerMs[last];
+            mColors[index] = mColors[last];
+        }
+    }
+
+    @Override
+    public void clear() {
+        mSize = 0;
+    }
+
+    @Override
+    public void moveAll(final float millisecondsSinceLastUpdate, final float gameBoardHeight) {
+        moveRange(0, mSize, millisecondsSinceLastUpdate, gameBoardHeight);
+    }
+
+    @Override
+    public void moveRange(final int fromIndex, final int toIndex,
+                          final float millisecondsSinceLastUpdate, final float gameBoardHeight) {
+        System.arraycopy(mCenterX, fromIndex, mMoveStartX, fromIndex, toIndex - fromIndex);
+        System.arraycopy(mCenterY, fromIndex, mMoveStartY, fromIndex, toIndex - fromIndex);
+
+        for (int i = fromIndex; i < toIndex; i++) {
+            mCenterX[i] += mVelocityX[i] * millisecondsSinceLastUpdate;
+            mCenterY[i] += mVelocityY[i] * millisecondsSinceLastUpdate;
+
+            // Check if ball hit top or bottom wall. Set the sign rather than flipping it, in case
+            // a collision elsewhere already left the ball past the wall but heading back.
+            float radius = mRadiiInPx[i];
+            if (mCenterY[i] - radius < 0) {
+                mVelocityY[i] = Math.abs(mVelocityY[i]);
+                mCenterY[i] = radius;
+            }
+            else if (mCenterY[i] + radius > gameBoardHeight) {
+                mVelocityY[i] = -Math.abs(mVelocityY[i]);
+                mCenterY[i] = gameBoardHeight - radius;
+            }
+        }
+    }
+
+    @Override
+    public void moveBall(final int index, final float milliseconds) {
+        mCenterX[index] += mVelocityX[index] * milliseconds;
+        mCenterY[index] += mVelocityY[index] * milliseconds;
+    }
+
+    @Override
+    public void bounceVertically(final int index, final boolean downward) {
+        mVelocityY[index] = downward ? Math.abs(mVelocityY[index]) : -Math.abs(mVelocityY[index]);
+    }
+
+    @Override
+    public void savePreviousPositions() {
+        System.arraycopy(mCenterX, 0, mPreviousCenterX, 0, mSize);
+        System.arraycopy(mCenterY, 0, mPreviousCenterY, 0, mSize);
+    }
+
+    @Override
+    public void savePreviousPosition(final int index) {
+        mPreviousCenterX[index] = mCenterX[index];
+        mPreviousCenterY[index] = mCenterY[index];
+    }
+
+    @Override
+    public float getMoveStartX(final int index) {
+        return mMoveStartX[index];
+    }
+
+    @Override
+    public float getMoveStartY(final int index) {
+        return mMoveStartY[index];
+    }
+
+    @Override
+    public void setCenter(final int index, final float centerX, final float centerY) {
+        mCenterX[index] = centerX;
+        mCenterY[index] = centerY;
+    }
+
+    @Override
+    public int checkIfPointScored(final int index, final float gameBoardWidth,
+                                  final float gameBoardHorizontalMargin) {
+
+        // Check left wall
+        if (mCenterX[index] - mRadiiInPx[index] <= gameBoardHorizontalMargin) {
+            return GameObjects.Scene.LEFT_WALL_HIT;
+        }
+        // Check right wall
+        else if (mCenterX[index] + mRadiiInPx[index] >=
+                gameBoardHorizontalMargin + gameBoardWidth) {
+            return GameObjects.Scene.RIGHT_WALL_HIT;
+        }
+        else {
+            return GameObjects.Scene.NO_WALL_HIT;
+        }
+    }
+
+    @Override
+    public void changeSpeed(final int index, final float percentChangeInBallSpeed) {
+        float factor = 1f + percentChangeInBallSpeed;
+        mSpeedsInPxPerMs[index] *= factor;
+        mVelocityX[index] *= factor;
+        mVelocityY[index] *= factor;
+    }
+
+    @Override
+    public void setHeading(final int index, final float unitX, final float unitY) {
+        mVelocityX[index] = unitX * mSpeedsInPxPerMs[index];
+        mVelocityY[index] = unitY * mSpeedsInPxPerMs[index];
+    }
+
+    @Override
+    public void setVelocity(final int index, final float velocityX, final float velocityY) {
+        mVelocityX[index] = velocityX;
+        mVelocityY[index] = velocityY;
+        mSpeedsInPxPerMs[index] = (float) Math.sqrt(velocityX * velocityX + velocityY * velocityY);
+    }
+
+    @Override
+    public float getVelocityX(final int index) {
+        return mVelocityX[index];
+    }
+
+    @Override
+    public float getVelocityY(final int index) {
+        return mVelocityY[index];
+    }
+
+    @Override
+    public void setColor(final int index, final int color) {
+        mColors[index] = color;
+    }
+
+    @Override
+    public float getCenterX(final int index) {
+        return mCenterX[index];
+    }
+
+    @Override
+    public float getCenterY(final int index) {
+        return mCenterY[index];
+    }
+
+    @Override
+    public float getRadius(final int index) {
+        return mRadiiInPx[index];
+    }
+
+    @Override
+    public float getSpeed(final int index) {
+        return mSpeedsInPxPerMs[index];
+    }
+
+    @Override
+    public GameEngine.CircleToRender getCircleToRender(final int index) {
+        return mViews[index];
+    }
+
+    @Override
+    public void writeCircles(final RenderFrame frame) {
+        frame.addCircles(mCenterX, mCenterY, mPreviousCenterX, mPreviousCenterY, mRadiiInPx,
+                mColors, mSize);
+    }
+
+
+    // ============================ GameObjects.Persistable methods ==============================
+
+    PongBallStore(GameObjects.StateReader in) {
+        int size = in.readInt();
+        allocate(Math.max(size, DEFAULT_INITIAL_CAPACITY));
+
+        for (int i = 0; i < size; i++) {
+            mCenterX[i] = in.readFloat();
+            mCenterY[i] = in.readFloat();
+            mPreviousCenterX[i] = mCenterX[i];
+            mPreviousCenterY[i] = mCenterY[i];
+            mMoveStartX[i] = mCenterX[i];
+            mMoveStartY[i] = mCenterY[i];
+            mRadiiInPx[i] = in.readFloat();
+            mSpeedsInPxPerMs[i] = in.readFloat();
+            mVelocityX[i] = in.readFloat();
+            mVelocityY[i] = in.readFloat();
+            mColors[i] = in.readInt();
+        }
+        mSize = size;
+    }
+
+    @Override
+    public void writeState(GameObjects.StateWriter out) {
+        out.writeInt(mSize);
+        for (int i = 0; i < mSize; i++) {
+            out.writeFloat(mCenterX[i]);
+            out.writeFloat(mCenterY[i]);
+            out.writeFloat(mRadiiInPx[i]);
+            out.writeFloat(mSpeedsInPxPerMs[i]);
+            out.writeFloat(mVelocityX[i]);
+            out.writeFloat(mVelocityY[i]);
+            out.writeInt(mColors[i]);
+        }
+    }
+
+
+    // ================================ Helper methods ===========================================
+
+    /**
+     * Grow (or initially create) every array to the specified capacity, keeping the contents.
+     *
+     * @param capacity is the new capacity.
+     */
+    private void allocate(final int capacity) {
+        if (mColors == null) {
+            mCenterX = new float[capacity];
+            mCenterY = new float[capacity];
+            mPreviousCenterX = new float[capacity];
+            mPreviousCenterY = new float[capacity];
+            mMoveStartX = new float[capacity];
+            mMoveStartY = new float[capacity];
+            mRadiiInPx = new float[capacity];
+            mVelocityX = new float[capacity];
+            mVelocityY = new float[capacity];
+            mSpeedsInPxPerMs = new float[capacity];
+            mColors = new int[capacity];
+            mViews = new BallView[capacity];
+        }
+        else {
+            mCenterX = Arrays.copyOf(mCenterX, capacity);
+            mCenterY = Arrays.copyOf(mCenterY, capacity);
+            mPreviousCenterX = Arrays.copyOf(mPreviousCenterX, capacity);
+            mPreviousCenterY = Arrays.copyOf(mPreviousCenterY, capacity);
+            mMoveStartX = Arrays.copyOf(mMoveStartX, capacity);
+            mMoveStartY = Arrays.copyOf(mMoveStartY, capacity);
+            mRadiiInPx = Arrays.copyOf(mRadiiInPx, capacity);
+            mVelocityX = Arrays.copyOf(mVelocityX, capacity);
+            mVelocityY = Arrays.copyOf(mVelocityY, capacity);
+            mSpeedsInPxPerMs = Arrays.copyOf(mSpeedsInPxPerMs, capacity);
+            mColors = Arrays.copyOf(mColors, capacity);
+            mViews = Arrays.copyOf(mViews, capacity);
+        }
+
+        for (int i = 0; i < capacity; i++) {
+            if (mViews[i] == null) {
+                mViews[i] = new BallView(i);
+            }
+        }
+    }
+
+
+    // ================================== Inner classes ==========================================
+
+    /**
+     * Read-only view of one slot of the store, for the Renderer.
+     */
+    private class BallView implements GameEngine.CircleToRender {
+
+        private final int mIndex;
+
+        BallView(final int index) {
+            mIndex = index;
+        }
+
+        @Override
+        public float getCenterX() {
+            return mCenterX[mIndex];
+        }
+
+        @Override
+        public float getCenterY() {
+            return mCenterY[mIndex];
+        }
+
+        @Override
+        public float getPreviousCenterX() {
+            return mPreviousCenterX[mIndex];
+        }
+
+        @Override
+        public float getPreviousCenterY() {
+            return mPreviousCenterY[mIndex];
+        }
+
+        @Override
+        public float getRadius() {
+            return mRadiiInPx[mIndex];
+        }
+
+        @Override
+        public int getColor() {
+            return mColors[mIndex];
+        }
+    }
+}
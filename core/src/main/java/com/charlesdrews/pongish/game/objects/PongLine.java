@@ -1,7 +1,5 @@
 package com.charlesdrews.pongish.game.objects;
 
-import android.os.Parcel;
-
 import com.charlesdrews.pongish.game.GameEngine;
 
 /**
@@ -60,39 +58,22 @@ public class PongLine implements GameObjects.VerticalLine, GameEngine.VerticalLi
     }
 
 
-    // =========================== Parcelable methods & constant ==================================
+    // ============================ GameObjects.Persistable methods ==============================
 
-    protected PongLine(Parcel in) {
+    PongLine(GameObjects.StateReader in) {
         mX = in.readFloat();
         mTopY = in.readFloat();
         mBottomY = in.readFloat();
         mColor = in.readInt();
-        mDashed = in.readByte() != 0;
+        mDashed = in.readBoolean();
     }
 
     @Override
-    public void writeToParcel(Parcel dest, int flags) {
-        dest.writeFloat(mX);
-        dest.writeFloat(mTopY);
-        dest.writeFloat(mBottomY);
-        dest.writeInt(mColor);
-        dest.writeByte((byte) (mDashed ? 1 : 0));
+    public void writeState(GameObjects.StateWriter out) {
+        out.writeFloat(mX);
+        out.writeFloat(mTopY);
+        out.writeFloat(mBottomY);
+        out.writeInt(mColor);
+        out.writeBoolean(mDashed);
     }
-
-    @Override
-    public int describeContents() {
-        return 0;
-    }
-
-    public static final Creator<PongLine> CREATOR = new Creator<PongLine>() {
-        @Override
-        public PongLine createFromParcel(Parcel in) {
-            return new PongLine(in);
-        }
-
-        @Override
-        public PongLine[] newArray(int size) {
-            return new PongLine[size];
-        }
-    };
 }
@@ -0,0 +1,377 @@
+package com.charlesdrews.pongish.game.objects;
+
+import java.util.Random;
+
+/**
+ * Models a paddle that can move up and down vertically, but cannot move horizontally. Can be
+ * located at the left or the right side of the screen, and can reflect balls that collide with it.
+ *
+ * Created by charlie on 9/10/16.
+ */
+public class PongPaddle implements GameObjects.Paddle {
+
+    // ===================================== Constants ==========================================
+
+    private static final float DEFAULT_OUTSIDE_MARGIN = 20f;
+    private static final float MAXIMUM_HUMAN_PADDLE_SPEED_IN_PX_PER_MS = 1_000f;
+    private static final float MAXIMUM_COMPUTER_PADDLE_SPEED_IN_PX_PER_MS = 0.75f;
+
+    private static final float COMPUTER_PADDLE_EXTRA_ABS_VALUE = 0.3f;
+
+    private static Random sRandom = new Random();
+
+
+    // ================================= Member variables =======================================
+
+    private boolean mComputerControlled;
+    private int mPaddlePosition, mColor;
+    private float mLeftX, mTopY, mRightX, mBottomY;
+    private float mPreviousTopY, mPreviousBottomY;
+    private float mMaxSpeedInPxPerMs;
+
+
+    // =================================== Constructor ==========================================
+
+    /**
+     * Instantiate a new Paddle and set its position at the left or right of the game board.
+     *
+     * @param paddlePosition must be GameObjects.Scene.LEFT_PADDLE or
+     *                       GameObjects.Scene.RIGHT_PADDLE.
+     * @param paddleHeight is the height in pixels of the paddle's desired height.
+     * @param gameBoardWidth is the width in pixels of the game board.
+     * @param gameBoardHeight is the height in pixels of the game board.
+     * @param gameBoardHorizontalMargin is the width in pixels of the space on either side of the
+     *                                  game board for the user's thumbs.
+     * @param paddleColor is an int representation of the paddle's desired color.
+     */
+    public PongPaddle(final boolean computerControlled, final int paddlePosition,
+                      final float paddleWidth, final float paddleHeight,
+                      final float gameBoardWidth, final float gameBoardHeight,
+                      final float gameBoardHorizontalMargin, final int paddleColor) {
+
+        // Set left and right coordinates based on paddle type, or throw exception if invalid type
+        if (paddlePosition == GameObjects.Scene.LEFT_PADDLE) {
+            mPaddlePosition = paddlePosition;
+            mLeftX = gameBoardHorizontalMargin + DEFAULT_OUTSIDE_MARGIN;
+            mRightX = mLeftX + paddleWidth;
+        }
+        else if (paddlePosition == GameObjects.Scene.RIGHT_PADDLE) {
+            mPaddlePosition = paddlePosition;
+            mRightX = gameBoardHorizontalMargin + gameBoardWidth - DEFAULT_OUTSIDE_MARGIN;
+            mLeftX = mRightX - paddleWidth;
+        }
+        else {
+            throw new IllegalArgumentException("paddlePosition must be either" +
+                    "GameObjects.Scene.LEFT_PADDLE or GameObjects.Scene.RIGHT_PADDLE");
+        }
+
+        mTopY =  (gameBoardHeight - paddleHeight) / 2f;
+        mBottomY = mTopY + paddleHeight;
+        savePreviousPosition();
+
+        mColor = paddleColor;
+
+        // Set max speed
+        mComputerControlled = computerControlled;
+        if (mComputerControlled) {
+            mMaxSpeedInPxPerMs = MAXIMUM_COMPUTER_PADDLE_SPEED_IN_PX_PER_MS;
+        }
+        else {
+            mMaxSpeedInPxPerMs = MAXIMUM_HUMAN_PADDLE_SPEED_IN_PX_PER_MS;
+        }
+    }
+
+
+    // ============================ GameObjects.Paddle methods ===================================
+
+    @Override
+    public boolean isComputerControlled() {
+        return mComputerControlled;
+    }
+
+    @Override
+    public void move(float deltaY, final float gameBoardHeight,
+                     final float millisecondsSinceLastUpdate) {
+
+        // Reduce deltaY if moving that far would exceed maximum paddle speed
+        if (deltaY > 0) {
+            deltaY = Math.min(deltaY, mMaxSpeedInPxPerMs * millisecondsSinceLastUpdate);
+        }
+        else {
+            deltaY = Math.max(deltaY, (- mMaxSpeedInPxPerMs) * millisecondsSinceLastUpdate);
+        }
+
+        // Update top and bottom coordinates
+        mTopY += deltaY;
+        mBottomY += deltaY;
+
+        // Make sure paddle doesn't go off the game board
+        if (mTopY < 0) {
+            float overage = -mTopY;
+            mTopY += overage;
+            mBottomY += overage;
+        }
+        else if (mBottomY > gameBoardHeight) {
+            float overage = mBottomY - gameBoardHeight;
+            mTopY -= overage;
+            mBottomY -= overage;
+        }
+    }
+
+    @Override
+    public void savePreviousPosition() {
+        mPreviousTopY = mTopY;
+        mPreviousBottomY = mBottomY;
+    }
+
+    @Override
+    public void resetPosition(final float gameBoardHeight) {
+        float paddleHeight = mBottomY - mTopY;
+        mTopY = (gameBoardHeight - paddleHeight) / 2f;
+        mBottomY = mTopY + paddleHeight;
+        savePreviousPosition();
+    }
+
+    @Override
+    public float getTimeOfImpact(final float startX, final float startY, final float endX,
+                                 final float endY, final float ballRadius) {
+
+        float deltaX = endX - startX;
+        float deltaY = endY - startY;
+
+        // Only balls heading toward the far side of the board can be reflected. This also keeps
+        // a ball that was just reflected from hitting the same paddle again on its way out.
+        if (mPaddlePosition == GameObjects.Scene.LEFT_PADDLE) {
+            if (deltaX >= 0) {
+                return GameObjects.Scene.NO_PADDLE_HIT;
+            }
+        }
+        else if (mPaddlePosition == GameObjects.Scene.RIGHT_PADDLE) {
+            if (deltaX <= 0) {
+                return GameObjects.Scene.NO_PADDLE_HIT;
+            }
+        }
+        else {
+            throw new IllegalStateException("Paddle's position is neither " +
+                    "GameObjects.Scene.LEFT_PADDLE nor GameObjects.Scene.RIGHT_PADDLE");
+        }
+
+        // The ball's center touches the paddle anywhere within ballRadius of the rectangle, i.e.
+        // within the rectangle grown by ballRadius on every side with rounded corners. Start with
+        // the grown rectangle, corners and all, since most sweeps miss it entirely.
+        float time = sweepAgainstBox(startX, startY, deltaX, deltaY, mLeftX - ballRadius,
+                mTopY - ballRadius, mRightX + ballRadius, mBottomY + ballRadius);
+        if (time == GameObjects.Scene.NO_PADDLE_HIT) {
+            return time;
+        }
+
+        // Then find the earliest contact with the rounded shape, which is the union of the
+        // rectangle grown sideways, the rectangle grown vertically, and a circle on each corner.
+        time = earliest(
+                sweepAgainstBox(startX, startY, deltaX, deltaY, mLeftX - ballRadius, mTopY,
+                        mRightX + ballRadius, mBottomY),
+                sweepAgainstBox(startX, startY, deltaX, deltaY, mLeftX, mTopY - ballRadius,
+                        mRightX, mBottomY + ballRadius));
+        time = earliest(time,
+                sweepAgainstPoint(startX, startY, deltaX, deltaY, ballRadius, mLeftX, mTopY));
+        time = earliest(time,
+                sweepAgainstPoint(startX, startY, deltaX, deltaY, ballRadius, mRightX, mTopY));
+        time = earliest(time,
+                sweepAgainstPoint(startX, startY, deltaX, deltaY, ballRadius, mLeftX, mBottomY));
+        time = earliest(time,
+                sweepAgainstPoint(startX, startY, deltaX, deltaY, ballRadius, mRightX, mBottomY));
+        return time;
+    }
+
+    @Override
+    public float getRelativeCollisionLocation(final float ballCenterY) {
+
+        // Determine how far above or below the paddle's center the ball hit
+        float paddleHalfHeight = (mBottomY - mTopY) / 2f;
+        float paddleCenterY = mTopY + paddleHalfHeight;
+
+        // Return between 0.0 and 1.0 if ball struck top half, else between 0.0 and -1.0 if
+        // ball struck bottom half.
+
+        // Add a little extra so the computer isn't too perfect...
+        float extra = sRandom.nextFloat() * COMPUTER_PADDLE_EXTRA_ABS_VALUE * 2 -
+                COMPUTER_PADDLE_EXTRA_ABS_VALUE;
+
+        return (-((ballCenterY - paddleCenterY) / paddleHalfHeight)) + extra;
+    }
+
+    @Override
+    public float getCenterY() {
+        return mTopY + ((mBottomY - mTopY) / 2f);
+    }
+
+
+    // ========================= GameEngine.RectangleToRender methods ================================
+
+    @Override
+    public float getLeftX() {
+        return mLeftX;
+    }
+
+    @Override
+    public float getTopY() {
+        return mTopY;
+    }
+
+    @Override
+    public float getRightX() {
+        return mRightX;
+    }
+
+    @Override
+    public float getBottomY() {
+        return mBottomY;
+    }
+
+    @Override
+    public float getPreviousLeftX() {
+        // Paddles only move vertically.
+        return mLeftX;
+    }
+
+    @Override
+    public float getPreviousTopY() {
+        return mPreviousTopY;
+    }
+
+    @Override
+    public float getPreviousRightX() {
+        return mRightX;
+    }
+
+    @Override
+    public float getPreviousBottomY() {
+        return mPreviousBottomY;
+    }
+
+    @Override
+    public int getColor() {
+        return mColor;
+    }
+
+
+    // ================================ Helper methods ===========================================
+
+    /**
+     * Make the random extra in getRelativeCollisionLocation() repeatable, so tests can run the
+     * same game twice.
+     */
+    static void setRandomSeed(final long seed) {
+        sRandom = new Random(seed);
+    }
+
+    /**
+     * Find when a point moving from (startX, startY) by (deltaX, deltaY) first enters the
+     * specified box, using the slab method.
+     *
+     * @return the fraction of the movement, from 0.0 to 1.0, at which the point enters the box,
+     * 0.0 if it starts inside, or GameObjects.Scene.NO_PADDLE_HIT if it never does.
+     */
+    private static float sweepAgainstBox(final float startX, final float startY,
+                                         final float deltaX, final float deltaY,
+                                         final float minX, final float minY,
+                                         final float maxX, final float maxY) {
+        float entry = 0f;
+        float exit = 1f;
+
+        // Callers never sweep with deltaX == 0, since a ball must be heading toward the paddle
+        float toMinX = (minX - startX) / deltaX;
+        float toMaxX = (maxX - startX) / deltaX;
+        entry = Math.max(entry, Math.min(toMinX, toMaxX));
+        exit = Math.min(exit, Math.max(toMinX, toMaxX));
+
+        if (deltaY == 0f) {
+            if (startY < minY || startY > maxY) {
+                return GameObjects.Scene.NO_PADDLE_HIT;
+            }
+        }
+        else {
+            float toMinY = (minY - startY) / deltaY;
+            float toMaxY = (maxY - startY) / deltaY;
+            entry = Math.max(entry, Math.min(toMinY, toMaxY));
+            exit = Math.min(exit, Math.max(toMinY, toMaxY));
+        }
+
+        return entry <= exit ? entry : GameObjects.Scene.NO_PADDLE_HIT;
+    }
+
+    /**
+     * Find when a point moving from (startX, startY) by (deltaX, deltaY) first comes within the
+     * specified radius of (pointX, pointY).
+     *
+     * @return the fraction of the movement, from 0.0 to 1.0, at which the point comes within
+     * radius, 0.0 if it starts within radius, or GameObjects.Scene.NO_PADDLE_HIT if it never does.
+     */
+    private static float sweepAgainstPoint(final float startX, final float startY,
+                                           final float deltaX, final float deltaY,
+                                           final float radius,
+                                           final float pointX, final float pointY) {
+        float offsetX = startX - pointX;
+        float offsetY = startY - pointY;
+
+        // Solve |offset + delta * t| = radius for the smaller t
+        float a = deltaX * deltaX + deltaY * deltaY;
+        float b = 2f * (offsetX * deltaX + offsetY * deltaY);
+        float c = offsetX * offsetX + offsetY * offsetY - radius * radius;
+
+        if (c <= 0f) {
+            return 0f;
+        }
+        if (b >= 0f) {
+            // Moving away from the point
+            return GameObjects.Scene.NO_PADDLE_HIT;
+        }
+
+        float discriminant = b * b - 4f * a * c;
+        if (discriminant < 0f) {
+            return GameObjects.Scene.NO_PADDLE_HIT;
+        }
+
+        float time = (-b - (float) Math.sqrt(discriminant)) / (2f * a);
+        return time <= 1f ? time : GameObjects.Scene.NO_PADDLE_HIT;
+    }
+
+    /**
+     * @return the earlier of two times from the sweep methods, either of which may be
+     * GameObjects.Scene.NO_PADDLE_HIT.
+     */
+    private static float earliest(final float time, final float otherTime) {
+        if (time == GameObjects.Scene.NO_PADDLE_HIT) {
+            return otherTime;
+        }
+        else if (otherTime == GameObjects.Scene.NO_PADDLE_HIT) {
+            return time;
+        }
+        else {
+            return Math.min(time, otherTime);
+        }
+    }
+
+
+    // ============================ GameObjects.Persistable methods ==============================
+
+    PongPaddle(GameObjects.StateReader in) {
+        mPaddlePosition = in.readInt();
+        mColor = in.readInt();
+        mLeftX = in.readFloat();
+        mTopY = in.readFloat();
+        mRightX = in.readFloat();
+        mBottomY = in.readFloat();
+        savePreviousPosition();
+    }
+
+    @Override
+    public void writeState(GameObjects.StateWriter out) {
+        out.writeInt(mPaddlePosition);
+        out.writeInt(mColor);
+        out.writeFloat(mLeftX);
+        out.writeFloat(mTopY);
+        out.writeFloat(mRightX);
+        out.writeFloat(mBottomY);
+    }
+}
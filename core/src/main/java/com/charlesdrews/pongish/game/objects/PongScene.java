@@ -0,0 +1,1242 @@
+package com.charlesdrews.pongish.game.objects;
+
+import com.charlesdrews.pongish.game.GameEngine;
+import com.charlesdrews.pongish.game.RenderFrame;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Container for the other game objects. Includes logic to update the positions of those objects.
+ *
+ * Created by charlie on 9/10/16.
+ */
+public class PongScene implements GameObjects.Scene {
+
+    // =================================== Constants =============================================
+
+    private static final String TAG = "PongScene";
+
+    private static final int DEFAULT_BACKGROUND_COLOR = GameColors.BLACK;
+    private static final float HORIZONTAL_THUMB_MARGIN_AS_PERCENT_OF_SCREEN_WIDTH = 0.11f;
+
+    private static final int SCORE_COLOR = GameColors.GREEN;
+    private static final float SCORE_TOP_MARGIN_AS_PERCENT_OF_GAME_BOARD_HEIGHT = 0.02f;
+    private static final float SCORE_MARGIN_FROM_CENTER_AS_PERCENT_OF_GAME_BOARD_WIDTH = 0.03f;
+    private static final float SCORE_TEXT_SIZE_AS_PERCENT_OF_GAME_BOARD_HEIGHT = 0.1f;
+
+    private static final int CENTER_LINE_COLOR = GameColors.WHITE;
+    private static final int END_LINE_COLOR = GameColors.WHITE;
+
+    private static final int PADDLE_COLOR = GameColors.WHITE;
+    private static final float PADDLE_HEIGHT_AS_PERCENT_OF_GAME_BOARD_HEIGHT = 0.2f;
+    private static final float PADDLE_WIDTH_AS_PERCENT_OF_GAME_BOARD_WIDTH = 0.015f;
+
+    private static final int NORMAL_BALL_POINTS = 3;
+    private static final int NORMAL_BALL_COLOR = GameColors.WHITE;
+    private static final float NORMAL_BALL_RADIUS_AS_PERCENT_OF_GAME_BOARD_WIDTH = 0.022f;
+    private static final float NORMAL_BALL_SPEED_AS_PERCENT_OF_GAME_BOARD_WIDTH_PER_SECOND = 0.509f;
+
+    // The normal ball is always the first ball in the store; bonus balls follow it.
+    private static final int NORMAL_BALL_INDEX = 0;
+
+    private static final int BONUS_BALL_POINTS = 1;
+    private static final int[] BONUS_BALL_COLORS =
+            { GameColors.YELLOW, GameColors.CYAN, GameColors.MAGENTA };
+    private static final float BONUS_BALL_RADIUS_AS_PERCENT_OF_GAME_BOARD_WIDTH = 0.015f;
+    private static final float BONUS_BALL_SPEED_AS_PERCENT_OF_GAME_BOARD_WIDTH_PER_SECOND = 0.436f;
+
+    private static final int BONUS_BALLS_CONSECUTIVE_HITS_THRESHOLD = 10;
+
+    private static final float BALL_SPEED_INCREASE_ON_PADDLE_HIT_AS_PERCENT_OF_CURRENT_SPEED = 0.04f;
+
+    private static final int BALL_COLOR_ON_POINT_SCORED = GameColors.RED;
+    private static final int END_LINE_COLOR_ON_POINT_SCORED = GameColors.RED;
+    private static final float MS_BEFORE_LINE_COLOR_REVERTS_AFTER_SCORE = 1_000f;
+
+    // Split a step into substeps so no ball moves more than this much of a paddle's width per
+    // substep. Collisions are swept, so this bounds the error from wall bounces and multiple
+    // collisions within one movement rather than preventing balls from passing through paddles.
+    private static final float MAX_SUBSTEP_DISTANCE_AS_PERCENT_OF_PADDLE_WIDTH = 0.5f;
+    private static final int MAX_SUBSTEPS = 32;
+
+    // In event-driven mode, a ball within this distance of a paddle's face counts as having
+    // reached it, and a ball is touching a paddle if it would hit it within this much time.
+    private static final float PADDLE_FACE_TOLERANCE_IN_PX = 0.01f;
+    private static final float PADDLE_CONTACT_WINDOW_IN_MS = 0.01f;
+
+    // Ball-to-ball collisions: grid cells fit the largest ball, and checking pairs stops for the
+    // step once this many have been checked
+    private static final float BALL_GRID_CELL_SIZE_AS_PERCENT_OF_GAME_BOARD_WIDTH = 2f *
+            Math.max(NORMAL_BALL_RADIUS_AS_PERCENT_OF_GAME_BOARD_WIDTH,
+                    BONUS_BALL_RADIUS_AS_PERCENT_OF_GAME_BOARD_WIDTH);
+    private static final int MAX_BALL_PAIR_CHECKS_PER_STEP = 50_000;
+
+
+
+    // ================================= Member variables =======================================
+
+    private float mGameBoardWidth, mGameBoardHeight, mGameBoardHorizontalMargin;
+    private int mBackgroundColor, mComputerControlledPaddle;
+    private GameObjects.Score mLeftPlayerScore, mRightPlayerScore;
+    private GameObjects.VerticalLine mLeftEndLine, mRightEndLine, mCenterLine;
+    private GameObjects.Paddle mLeftPaddle, mRightPaddle;
+    private GameObjects.BallStore mBalls;
+    private int mConsecutivePaddleHits = 0;
+    private boolean mNeedToAddBonusBalls = false;
+    private boolean mCountDownInProgress = false;
+    private float mMillisUntilLeftEndLineReverts = 0f, mMillisUntilRightEndLineReverts = 0f;
+    private int mPhysicsMode = PHYSICS_FIXED_STEP;
+    private boolean mBallCollisionsEnabled = false;
+    private BallCollisionGrid mBallCollisionGrid;
+    private int mParallelUpdateThreshold = PARALLEL_UPDATE_DISABLED;
+    private ParallelBallMover mParallelBallMover;
+
+    // Only used in event-driven mode. The simulation clock starts over whenever the events need
+    // to be scheduled from scratch, so it's not saved with the rest of the state.
+    private final BallEventQueue mBallEvents = new BallEventQueue();
+    private final BallIndexSet mBallsPastLeftPaddleFace = new BallIndexSet();
+    private final BallIndexSet mBallsPastRightPaddleFace = new BallIndexSet();
+    private boolean mBallEventsNeedScheduling = true;
+    private double mSimulationTimeInMillis = 0d, mStepStartTimeInMillis = 0d;
+    private float mLeftPaddlePredictedTopY, mRightPaddlePredictedTopY;
+
+    private List<GameEngine.ScoreToRender> mScoresToRender;
+    private List<GameEngine.VerticalLineToRender> mVerticalLinesToRender;
+    private List<GameEngine.CircleToRender> mCirclesToRender;
+    private List<GameEngine.RectangleToRender> mRectanglesToRender;
+
+
+    // =================================== Constructor ==========================================
+
+    /**
+     * Instantiate a new Scene with the specified characteristics.
+     *
+     * @param availableWidth is the width in pixels available for the game board.
+     * @param availableHeight is the height in pixels available for the game board.
+     * @param computerControlledPaddle must be GameObjects.Scene.LEFT_PADDLE,
+     *                                 GameObjects.Scene.RIGHT_PADDLE, or
+     *                                 GameObjects.Scene.NEITHER_PADDLE.
+     * @param gameBoardColor is the int representation of the scene's background color.
+     */
+    public PongScene(final int availableWidth, final int availableHeight,
+                     final int computerControlledPaddle, final int gameBoardColor) {
+
+        mGameBoardHorizontalMargin = availableWidth *
+                HORIZONTAL_THUMB_MARGIN_AS_PERCENT_OF_SCREEN_WIDTH;
+
+        mGameBoardWidth = availableWidth - (2 * mGameBoardHorizontalMargin);
+
+        mGameBoardHeight = availableHeight;
+        mBackgroundColor = gameBoardColor;
+
+        float gameBoardCenterX = mGameBoardHorizontalMargin + (mGameBoardWidth / 2f);
+
+        mLeftPlayerScore = new PongScore(SCORE_COLOR,
+                gameBoardCenterX -
+                        (SCORE_MARGIN_FROM_CENTER_AS_PERCENT_OF_GAME_BOARD_WIDTH * mGameBoardWidth),
+                SCORE_TOP_MARGIN_AS_PERCENT_OF_GAME_BOARD_HEIGHT * mGameBoardHeight,
+                SCORE_TEXT_SIZE_AS_PERCENT_OF_GAME_BOARD_HEIGHT * mGameBoardHeight,
+                true);
+
+        mRightPlayerScore = new PongScore(SCORE_COLOR,
+                gameBoardCenterX +
+                        (SCORE_MARGIN_FROM_CENTER_AS_PERCENT_OF_GAME_BOARD_WIDTH * mGameBoardWidth),
+                SCORE_TOP_MARGIN_AS_PERCENT_OF_GAME_BOARD_HEIGHT * mGameBoardHeight,
+                SCORE_TEXT_SIZE_AS_PERCENT_OF_GAME_BOARD_HEIGHT * mGameBoardHeight,
+                false);
+
+        mComputerControlledPaddle = computerControlledPaddle;
+        createGameObjects();
+        resetGameObjects();
+    }
+
+    /**
+     * Instantiate a new Scene with the specified characteristics.
+     *
+     * @param availableWidth is the width in pixels available for the game board.
+     * @param availableHeight is the height in pixels available for the game board.
+     * @param computerControlledPaddle must be GameObjects.Scene.LEFT_PADDLE,
+     *                                 GameObjects.Scene.RIGHT_PADDLE, or
+     *                                 GameObjects.Scene.NEITHER_PADDLE.
+     */
+    public PongScene(final int availableWidth, final int availableHeight,
+                     final int computerControlledPaddle) {
+        this(availableWidth, availableHeight, computerControlledPaddle, DEFAULT_BACKGROUND_COLOR);
+    }
+
+
+    // ============================ GameObjects.Persistable methods ==============================
+
+    /**
+     * Recreate a Scene from the state written by writeState().
+     *
+     * @param in is the source of the Scene's state.
+     */
+    public PongScene(GameObjects.StateReader in) {
+        mGameBoardWidth = in.readFloat();
+        mGameBoardHeight = in.readFloat();
+        mGameBoardHorizontalMargin = in.readFloat();
+        mBackgroundColor = in.readInt();
+        mComputerControlledPaddle = in.readInt();
+        mLeftPlayerScore = new PongScore(in);
+        mRightPlayerScore = new PongScore(in);
+        mLeftEndLine = new PongLine(in);
+        mRightEndLine = new PongLine(in);
+        mCenterLine = new PongLine(in);
+        mLeftPaddle = new PongPaddle(in);
+        mRightPaddle = new PongPaddle(in);
+        mBalls = new PongBallStore(in);
+
+        mConsecutivePaddleHits = in.readInt();
+        mNeedToAddBonusBalls = in.readBoolean();
+        mCountDownInProgress = in.readBoolean();
+        mMillisUntilLeftEndLineReverts = in.readFloat();
+        mMillisUntilRightEndLineReverts = in.readFloat();
+        mPhysicsMode = in.readInt();
+        mBallCollisionsEnabled = in.readBoolean();
+
+        initializeRenderLists();
+    }
+
+    @Override
+    public void writeState(GameObjects.StateWriter out) {
+        moveAllBallsToSimulationTime();
+
+        out.writeFloat(mGameBoardWidth);
+        out.writeFloat(mGameBoardHeight);
+        out.writeFloat(mGameBoardHorizontalMargin);
+        out.writeInt(mBackgroundColor);
+        out.writeInt(mComputerControlledPaddle);
+        mLeftPlayerScore.writeState(out);
+        mRightPlayerScore.writeState(out);
+        mLeftEndLine.writeState(out);
+        mRightEndLine.writeState(out);
+        mCenterLine.writeState(out);
+        mLeftPaddle.writeState(out);
+        mRightPaddle.writeState(out);
+        mBalls.writeState(out);
+
+        out.writeInt(mConsecutivePaddleHits);
+        out.writeBoolean(mNeedToAddBonusBalls);
+        out.writeBoolean(mCountDownInProgress);
+        out.writeFloat(mMillisUntilLeftEndLineReverts);
+        out.writeFloat(mMillisUntilRightEndLineReverts);
+        out.writeInt(mPhysicsMode);
+        out.writeBoolean(mBallCollisionsEnabled);
+    }
+
+
+    // ============================= GameObjects.PongScene methods ===============================
+
+    @Override
+    public void movePaddle(final int paddle, final float deltaY, final float millisSinceLastUpdate) {
+        if (!mCountDownInProgress) {
+            if (paddle == LEFT_PADDLE) {
+                mLeftPaddle.move(deltaY, mGameBoardHeight, millisSinceLastUpdate);
+            } else if (paddle == RIGHT_PADDLE) {
+                mRightPaddle.move(deltaY, mGameBoardHeight, millisSinceLastUpdate);
+            }
+        }
+    }
+
+    @Override
+    public boolean updateGameObjects(final float millisSinceLastUpdate) {
+
+        // Remember where everything was before this step, for render interpolation. In
+        // event-driven mode, each ball saves its own when it's first moved during the step.
+        mLeftPaddle.savePreviousPosition();
+        mRightPaddle.savePreviousPosition();
+        if (mPhysicsMode != PHYSICS_EVENT_DRIVEN) {
+            mBalls.savePreviousPositions();
+        }
+
+        // If enough time has elapsed, reset colors for end lines
+        updateTimedEffects(millisSinceLastUpdate);
+
+        // Move the balls and handle their collisions
+        boolean pointScored;
+        if (mPhysicsMode == PHYSICS_EVENT_DRIVEN) {
+            pointScored = moveBallsThroughEvents(millisSinceLastUpdate);
+        }
+        else {
+            pointScored = moveBallsInSubsteps(millisSinceLastUpdate);
+        }
+
+        // Bounce bonus balls off each other
+        if (!pointScored && mBallCollisionsEnabled) {
+            resolveBallCollisions();
+        }
+
+        // If a point was not yet scored, bonus balls were not yet added, and the # of consecutive
+        // hits exceeds threshold, then add bonus balls!
+        if (!pointScored && mNeedToAddBonusBalls) {
+
+            // If 2x the threshold is reached, release 2x the bonus balls, etc.
+            for (int i = 0; i < mConsecutivePaddleHits / BONUS_BALLS_CONSECUTIVE_HITS_THRESHOLD; i++) {
+                addBonusBalls();
+            }
+        }
+
+        // Move computer controlled paddle
+        switch (mComputerControlledPaddle) {
+
+            case LEFT_PADDLE:
+                moveComputerControlledPaddle(mLeftPaddle, LEFT_PADDLE, millisSinceLastUpdate);
+                break;
+
+            case RIGHT_PADDLE:
+                moveComputerControlledPaddle(mRightPaddle, RIGHT_PADDLE, millisSinceLastUpdate);
+                break;
+
+            case BOTH_PADDLES:
+                moveComputerControlledPaddle(mLeftPaddle, LEFT_PADDLE, millisSinceLastUpdate);
+                moveComputerControlledPaddle(mRightPaddle, RIGHT_PADDLE, millisSinceLastUpdate);
+                break;
+        }
+
+        return pointScored;
+    }
+
+    @Override
+    public boolean updateTimedEffects(final float millisSinceLastUpdate) {
+
+        boolean changed = false;
+
+        if (mMillisUntilLeftEndLineReverts > 0f) {
+            mMillisUntilLeftEndLineReverts -= millisSinceLastUpdate;
+            if (mMillisUntilLeftEndLineReverts <= 0f) {
+                mLeftEndLine.setColor(END_LINE_COLOR);
+                changed = true;
+            }
+        }
+
+        if (mMillisUntilRightEndLineReverts > 0f) {
+            mMillisUntilRightEndLineReverts -= millisSinceLastUpdate;
+            if (mMillisUntilRightEndLineReverts <= 0f) {
+                mRightEndLine.setColor(END_LINE_COLOR);
+                changed = true;
+            }
+        }
+
+        return changed;
+    }
+
+    @Override
+    public int getBackgroundColor() {
+        return mBackgroundColor;
+    }
+
+    @Override
+    public void writeRenderFrame(final RenderFrame frame) {
+        frame.clear(mBackgroundColor);
+
+        frame.addScore(mLeftPlayerScore);
+        frame.addScore(mRightPlayerScore);
+
+        frame.addVerticalLine(mLeftEndLine);
+        frame.addVerticalLine(mRightEndLine);
+        frame.addVerticalLine(mCenterLine);
+
+        // Straight from the store's arrays, with no per-ball calls
+        moveAllBallsToSimulationTime();
+        mBalls.writeCircles(frame);
+
+        frame.addRect(mLeftPaddle);
+        frame.addRect(mRightPaddle);
+    }
+
+    @Override
+    public List<GameEngine.ScoreToRender> getScoresToRender() {
+        return mScoresToRender;
+    }
+
+    @Override
+    public List<GameEngine.CircleToRender> getCirclesToRender() {
+
+        // Clear list of circles to render, in case it contains any expired bonus balls.
+        mCirclesToRender.clear();
+        moveAllBallsToSimulationTime();
+
+        // Add normal ball and bonus balls (if any exist).
+        for (int i = 0; i < mBalls.size(); i++) {
+            mCirclesToRender.add(mBalls.getCircleToRender(i));
+        }
+
+        return mCirclesToRender;
+    }
+
+    @Override
+    public List<GameEngine.RectangleToRender> getRectanglesToRender() {
+        return mRectanglesToRender;
+    }
+
+    @Override
+    public List<GameEngine.VerticalLineToRender> getVerticalLinesToRender() {
+        return mVerticalLinesToRender;
+    }
+
+    @Override
+    public void resetAfterPointScored() {
+        resetGameObjects();
+    }
+
+    @Override
+    public void resetForNewGame() {
+        mLeftPlayerScore.setScore(0);
+        mRightPlayerScore.setScore(0);
+        mCountDownInProgress = false;
+        resetGameObjects();
+    }
+
+    @Override
+    public void setCountdownInProgress(boolean countdownInProgress) {
+        mCountDownInProgress = countdownInProgress;
+    }
+
+    @Override
+    public void setPhysicsMode(final int physicsMode) {
+        if (physicsMode != PHYSICS_FIXED_STEP && physicsMode != PHYSICS_EVENT_DRIVEN) {
+            throw new IllegalArgumentException("physicsMode must be either " +
+                    "GameObjects.Scene.PHYSICS_FIXED_STEP or ...PHYSICS_EVENT_DRIVEN");
+        }
+        moveAllBallsToSimulationTime();
+        mPhysicsMode = physicsMode;
+        mBallEventsNeedScheduling = true;
+    }
+
+    @Override
+    public void setBallCollisionsEnabled(final boolean enabled) {
+        mBallCollisionsEnabled = enabled;
+    }
+
+    @Override
+    public void setParallelUpdateThreshold(final int ballCountThreshold) {
+        if (ballCountThreshold < 0 && ballCountThreshold != PARALLEL_UPDATE_DISABLED) {
+            throw new IllegalArgumentException("ballCountThreshold must be at least 0, or " +
+                    "GameObjects.Scene.PARALLEL_UPDATE_DISABLED");
+        }
+        mParallelUpdateThreshold = ballCountThreshold;
+    }
+
+
+    // ============================== Simulation setup methods ==================================
+
+    /**
+     * Add the specified number of bonus balls at the center of the board, cycling through the
+     * bonus ball colors. Lets headless simulations and benchmarks set up a crowded board without
+     * playing long volleys first.
+     *
+     * @param numberOfBalls is the number of bonus balls to add.
+     */
+    public void addBonusBalls(final int numberOfBalls) {
+        for (int i = 0; i < numberOfBalls; i++) {
+            addBallAtCenter(BONUS_BALL_RADIUS_AS_PERCENT_OF_GAME_BOARD_WIDTH * mGameBoardWidth,
+                    BONUS_BALL_SPEED_AS_PERCENT_OF_GAME_BOARD_WIDTH_PER_SECOND *
+                            mGameBoardWidth / 1000f,
+                    BONUS_BALL_COLORS[i % BONUS_BALL_COLORS.length]);
+        }
+    }
+
+    /**
+     * @return the number of balls on the board, including the normal ball.
+     */
+    public int getBallCount() {
+        return mBalls.size();
+    }
+
+
+    // ================================ Helper methods ===========================================
+
+    /**
+     * Create the lines, the paddles, and an empty ball store, then prepare the lists of scores,
+     * lines, circles, and rectangles to return to the renderer. Only called once per Scene; every
+     * later point reuses these objects through resetGameObjects().
+     */
+    private void createGameObjects() {
+
+        // Add left, right, and center line.
+        mLeftEndLine = new PongLine(mGameBoardHorizontalMargin, 0, mGameBoardHeight,
+                END_LINE_COLOR, false);
+
+        mRightEndLine = new PongLine(mGameBoardHorizontalMargin + mGameBoardWidth, 0,
+                mGameBoardHeight, END_LINE_COLOR, false);
+
+        mCenterLine = new PongLine(mGameBoardHorizontalMargin + (mGameBoardWidth / 2f), 0,
+                mGameBoardHeight, CENTER_LINE_COLOR, true);
+
+        // Add left & right paddles.
+        switch (mComputerControlledPaddle) {
+            case LEFT_PADDLE:
+                mLeftPaddle = getNewPaddle(true, LEFT_PADDLE);
+                mRightPaddle = getNewPaddle(false, RIGHT_PADDLE);
+                break;
+
+            case RIGHT_PADDLE:
+                mLeftPaddle = getNewPaddle(false, LEFT_PADDLE);
+                mRightPaddle = getNewPaddle(true, RIGHT_PADDLE);
+                break;
+
+            case NEITHER_PADDLE:
+                mLeftPaddle = getNewPaddle(false, LEFT_PADDLE);
+                mRightPaddle = getNewPaddle(false, RIGHT_PADDLE);
+                break;
+
+            case BOTH_PADDLES:
+                mLeftPaddle = getNewPaddle(true, LEFT_PADDLE);
+                mRightPaddle = getNewPaddle(true, RIGHT_PADDLE);
+                break;
+
+            default:
+                throw new IllegalArgumentException("Computer controlled paddle must be either " +
+                        "GameObjects.Scene.LEFT_PADDLE, ...RIGHT_PADDLE, or ...NEITHER_PADDLE.");
+        }
+
+        mBalls = new PongBallStore();
+
+        initializeRenderLists();
+    }
+
+    /**
+     * Put the lines and paddles back the way they start, empty the ball store (removing any
+     * bonus balls) and add the normal ball. Everything is reset in place, and the ball store
+     * keeps its capacity, so nothing is allocated.
+     */
+    private void resetGameObjects() {
+
+        mConsecutivePaddleHits = 0;
+        mMillisUntilLeftEndLineReverts = 0f;
+        mMillisUntilRightEndLineReverts = 0f;
+
+        mLeftEndLine.setColor(END_LINE_COLOR);
+        mRightEndLine.setColor(END_LINE_COLOR);
+        mLeftPaddle.resetPosition(mGameBoardHeight);
+        mRightPaddle.resetPosition(mGameBoardHeight);
+
+        mBalls.clear();
+        mNeedToAddBonusBalls = false;
+        mBallEventsNeedScheduling = true;
+
+        addBallAtCenter(NORMAL_BALL_RADIUS_AS_PERCENT_OF_GAME_BOARD_WIDTH * mGameBoardWidth,
+                NORMAL_BALL_SPEED_AS_PERCENT_OF_GAME_BOARD_WIDTH_PER_SECOND *
+                        mGameBoardWidth / 1000f,
+                NORMAL_BALL_COLOR);
+    }
+
+    /**
+     * Prepare the lists of scores, lines, circles, and rectangles to return to the renderer.
+     */
+    private void initializeRenderLists() {
+
+        // Instantiate and initialize a list of scores to return to the renderer.
+        mScoresToRender = new ArrayList<>(2);
+        mScoresToRender.add(mLeftPlayerScore);
+        mScoresToRender.add(mRightPlayerScore);
+
+        // Instantiate and initialize a list of vertical lines to return to the renderer.
+        mVerticalLinesToRender = new ArrayList<>(3);
+        mVerticalLinesToRender.add(mLeftEndLine);
+        mVerticalLinesToRender.add(mRightEndLine);
+        mVerticalLinesToRender.add(mCenterLine);
+
+        // Instantiate an empty list to hold balls as circles to return to the renderer.
+        mCirclesToRender = new ArrayList<>();
+
+        // Instantiate and initialize a list of paddles as rectangles to return to the renderer.
+        mRectanglesToRender = new ArrayList<>(2);
+        mRectanglesToRender.add(mLeftPaddle);
+        mRectanglesToRender.add(mRightPaddle);
+    }
+
+    private GameObjects.Paddle getNewPaddle(boolean isComputerControlled, int paddlePosition) {
+        return new PongPaddle(isComputerControlled, paddlePosition,
+                PADDLE_WIDTH_AS_PERCENT_OF_GAME_BOARD_WIDTH * mGameBoardWidth,
+                PADDLE_HEIGHT_AS_PERCENT_OF_GAME_BOARD_HEIGHT * mGameBoardHeight,
+                mGameBoardWidth, mGameBoardHeight, mGameBoardHorizontalMargin, PADDLE_COLOR);
+    }
+
+    /**
+     * Point the specified ball away from the specified paddle, at an angle depending on where on
+     * the paddle it hit.
+     *
+     * @param index is the index of the ball.
+     * @param paddlePosition is either GameObjects.Scene.LEFT_PADDLE or
+     *                       GameObjects.Scene.RIGHT_PADDLE.
+     * @param collisionLocation ranges from -1.0, bottom of paddle, to 1.0, top of paddle, with
+     *                          0.0 being the exact center of the paddle.
+     */
+    private void deflectBallOffPaddle(final int index, final int paddlePosition,
+                                      final float collisionLocation) {
+
+        int deflectionIndex = BallDirection.getDeflectionIndex(collisionLocation);
+
+        if (paddlePosition == GameObjects.Scene.LEFT_PADDLE) {
+            mBalls.setHeading(index, BallDirection.getDeflectionUnitX(deflectionIndex),
+                    BallDirection.getDeflectionUnitY(deflectionIndex));
+        }
+        else if (paddlePosition == GameObjects.Scene.RIGHT_PADDLE) {
+            mBalls.setHeading(index, -BallDirection.getDeflectionUnitX(deflectionIndex),
+                    BallDirection.getDeflectionUnitY(deflectionIndex));
+        }
+        else {
+            throw new IllegalStateException("Paddle's position is neither " +
+                    "GameObjects.Scene.LEFT_PADDLE nor GameObjects.Scene.RIGHT_PADDLE");
+        }
+    }
+
+    /**
+     * Check whether the specified ball hit either paddle during its latest movement. If so, move
+     * it back to the point of impact, update the ball's velocity, and move it the rest of the way
+     * with its new velocity.
+     *
+     * @param index is the index of the ball whose movement will be checked against the paddle
+     *              positions.
+     * @param millisSinceLastMove is the duration of the ball's latest movement.
+     * @return true if ball hit a paddle, else false.
+     */
+    private boolean checkForPaddleCollisionsAndUpdateBall(int index, float millisSinceLastMove) {
+
+        float startX = mBalls.getMoveStartX(index);
+        float startY = mBalls.getMoveStartY(index);
+        float endX = mBalls.getCenterX(index);
+        float endY = mBalls.getCenterY(index);
+        float radius = mBalls.getRadius(index);
+
+        // A ball can only be heading toward one of the paddles, so at most one of these can hit
+        int paddlePosition = LEFT_PADDLE;
+        float timeOfImpact = mLeftPaddle.getTimeOfImpact(startX, startY, endX, endY, radius);
+        if (timeOfImpact == NO_PADDLE_HIT) {
+            paddlePosition = RIGHT_PADDLE;
+            timeOfImpact = mRightPaddle.getTimeOfImpact(startX, startY, endX, endY, radius);
+        }
+        if (timeOfImpact == NO_PADDLE_HIT) {
+            return false;
+        }
+
+        if (index == NORMAL_BALL_INDEX) {
+            incrementConsecutiveHitsCounter();
+        }
+
+        // Deflect the ball from where it touched the paddle
+        float impactX = startX + (endX - startX) * timeOfImpact;
+        float impactY = startY + (endY - startY) * timeOfImpact;
+        GameObjects.Paddle paddle = (paddlePosition == LEFT_PADDLE) ? mLeftPaddle : mRightPaddle;
+        deflectBallOffPaddle(index, paddlePosition,
+                paddle.getRelativeCollisionLocation(impactY));
+        mBalls.changeSpeed(index, BALL_SPEED_INCREASE_ON_PADDLE_HIT_AS_PERCENT_OF_CURRENT_SPEED);
+
+        // Then spend the rest of the movement's time moving away from it
+        float millisAfterImpact = (1f - timeOfImpact) * millisSinceLastMove;
+        mBalls.setCenter(index, impactX + mBalls.getVelocityX(index) * millisAfterImpact,
+                impactY + mBalls.getVelocityY(index) * millisAfterImpact);
+        return true;
+    }
+
+    private void incrementConsecutiveHitsCounter() {
+        mConsecutivePaddleHits += 1;
+        if (mConsecutivePaddleHits > 0
+                && mConsecutivePaddleHits % BONUS_BALLS_CONSECUTIVE_HITS_THRESHOLD == 0) {
+            mNeedToAddBonusBalls = true;
+        }
+    }
+
+    /**
+     * Take the following steps for a ball that has just been moved (the store's moveAll()
+     * handles collisions with top/bottom walls):
+     *   1) Check if it hit a paddle and if so, change it's direction accordingly.
+     *   2) If no paddle hit, check if a point was scored; return true if yes. A bonus ball that
+     *      scores is removed from the store, by moving the last ball into its slot.
+     * @param index is the index of the ball to check.
+     * @param millisSinceLastMove is the duration of the ball's latest movement.
+     * @return true if a point was scored by the normal ball, else false.
+     */
+    private boolean checkBallResult(int index, float millisSinceLastMove) {
+
+        // Check if it hit a paddle, and update its direction if yes
+        if (!checkForPaddleCollisionsAndUpdateBall(index, millisSinceLastMove)) {
+
+            // If the ball hasn't hit either paddle, check if it hit the left or right wall
+            int hit = mBalls.checkIfPointScored(index, mGameBoardWidth,
+                    mGameBoardHorizontalMargin);
+
+            // If a side wall was hit, return true so the game engine knows to pause the loop
+            return hit != GameObjects.Scene.NO_WALL_HIT && scorePoint(index, hit);
+        }
+        else {
+            return false;
+        }
+    }
+
+    /**
+     * Award the points for a ball that has reached the left or right wall, and flash the wall.
+     * A bonus ball is removed from the store, by moving the last ball into its slot.
+     *
+     * @param index is the index of the ball.
+     * @param hit is either GameObjects.Scene.LEFT_WALL_HIT or GameObjects.Scene.RIGHT_WALL_HIT.
+     * @return true if the ball was the normal ball, so the game engine needs to pause the loop.
+     */
+    private boolean scorePoint(final int index, final int hit) {
+
+        boolean isNormalBall = (index == NORMAL_BALL_INDEX);
+        mBalls.setColor(index, BALL_COLOR_ON_POINT_SCORED);
+
+        if (hit == GameObjects.Scene.LEFT_WALL_HIT) {
+            mLeftEndLine.setColor(END_LINE_COLOR_ON_POINT_SCORED);
+            mMillisUntilLeftEndLineReverts = MS_BEFORE_LINE_COLOR_REVERTS_AFTER_SCORE;
+            mRightPlayerScore.increaseScore(isNormalBall ? NORMAL_BALL_POINTS : BONUS_BALL_POINTS);
+        }
+        else {
+            mRightEndLine.setColor(END_LINE_COLOR_ON_POINT_SCORED);
+            mMillisUntilRightEndLineReverts = MS_BEFORE_LINE_COLOR_REVERTS_AFTER_SCORE;
+            mLeftPlayerScore.increaseScore(isNormalBall ? NORMAL_BALL_POINTS : BONUS_BALL_POINTS);
+        }
+
+        if (isNormalBall) {
+            mConsecutivePaddleHits = 0;
+        }
+        else {
+            removeBall(index);
+        }
+        return isNormalBall;
+    }
+
+    /**
+     * Remove a bonus ball from the store, and keep the event queue's ball indices in step.
+     *
+     * @param index is the index of the ball.
+     */
+    private void removeBall(final int index) {
+        int lastIndex = mBalls.size() - 1;
+        mBalls.remove(index);
+        mBallEvents.onBallRemoved(index, lastIndex);
+        mBallsPastLeftPaddleFace.onBallRemoved(index, lastIndex);
+        mBallsPastRightPaddleFace.onBallRemoved(index, lastIndex);
+    }
+
+    /**
+     * Move every ball through the specified time in fixed substeps, checking each ball for
+     * paddle hits and points after every substep.
+     *
+     * @param millisSinceLastUpdate is the length of the whole step.
+     * @return true if the normal ball scored a point, else false.
+     */
+    private boolean moveBallsInSubsteps(final float millisSinceLastUpdate) {
+
+        // Move the balls in as many substeps as it takes to keep each movement short
+        int substeps = getSubstepCount(millisSinceLastUpdate);
+        float millisPerSubstep = millisSinceLastUpdate / substeps;
+        boolean pointScored = false;
+
+        for (int substep = 0; substep < substeps && !pointScored; substep++) {
+
+            if (shouldMoveBallsInParallel()) {
+                pointScored = moveBallsInParallel(millisPerSubstep);
+                continue;
+            }
+
+            // Move every ball. The store handles bounces off the top and bottom walls.
+            mBalls.moveAll(millisPerSubstep, mGameBoardHeight);
+
+            // Check normal ball (update direction if paddle hit, otherwise check if side wall hit)
+            pointScored = checkBallResult(NORMAL_BALL_INDEX, millisPerSubstep);
+
+            // Do the same for each bonus ball. Go from last to first, since a bonus ball that
+            // scores is removed by moving the last ball into its slot.
+            for (int i = mBalls.size() - 1; i > NORMAL_BALL_INDEX && !pointScored; i--) {
+                checkBallResult(i, millisPerSubstep);
+            }
+        }
+
+        return pointScored;
+    }
+
+    private boolean shouldMoveBallsInParallel() {
+        return mParallelUpdateThreshold != PARALLEL_UPDATE_DISABLED
+                && mBalls.size() > mParallelUpdateThreshold;
+    }
+
+    /**
+     * Do one substep of moveBallsInSubsteps() with the moving and the collision tests spread
+     * across threads. Only the balls that reached a paddle or an end line come back to this
+     * thread, and they go through checkBallResult() in the same order as in the sequential
+     * substep, so paddle deflections draw the same random numbers and scoring balls are removed
+     * in the same order. Every other ball would have come out of checkBallResult() unchanged.
+     *
+     * @param millisPerSubstep is the length of the substep.
+     * @return true if the normal ball scored a point, else false.
+     */
+    private boolean moveBallsInParallel(final float millisPerSubstep) {
+        if (mParallelBallMover == null) {
+            mParallelBallMover = new ParallelBallMover();
+        }
+
+        mParallelBallMover.moveAndFindBallsToCheck(mBalls, mLeftPaddle, mRightPaddle,
+                millisPerSubstep, mGameBoardWidth, mGameBoardHeight, mGameBoardHorizontalMargin);
+
+        boolean pointScored = checkBallResult(NORMAL_BALL_INDEX, millisPerSubstep);
+
+        // The listed indices are ascending, so going backward matches the sequential order
+        for (int i = mParallelBallMover.getBallToCheckCount() - 1; i >= 0 && !pointScored; i--) {
+            int index = mParallelBallMover.getBallToCheck(i);
+            if (index > NORMAL_BALL_INDEX) {
+                checkBallResult(index, millisPerSubstep);
+            }
+        }
+
+        return pointScored;
+    }
+
+    /**
+     * Advance the simulation through the specified time, handling only the balls that have an
+     * event (a wall, a paddle, or an end line) due within it, in the order the events happen.
+     * Each handled ball gets its next event predicted from its new position and velocity. Every
+     * other ball stays where it was last moved to, since it's on a straight line until its next
+     * event, and is only brought forward when it's needed, e.g. to be drawn.
+     *
+     * @param millisSinceLastUpdate is the length of the whole step.
+     * @return true if the normal ball scored a point, else false.
+     */
+    private boolean moveBallsThroughEvents(final float millisSinceLastUpdate) {
+
+        if (mBallEventsNeedScheduling) {
+            scheduleAllBallEvents();
+        }
+        mStepStartTimeInMillis = mSimulationTimeInMillis;
+        rescheduleBallsPastMovedPaddles();
+
+        double stepEndTime = mSimulationTimeInMillis + millisSinceLastUpdate;
+        boolean pointScored = false;
+
+        while (!pointScored && !mBallEvents.isEmpty()) {
+            int index = mBallEvents.peekBall();
+            double eventTime = mBallEvents.getEventTime(index);
+            if (eventTime > stepEndTime) {
+                break;
+            }
+
+            mSimulationTimeInMillis = eventTime;
+            moveBallToTime(index, eventTime);
+            pointScored = handleBallEvent(index, mBallEvents.getEventType(index), eventTime);
+        }
+
+        // After a point, stop the clock where the point was scored. The scene is reset before
+        // play goes on, and if it isn't, every event is predicted again from there.
+        if (pointScored) {
+            moveAllBallsToSimulationTime();
+            mBallEventsNeedScheduling = true;
+            return true;
+        }
+
+        mSimulationTimeInMillis = stepEndTime;
+        return false;
+    }
+
+    /**
+     * Respond to a ball's event, then predict its next one.
+     *
+     * @param index is the index of the ball, which has already been moved to the event's time.
+     * @param eventType is one of the BallEventQueue.EVENT_* constants.
+     * @param eventTime is the simulation time of the event.
+     * @return true if the normal ball scored a point, else false.
+     */
+    private boolean handleBallEvent(final int index, final int eventType,
+                                    final double eventTime) {
+
+        float radius = mBalls.getRadius(index);
+        boolean headingLeft = mBalls.getVelocityX(index) < 0f;
+
+        switch (eventType) {
+
+            case BallEventQueue.EVENT_TOP_WALL:
+                mBalls.setCenter(index, mBalls.getCenterX(index), radius);
+                mBalls.bounceVertically(index, true);
+                break;
+
+            case BallEventQueue.EVENT_BOTTOM_WALL:
+                mBalls.setCenter(index, mBalls.getCenterX(index), mGameBoardHeight - radius);
+                mBalls.bounceVertically(index, false);
+                break;
+
+            case BallEventQueue.EVENT_PADDLE: {
+                // The paddle may have moved since the event was predicted, so make sure the ball
+                // is really touching it. If not, the next prediction accounts for where it is now.
+                float delayUntilHit = getDelayUntilPaddleHit(index, getDelayUntilWallHit(index));
+
+                if (delayUntilHit != NO_PADDLE_HIT &&
+                        delayUntilHit <= PADDLE_CONTACT_WINDOW_IN_MS) {
+                    if (index == NORMAL_BALL_INDEX) {
+                        incrementConsecutiveHitsCounter();
+                    }
+                    GameObjects.Paddle paddle = headingLeft ? mLeftPaddle : mRightPaddle;
+                    deflectBallOffPaddle(index, headingLeft ? LEFT_PADDLE : RIGHT_PADDLE,
+                            paddle.getRelativeCollisionLocation(mBalls.getCenterY(index)));
+                    mBalls.changeSpeed(index,
+                            BALL_SPEED_INCREASE_ON_PADDLE_HIT_AS_PERCENT_OF_CURRENT_SPEED);
+                }
+                break;
+            }
+
+            case BallEventQueue.EVENT_END_LINE:
+                // The paddle can't have moved since this was predicted, since any move
+                // re-predicts the balls past its face. A scoring bonus ball is removed, so
+                // there's nothing left to schedule.
+                return scorePoint(index, headingLeft ? LEFT_WALL_HIT : RIGHT_WALL_HIT);
+        }
+
+        scheduleNextBallEvent(index, eventTime);
+        return false;
+    }
+
+    /**
+     * Bounce apart any bonus balls that overlap and are moving toward each other. In
+     * event-driven mode, the balls that bounced get new predictions, and no others.
+     */
+    private void resolveBallCollisions() {
+        if (mBallCollisionGrid == null) {
+            mBallCollisionGrid = new BallCollisionGrid(mGameBoardHorizontalMargin, 0f,
+                    mGameBoardWidth, mGameBoardHeight,
+                    BALL_GRID_CELL_SIZE_AS_PERCENT_OF_GAME_BOARD_WIDTH * mGameBoardWidth);
+        }
+
+        // Every ball's position is needed to find the ones that overlap
+        moveAllBallsToSimulationTime();
+        mBallCollisionGrid.resolveCollisions(mBalls, NORMAL_BALL_INDEX + 1,
+                MAX_BALL_PAIR_CHECKS_PER_STEP);
+
+        if (mPhysicsMode == PHYSICS_EVENT_DRIVEN && !mBallEventsNeedScheduling) {
+            for (int i = 0; i < mBallCollisionGrid.getChangedBallCount(); i++) {
+                scheduleNextBallEvent(mBallCollisionGrid.getChangedBall(i),
+                        mSimulationTimeInMillis);
+            }
+        }
+    }
+
+    /**
+     * Predict every ball's next event from scratch, starting the simulation clock over.
+     */
+    private void scheduleAllBallEvents() {
+        mBallEvents.clear();
+        mBallsPastLeftPaddleFace.clear();
+        mBallsPastRightPaddleFace.clear();
+        mSimulationTimeInMillis = 0d;
+        mBalls.savePreviousPositions();
+
+        for (int i = 0; i < mBalls.size(); i++) {
+            mBallEvents.setPositionTime(i, mSimulationTimeInMillis);
+            mBallEvents.setPreviousPositionTime(i, mSimulationTimeInMillis);
+            scheduleNextBallEvent(i, mSimulationTimeInMillis);
+        }
+        mBallEventsNeedScheduling = false;
+        mLeftPaddlePredictedTopY = mLeftPaddle.getTopY();
+        mRightPaddlePredictedTopY = mRightPaddle.getTopY();
+    }
+
+    /**
+     * Predict again the next event of every ball that is past the face of a paddle that has
+     * moved since the last step. Paddles only move between steps, so each step's predictions
+     * for those balls are made against where the paddle is during the step, and a paddle that
+     * moves into a ball's path can't be tunneled through. The balls past each face are kept in
+     * a set, so this costs nothing for the balls still on their way to a paddle.
+     */
+    private void rescheduleBallsPastMovedPaddles() {
+        if (mLeftPaddle.getTopY() != mLeftPaddlePredictedTopY) {
+            rescheduleBalls(mBallsPastLeftPaddleFace);
+            mLeftPaddlePredictedTopY = mLeftPaddle.getTopY();
+        }
+        if (mRightPaddle.getTopY() != mRightPaddlePredictedTopY) {
+            rescheduleBalls(mBallsPastRightPaddleFace);
+            mRightPaddlePredictedTopY = mRightPaddle.getTopY();
+        }
+    }
+
+    /**
+     * Bring each ball in the set up to the current simulation time and predict its next event.
+     *
+     * @param balls is a set of balls that scheduleNextBallEvent() may remove balls from.
+     */
+    private void rescheduleBalls(final BallIndexSet balls) {
+        for (int i = balls.size() - 1; i >= 0; i--) {
+            int index = balls.get(i);
+            moveBallToTime(index, mSimulationTimeInMillis);
+            scheduleNextBallEvent(index, mSimulationTimeInMillis);
+        }
+    }
+
+    /**
+     * Predict when the specified ball will next hit the top or bottom wall, reach the face of
+     * the paddle it's heading toward, or (if it's already past that face) hit the paddle or
+     * reach the end line, whichever comes first. Until then it moves in a straight line.
+     *
+     * Reaching a paddle's face doesn't depend on where the paddle is, so moving a paddle only
+     * affects the balls that are already past its face, and those are predicted again at the
+     * start of the next step.
+     *
+     * @param index is the index of the ball, whose position must be current as of now.
+     * @param now is the current simulation time.
+     */
+    private void scheduleNextBallEvent(final int index, final double now) {
+
+        float centerX = mBalls.getCenterX(index);
+        float velocityX = mBalls.getVelocityX(index);
+        float radius = mBalls.getRadius(index);
+
+        // Top and bottom walls
+        float delay = getDelayUntilWallHit(index);
+        int eventType = BallEventQueue.NO_EVENT;
+        if (delay != Float.POSITIVE_INFINITY) {
+            eventType = mBalls.getVelocityY(index) < 0f ?
+                    BallEventQueue.EVENT_TOP_WALL : BallEventQueue.EVENT_BOTTOM_WALL;
+        }
+
+        // Paddles and end lines
+        if (velocityX != 0f) {
+            boolean headingLeft = velocityX < 0f;
+            GameObjects.Paddle paddle = headingLeft ? mLeftPaddle : mRightPaddle;
+
+            // Where the ball's center is when its edge touches the paddle's face or end line
+            float faceX = headingLeft ? paddle.getRightX() + radius : paddle.getLeftX() - radius;
+            float endLineX = headingLeft ? mGameBoardHorizontalMargin + radius :
+                    mGameBoardHorizontalMargin + mGameBoardWidth - radius;
+
+            // Keep track of which balls are past the face, for rescheduleBallsPastMovedPaddles()
+            BallIndexSet ballsPastFace = headingLeft ? mBallsPastLeftPaddleFace :
+                    mBallsPastRightPaddleFace;
+            BallIndexSet ballsPastOtherFace = headingLeft ? mBallsPastRightPaddleFace :
+                    mBallsPastLeftPaddleFace;
+            ballsPastOtherFace.remove(index);
+
+            if (getDistanceToPaddleFace(index) > PADDLE_FACE_TOLERANCE_IN_PX) {
+                ballsPastFace.remove(index);
+                float delayToFace = (faceX - centerX) / velocityX;
+                if (delayToFace < delay) {
+                    delay = delayToFace;
+                    eventType = BallEventQueue.EVENT_PADDLE;
+                }
+            }
+            else {
+                // Already past the face, so it either hits the paddle where it is now, or
+                // reaches the end line, unless it bounces off a wall first
+                ballsPastFace.add(index);
+                float delayToEndLine = Math.max(0f, (endLineX - centerX) / velocityX);
+                float delayToHit = getDelayUntilPaddleHit(index, delay);
+
+                if (delayToHit != NO_PADDLE_HIT) {
+                    delay = delayToHit;
+                    eventType = BallEventQueue.EVENT_PADDLE;
+                }
+                else if (delayToEndLine <= delay) {
+                    delay = delayToEndLine;
+                    eventType = BallEventQueue.EVENT_END_LINE;
+                }
+            }
+        }
+
+        else {
+            mBallsPastLeftPaddleFace.remove(index);
+            mBallsPastRightPaddleFace.remove(index);
+        }
+
+        mBallEvents.schedule(index, now + delay, eventType);
+    }
+
+    /**
+     * @param index is the index of the ball, which must be moving sideways.
+     * @return how far the ball's edge is from the face of the paddle it's heading toward, or
+     * how far past it (negative) if it has already reached it.
+     */
+    private float getDistanceToPaddleFace(final int index) {
+        float centerX = mBalls.getCenterX(index);
+        float radius = mBalls.getRadius(index);
+
+        if (mBalls.getVelocityX(index) < 0f) {
+            return centerX - (mLeftPaddle.getRightX() + radius);
+        }
+        else {
+            return (mRightPaddle.getLeftX() - radius) - centerX;
+        }
+    }
+
+    /**
+     * @param index is the index of the ball.
+     * @return the time in ms until the ball reaches the top or bottom wall, or
+     * Float.POSITIVE_INFINITY if it's moving horizontally.
+     */
+    private float getDelayUntilWallHit(final int index) {
+        float centerY = mBalls.getCenterY(index);
+        float velocityY = mBalls.getVelocityY(index);
+        float radius = mBalls.getRadius(index);
+
+        if (velocityY < 0f) {
+            return Math.max(0f, (radius - centerY) / velocityY);
+        }
+        else if (velocityY > 0f) {
+            return Math.max(0f, (mGameBoardHeight - radius - centerY) / velocityY);
+        }
+        else {
+            return Float.POSITIVE_INFINITY;
+        }
+    }
+
+    /**
+     * Sweep a ball that is already past the face of the paddle it's heading toward against that
+     * paddle, where the paddle is now, up to the end line or the specified time limit.
+     *
+     * The event handler and the prediction must sweep the same path, so they agree on whether
+     * the ball is touching the paddle. A very slow ball moves less than a float can represent in
+     * a short window, which would look like not moving toward the paddle at all.
+     *
+     * @param index is the index of the ball.
+     * @param maxDelay is the longest time to sweep for, e.g. until the next wall bounce.
+     * @return the time in ms until the ball hits the paddle, or NO_PADDLE_HIT if it doesn't.
+     */
+    private float getDelayUntilPaddleHit(final int index, final float maxDelay) {
+        float centerX = mBalls.getCenterX(index);
+        float centerY = mBalls.getCenterY(index);
+        float velocityX = mBalls.getVelocityX(index);
+        float velocityY = mBalls.getVelocityY(index);
+        float radius = mBalls.getRadius(index);
+
+        boolean headingLeft = velocityX < 0f;
+        GameObjects.Paddle paddle = headingLeft ? mLeftPaddle : mRightPaddle;
+        float endLineX = headingLeft ? mGameBoardHorizontalMargin + radius :
+                mGameBoardHorizontalMargin + mGameBoardWidth - radius;
+
+        float sweepMillis = Math.min(maxDelay, Math.max(0f, (endLineX - centerX) / velocityX));
+        float timeOfImpact = paddle.getTimeOfImpact(centerX, centerY,
+                centerX + velocityX * sweepMillis, centerY + velocityY * sweepMillis, radius);
+
+        return timeOfImpact == NO_PADDLE_HIT ? NO_PADDLE_HIT : timeOfImpact * sweepMillis;
+    }
+
+    /**
+     * Move a ball in a straight line from the time its position is current as of to the
+     * specified time. The first time a ball is moved in a step, its position at the start of the
+     * step is saved first, as the previous position that the Renderer interpolates from.
+     *
+     * @param index is the index of the ball.
+     * @param time is the simulation time to move the ball to.
+     */
+    private void moveBallToTime(final int index, final double time) {
+        double positionTime = mBallEvents.getPositionTime(index);
+
+        if (mBallEvents.getPreviousPositionTime(index) < mStepStartTimeInMillis) {
+            mBalls.moveBall(index, (float) (mStepStartTimeInMillis - positionTime));
+            mBalls.savePreviousPosition(index);
+            mBallEvents.setPreviousPositionTime(index, mStepStartTimeInMillis);
+            positionTime = mStepStartTimeInMillis;
+        }
+
+        mBalls.moveBall(index, (float) (time - positionTime));
+        mBallEvents.setPositionTime(index, time);
+    }
+
+    /**
+     * In event-driven mode, bring every ball up to the current simulation time, for whatever
+     * needs all of their positions at once, such as drawing them.
+     */
+    private void moveAllBallsToSimulationTime() {
+        if (mPhysicsMode != PHYSICS_EVENT_DRIVEN || mBallEventsNeedScheduling) {
+            return;
+        }
+        for (int i = 0; i < mBalls.size(); i++) {
+            moveBallToTime(i, mSimulationTimeInMillis);
+        }
+    }
+
+    /**
+     * @param index is the index of the ball.
+     * @return the x coordinate of the ball's center as of the current simulation time, without
+     * moving it there.
+     */
+    private float getCurrentCenterX(final int index) {
+        return mBalls.getCenterX(index) + mBalls.getVelocityX(index) * getMillisBehind(index);
+    }
+
+    /**
+     * @param index is the index of the ball.
+     * @return the y coordinate of the ball's center as of the current simulation time, without
+     * moving it there.
+     */
+    private float getCurrentCenterY(final int index) {
+        return mBalls.getCenterY(index) + mBalls.getVelocityY(index) * getMillisBehind(index);
+    }
+
+    /**
+     * @param index is the index of the ball.
+     * @return how far the ball's position lags behind the current simulation time, in ms.
+     */
+    private float getMillisBehind(final int index) {
+        if (mPhysicsMode != PHYSICS_EVENT_DRIVEN || mBallEventsNeedScheduling) {
+            return 0f;
+        }
+        return (float) (mSimulationTimeInMillis - mBallEvents.getPositionTime(index));
+    }
+
+    /**
+     * Determine how many substeps the balls need to move the specified time without any of them
+     * moving more than MAX_SUBSTEP_DISTANCE_AS_PERCENT_OF_PADDLE_WIDTH of a paddle's width in one
+     * substep, up to MAX_SUBSTEPS.
+     *
+     * @param millisSinceLastUpdate is the length of the whole step.
+     * @return the number of substeps, at least 1.
+     */
+    private int getSubstepCount(final float millisSinceLastUpdate) {
+        float maxSpeed = 0f;
+        for (int i = 0; i < mBalls.size(); i++) {
+            maxSpeed = Math.max(maxSpeed, mBalls.getSpeed(i));
+        }
+
+        float maxDistancePerSubstep = MAX_SUBSTEP_DISTANCE_AS_PERCENT_OF_PADDLE_WIDTH *
+                PADDLE_WIDTH_AS_PERCENT_OF_GAME_BOARD_WIDTH * mGameBoardWidth;
+        int substeps = (int) Math.ceil(maxSpeed * millisSinceLastUpdate / maxDistancePerSubstep);
+        return Math.max(1, Math.min(substeps, MAX_SUBSTEPS));
+    }
+
+    /**
+     * Add a ball at the center of the board, heading in a random direction.
+     */
+    private void addBallAtCenter(final float radiusInPx, final float speedInPxPerMs,
+                                 final int color) {
+        int index = mBalls.add(mGameBoardHorizontalMargin + mGameBoardWidth / 2f,
+                mGameBoardHeight / 2f, radiusInPx, speedInPxPerMs,
+                BallDirection.getRandomInitialDegrees(), color);
+
+        // In event-driven mode, a ball added between steps needs its first event predicted
+        if (mPhysicsMode == PHYSICS_EVENT_DRIVEN && !mBallEventsNeedScheduling) {
+            mBallEvents.setPositionTime(index, mSimulationTimeInMillis);
+            mBallEvents.setPreviousPositionTime(index, mSimulationTimeInMillis);
+            scheduleNextBallEvent(index, mSimulationTimeInMillis);
+        }
+    }
+
+    private void addBonusBalls() {
+        addBonusBalls(BONUS_BALL_COLORS.length);
+        mNeedToAddBonusBalls = false;
+    }
+
+    private void moveComputerControlledPaddle(GameObjects.Paddle paddle, int paddlePosition,
+                                              float millisSinceLastUpdate) {
+
+        float closestBallX = getCurrentCenterX(NORMAL_BALL_INDEX);
+        float closestBallY = getCurrentCenterY(NORMAL_BALL_INDEX);
+        float normalBallVelocityX = mBalls.getVelocityX(NORMAL_BALL_INDEX);
+
+        for (int i = NORMAL_BALL_INDEX + 1; i < mBalls.size(); i++) {
+            float centerX = getCurrentCenterX(i);
+            if (paddlePosition == LEFT_PADDLE && normalBallVelocityX > 0) {
+                if (centerX < closestBallX) {
+                    closestBallX = centerX;
+                    closestBallY = getCurrentCenterY(i);
+                }
+            }
+            else if (paddlePosition == RIGHT_PADDLE && normalBallVelocityX < 0) {
+                if (centerX > closestBallX) {
+                    closestBallX = centerX;
+                    closestBallY = getCurrentCenterY(i);
+                }
+            }
+        }
+        paddle.move(closestBallY - paddle.getCenterY(), mGameBoardHeight,
+                millisSinceLastUpdate);
+    }
+}
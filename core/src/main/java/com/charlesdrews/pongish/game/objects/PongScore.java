@@ -1,6 +1,6 @@
 package com.charlesdrews.pongish.game.objects;
 
-import android.os.Parcel;
+import com.charlesdrews.pongish.game.NumberText;
 
 /**
  * Model a player's score, including the position on the game board where it will be drawn.
@@ -12,6 +12,7 @@ public class PongScore implements GameObjects.Score {
     private int mScore, mColor;
     private float mX, mTopY, mTextSize;
     private boolean mRightAligned;
+    private final NumberText mScoreText = new NumberText();    // only rewritten on a new score
 
     public PongScore(int color, float x, float topY, float textSize, boolean rightAligned) {
         mScore = 0;
@@ -27,12 +28,14 @@ public class PongScore implements GameObjects.Score {
     @Override
     public void increaseScore(final int pointsToAddToScore) {
         mScore += pointsToAddToScore;
+        mScoreText.setNumber(mScore);
     }
 
     @Override
     public void setScore(int score) {
         if (score >= 0) {
             mScore = score;
+            mScoreText.setNumber(mScore);
         }
     }
 
@@ -40,8 +43,13 @@ public class PongScore implements GameObjects.Score {
     // ============================== GameEngine.ScoreToRender methods ============================
 
     @Override
-    public String getScoreText() {
-        return "" + mScore;
+    public char[] getScoreText() {
+        return mScoreText.getChars();
+    }
+
+    @Override
+    public int getScoreTextLength() {
+        return mScoreText.getLength();
     }
 
     @Override
@@ -70,41 +78,25 @@ public class PongScore implements GameObjects.Score {
     }
 
 
-    // =========================== Parcelable methods & constant ==================================
+    // ============================ GameObjects.Persistable methods ==============================
 
-    protected PongScore(Parcel in) {
+    PongScore(GameObjects.StateReader in) {
         mScore = in.readInt();
         mColor = in.readInt();
         mX = in.readFloat();
         mTopY = in.readFloat();
         mTextSize = in.readFloat();
-        mRightAligned = in.readByte() != 0;
-    }
-
-    @Override
-    public void writeToParcel(Parcel dest, int flags) {
-        dest.writeInt(mScore);
-        dest.writeInt(mColor);
-        dest.writeFloat(mX);
-        dest.writeFloat(mTopY);
-        dest.writeFloat(mTextSize);
-        dest.writeByte((byte) (mRightAligned ? 1 : 0));
+        mRightAligned = in.readBoolean();
+        mScoreText.setNumber(mScore);
     }
 
     @Override
-    public int describeContents() {
-        return 0;
+    public void writeState(GameObjects.StateWriter out) {
+        out.writeInt(mScore);
+        out.writeInt(mColor);
+        out.writeFloat(mX);
+        out.writeFloat(mTopY);
+        out.writeFloat(mTextSize);
+        out.writeBoolean(mRightAligned);
     }
-
-    public static final Creator<PongScore> CREATOR = new Creator<PongScore>() {
-        @Override
-        public PongScore createFromParcel(Parcel in) {
-            return new PongScore(in);
-        }
-
-        @Override
-        public PongScore[] newArray(int size) {
-            return new PongScore[size];
-        }
-    };
 }
@@ -0,0 +1,46 @@
+package com.charlesdrews.pongish.game;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * Check that circles are grouped by radius and color, in the order they were added.
+ */
+public class CircleBatchesTest {
+
+    @Test
+    public void circles_areGroupedByRadiusAndColor() throws Exception {
+        CircleBatches batches = new CircleBatches();
+        batches.add(1f, 2f, 10f, 0xFFFFFFFF);
+        batches.add(3f, 4f, 5f, 0xFFFF0000);
+        batches.add(5f, 6f, 5f, 0xFF00FF00);
+        batches.add(7f, 8f, 5f, 0xFFFF0000);
+
+        assertEquals(3, batches.getBatchCount());
+        assertEquals(2, batches.getCircleCount(1));
+        assertEquals(5f, batches.getRadius(1), 0f);
+        assertEquals(0xFFFF0000, batches.getColor(1));
+        assertArrayEquals(new float[]{3f, 4f, 7f, 8f},
+                Arrays.copyOf(batches.getCenters(1), 4), 0f);
+    }
+
+    @Test
+    public void manyCircles_growTheBatch_andClearKeepsNothing() throws Exception {
+        CircleBatches batches = new CircleBatches();
+        for (int i = 0; i < 1000; i++) {
+            batches.add(i, -i, 5f, 0xFFFF0000);
+        }
+        assertEquals(1, batches.getBatchCount());
+        assertEquals(1000, batches.getCircleCount(0));
+        assertEquals(999f, batches.getCenters(0)[2 * 999], 0f);
+
+        batches.clear();
+        assertEquals(0, batches.getBatchCount());
+        batches.add(1f, 1f, 10f, 0xFFFFFFFF);
+        assertEquals(1, batches.getCircleCount(0));
+        assertEquals(10f, batches.getRadius(0), 0f);
+    }
+}
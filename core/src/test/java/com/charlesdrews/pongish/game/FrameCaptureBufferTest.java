@@ -0,0 +1,119 @@
+package com.charlesdrews.pongish.game;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Check that frames captured into a FrameCaptureBuffer come back out of a FrameCaptureReader,
+ * including when the ring wraps around, and that a full ring drops frames instead of waiting.
+ */
+public class FrameCaptureBufferTest {
+
+    private static final int BLACK = 0xFF000000;
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final int RED = 0xFFFF0000;
+
+    @Test
+    public void capturedFrames_readBackTheSame() throws Exception {
+        // Small enough that the records wrap around the end of the ring
+        FrameCaptureBuffer capture = new FrameCaptureBuffer(256);
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        FrameCaptureBuffer.writeHeader(file, 640, 480);
+
+        RenderFrame frame = new RenderFrame();
+        for (int i = 0; i < 10; i++) {
+            writeFrame(frame, i);
+            assertTrue(capture.offer(frame, 1000L * i, i % 4));
+            capture.drainTo(file);
+        }
+        assertEquals(10L, capture.getCapturedFrameCount());
+        assertEquals(0L, capture.getDroppedFrameCount());
+
+        FrameCaptureReader reader =
+                new FrameCaptureReader(new ByteArrayInputStream(file.toByteArray()));
+        assertEquals(640, reader.getWidth());
+        assertEquals(480, reader.getHeight());
+
+        RenderFrame read = new RenderFrame();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(reader.readFrame(read));
+            assertEquals(1000L * i, reader.getStateTimeInNanos());
+            assertEquals(i % 4, reader.getCountDownNumber());
+
+            assertEquals(BLACK, read.getBackgroundColor());
+            assertEquals(1, read.getScoreCount());
+            assertEquals(String.valueOf(i), new String(read.getScoreText(0), 0,
+                    read.getScoreTextLength(0)));
+            assertTrue(read.isScoreRightAligned(0));
+            assertEquals(1, read.getLineCount());
+            assertTrue(read.isLineDashed(0));
+            assertEquals(1, read.getCircleCount());
+            assertEquals(10f + i, read.getCircleCenterX(0, 0f), 0f);
+            assertEquals(10f + i, read.getCircleCenterX(0, 1f), 0f);
+            assertEquals(RED, read.getCircleColor(0));
+            assertEquals(1, read.getRectCount());
+            assertEquals(20f + i, read.getRectTopY(0, 0.5f), 0f);
+        }
+        assertFalse(reader.readFrame(read));
+    }
+
+    @Test
+    public void fullBuffer_dropsFramesUntilDrained() throws Exception {
+        FrameCaptureBuffer capture = new FrameCaptureBuffer(128);
+        RenderFrame frame = new RenderFrame();
+        writeFrame(frame, 0);
+
+        // Each record takes 114 bytes, so only one fits.
+        assertTrue(capture.offer(frame, 0L, 0));
+        assertFalse(capture.offer(frame, 1L, 0));
+        assertEquals(1L, capture.getDroppedFrameCount());
+
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        FrameCaptureBuffer.writeHeader(file, 1, 1);
+        assertEquals(114, capture.drainTo(file));
+        assertTrue(capture.offer(frame, 2L, 0));
+        capture.drainTo(file);
+
+        // The dropped frame left nothing behind.
+        FrameCaptureReader reader =
+                new FrameCaptureReader(new ByteArrayInputStream(file.toByteArray()));
+        RenderFrame read = new RenderFrame();
+        assertTrue(reader.readFrame(read));
+        assertEquals(0L, reader.getStateTimeInNanos());
+        assertTrue(reader.readFrame(read));
+        assertEquals(2L, reader.getStateTimeInNanos());
+        assertFalse(reader.readFrame(read));
+    }
+
+    @Test
+    public void truncatedLastRecord_endsTheFile() throws Exception {
+        FrameCaptureBuffer capture = new FrameCaptureBuffer(1024);
+        ByteArrayOutputStream file = new ByteArrayOutputStream();
+        FrameCaptureBuffer.writeHeader(file, 1, 1);
+
+        RenderFrame frame = new RenderFrame();
+        writeFrame(frame, 0);
+        capture.offer(frame, 0L, 0);
+        capture.offer(frame, 1L, 0);
+        capture.drainTo(file);
+
+        byte[] bytes = file.toByteArray();
+        FrameCaptureReader reader = new FrameCaptureReader(
+                new ByteArrayInputStream(bytes, 0, bytes.length - 10));
+        assertTrue(reader.readFrame(frame));
+        assertFalse(reader.readFrame(frame));
+    }
+
+    private static void writeFrame(final RenderFrame frame, final int i) {
+        char[] score = String.valueOf(i).toCharArray();
+        frame.clear(BLACK);
+        frame.addScore(score, score.length, 300f, 10f, 50f, WHITE, true);
+        frame.addVerticalLine(320f, 0f, 480f, WHITE, true);
+        frame.addCircle(10f + i, 30f, 9f + i, 29f, 5f, RED);
+        frame.addRect(0f, 20f + i, 10f, 80f + i, 0f, 19f + i, 10f, 79f + i, WHITE);
+    }
+}
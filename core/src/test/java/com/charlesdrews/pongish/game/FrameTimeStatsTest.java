@@ -0,0 +1,37 @@
+package com.charlesdrews.pongish.game;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Check that FrameTimeStats keeps the count, average, and extremes of the recorded frames.
+ */
+public class FrameTimeStatsTest {
+
+    @Test
+    public void record_tracksCountAverageAndExtremes() throws Exception {
+        FrameTimeStats stats = new FrameTimeStats();
+        assertEquals(0L, stats.getAverageNanos());
+
+        stats.record(4_000_000L);
+        stats.record(2_000_000L);
+        stats.record(9_000_000L);
+
+        assertEquals(3L, stats.getFrameCount());
+        assertEquals(5_000_000L, stats.getAverageNanos());
+        assertEquals(2_000_000L, stats.getMinNanos());
+        assertEquals(9_000_000L, stats.getMaxNanos());
+
+        stats.reset();
+        stats.record(7L);
+        assertEquals(1L, stats.getFrameCount());
+        assertEquals(7L, stats.getMinNanos());
+        assertEquals(7L, stats.getMaxNanos());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void record_rejectsNegativeTimes() throws Exception {
+        new FrameTimeStats().record(-1L);
+    }
+}
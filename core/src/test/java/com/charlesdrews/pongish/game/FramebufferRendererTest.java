@@ -0,0 +1,123 @@
+package com.charlesdrews.pongish.game;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Check FramebufferRenderer's pixels against golden images, drawn as text with one character per
+ * pixel, and check that partial redraws end up with the same pixels as full ones.
+ */
+public class FramebufferRendererTest {
+
+    private static final int BLACK = 0xFF000000;
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final int RED = 0xFFFF0000;
+
+    @Test
+    public void shapesAndText_matchGoldenImage() throws Exception {
+        FramebufferRenderer renderer = new FramebufferRenderer(24, 12);
+        renderer.beginDrawing();
+        renderer.drawBackground(BLACK);
+        renderer.drawVerticalLine(12f, 0f, 12f, WHITE, false);
+        renderer.drawScore(new char[]{'1', '0'}, 2, 10f, 1f, 5f, WHITE, true);
+        renderer.drawCircle(17f, 6f, 3f, RED);
+        renderer.drawRect(0f, 3f, 2f, 9f, WHITE);
+        renderer.commitDrawing();
+
+        assertImage(renderer,
+                "............#...........",
+                "....#..###..#...........",
+                "...##..#.#..#...........",
+                "##..#..#.#..#..rrrr.....",
+                "##..#..#.#..#.rrrrrr....",
+                "##.###.###..#.rrrrrr....",
+                "##..........#.rrrrrr....",
+                "##..........#.rrrrrr....",
+                "##..........#..rrrr.....",
+                "............#...........",
+                "............#...........",
+                "............#...........");
+    }
+
+    @Test
+    public void dashedLine_alternates15PixelDashesFromItsTop() throws Exception {
+        FramebufferRenderer renderer = new FramebufferRenderer(1, 50);
+        renderer.beginDrawing();
+        renderer.drawBackground(BLACK);
+        renderer.drawVerticalLine(0.5f, 5f, 50f, WHITE, true);
+        renderer.commitDrawing();
+
+        assertEquals(BLACK, renderer.getPixel(0, 4));
+        assertEquals(WHITE, renderer.getPixel(0, 5));
+        assertEquals(WHITE, renderer.getPixel(0, 19));
+        assertEquals(BLACK, renderer.getPixel(0, 20));
+        assertEquals(BLACK, renderer.getPixel(0, 34));
+        assertEquals(WHITE, renderer.getPixel(0, 35));
+    }
+
+    @Test
+    public void partialRedraws_matchFullRedraws() throws Exception {
+        // A buffer only redraws part of a frame onto the target it last replayed onto, so the
+        // full redraws need a buffer of their own.
+        RenderCommandBuffer partialBuffer = new RenderCommandBuffer();
+        RenderCommandBuffer fullBuffer = new RenderCommandBuffer();
+        CountingRenderer partial = new CountingRenderer(100, 60);
+
+        for (int frame = 0; frame < 20; frame++) {
+            recordFrame(partialBuffer, frame);
+            recordFrame(fullBuffer, frame);
+
+            FramebufferRenderer full = new FramebufferRenderer(100, 60);
+            partialBuffer.replay(partial);
+            fullBuffer.replay(full);
+            assertArrayEquals("frame " + frame, full.getPixels(), partial.getPixels());
+        }
+
+        assertEquals(19, partial.mPartialFrameCount);
+    }
+
+    /**
+     * Record a frame with a ball that moves every frame and a paddle that moves every 4 frames.
+     */
+    private static void recordFrame(final RenderCommandBuffer buffer, final int frame) {
+        buffer.beginDrawing();
+        buffer.drawBackground(BLACK);
+        buffer.drawScore(new char[]{'0'}, 1, 40f, 2f, 10f, WHITE, true);
+        buffer.drawVerticalLine(50f, 0f, 60f, WHITE, true);
+        buffer.drawCircles(new float[]{10f + 3.7f * frame, 20f + 1.3f * frame}, 1, 4f, RED);
+        buffer.drawRect(2f, 10f + (frame / 4) * 2.5f, 5f, 30f + (frame / 4) * 2.5f, WHITE);
+        buffer.commitDrawing();
+    }
+
+    private static void assertImage(final FramebufferRenderer renderer, final String... rows) {
+        assertEquals(rows.length, renderer.getHeight());
+        for (int y = 0; y < rows.length; y++) {
+            StringBuilder row = new StringBuilder();
+            for (int x = 0; x < renderer.getWidth(); x++) {
+                int pixel = renderer.getPixel(x, y);
+                row.append(pixel == BLACK ? '.' : pixel == WHITE ? '#' : pixel == RED ? 'r' : '?');
+            }
+            assertEquals("row " + y, rows[y], row.toString());
+        }
+    }
+
+    /**
+     * Counts the frames drawn with a dirty rectangle.
+     */
+    private static class CountingRenderer extends FramebufferRenderer {
+
+        private int mPartialFrameCount;
+
+        CountingRenderer(final int width, final int height) {
+            super(width, height);
+        }
+
+        @Override
+        public boolean beginDrawing(float dirtyLeft, float dirtyTop, float dirtyRight,
+                                    float dirtyBottom) {
+            mPartialFrameCount++;
+            return super.beginDrawing(dirtyLeft, dirtyTop, dirtyRight, dirtyBottom);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.charlesdrews.pongish.game;
+
+import org.junit.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Random;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import static org.junit.Assert.*;
+
+/**
+ * Check that GIFs written by GifEncoder decode to the same pixels, using the JDK's GIF decoder.
+ */
+public class GifEncoderTest {
+
+    @Test
+    public void frames_decodeToTheSamePixels() throws Exception {
+        int width = 97;
+        int height = 61;
+
+        // A few colors in big areas, like a game frame, and random noise in many colors, which
+        // fills the LZW code table and makes the encoder start new ones.
+        int[] shapes = new int[width * height];
+        for (int i = 0; i < shapes.length; i++) {
+            int x = i % width;
+            int y = i / width;
+            shapes[i] = x < 10 ? 0xFFFFFFFF : (x - 50) * (x - 50) + (y - 30) * (y - 30) < 100 ?
+                    0xFFFF0000 : 0xFF000000;
+        }
+        int[] noise = new int[width * height];
+        Random random = new Random(25);
+        for (int i = 0; i < noise.length; i++) {
+            noise[i] = 0xFF000000 | (random.nextInt(200) * 0x010101);
+        }
+
+        ByteArrayOutputStream gif = new ByteArrayOutputStream();
+        GifEncoder encoder = new GifEncoder(gif, width, height);
+        encoder.addFrame(shapes, 4);
+        encoder.addFrame(noise, 4);
+        encoder.finish();
+
+        ImageReader reader = ImageIO.getImageReadersByFormatName("gif").next();
+        ImageInputStream in = ImageIO.createImageInputStream(
+                new ByteArrayInputStream(gif.toByteArray()));
+        reader.setInput(in);
+        assertEquals(2, reader.getNumImages(true));
+        assertPixels(shapes, reader.read(0));
+        assertPixels(noise, reader.read(1));
+    }
+
+    @Test
+    public void moreThan256Colors_useTheNearestOfTheFirst256() throws Exception {
+        int[] pixels = new int[300];
+        for (int i = 0; i < pixels.length; i++) {
+            pixels[i] = 0xFF000000 | i;
+        }
+
+        ByteArrayOutputStream gif = new ByteArrayOutputStream();
+        GifEncoder encoder = new GifEncoder(gif, 300, 1);
+        encoder.addFrame(pixels, 0);
+        encoder.finish();
+
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(gif.toByteArray()));
+        // Past the first 256 colors, green is 1 and blue counts up from 0 again.
+        assertEquals(0xFF0000FF, image.getRGB(255, 0));
+        assertEquals(0xFF00002B, image.getRGB(299, 0));
+    }
+
+    private static void assertPixels(final int[] expected, final BufferedImage image) {
+        for (int y = 0; y < image.getHeight(); y++) {
+            for (int x = 0; x < image.getWidth(); x++) {
+                assertEquals("pixel " + x + ", " + y, expected[y * image.getWidth() + x],
+                        image.getRGB(x, y));
+            }
+        }
+    }
+}
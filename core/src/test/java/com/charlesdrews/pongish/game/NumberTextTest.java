@@ -0,0 +1,39 @@
+package com.charlesdrews.pongish.game;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Check that NumberText writes numbers after its prefix, reusing the same array.
+ */
+public class NumberTextTest {
+
+    @Test
+    public void setNumber_rewritesTheDigitsInPlace() throws Exception {
+        NumberText text = new NumberText("FPS: ");
+        char[] chars = text.getChars();
+        assertEquals("FPS: 0", text.toString());
+
+        text.setNumber(60);
+        assertEquals("FPS: 60", text.toString());
+        assertEquals(7, text.getLength());
+
+        text.setNumber(7);
+        assertEquals("FPS: 7", text.toString());
+        assertSame(chars, text.getChars());
+    }
+
+    @Test
+    public void setNumber_handlesNegativeAndExtremeNumbers() throws Exception {
+        NumberText text = new NumberText();
+        text.setNumber(-42);
+        assertEquals("-42", text.toString());
+
+        text.setNumber(Integer.MIN_VALUE);
+        assertEquals(String.valueOf(Integer.MIN_VALUE), text.toString());
+
+        text.setNumber(Integer.MAX_VALUE);
+        assertEquals(String.valueOf(Integer.MAX_VALUE), text.toString());
+    }
+}
@@ -0,0 +1,271 @@
+package com.charlesdrews.pongish.game;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Check that recorded frames replay in layer order, grouped by paint settings within a layer.
+ */
+public class RenderCommandBufferTest {
+
+    private static final int WHITE = 0xFFFFFFFF;
+    private static final int RED = 0xFFFF0000;
+
+    @Test
+    public void replay_keepsLayersInOrder_andGroupsColorsWithinALayer() throws Exception {
+        RenderCommandBuffer buffer = new RenderCommandBuffer();
+        buffer.beginDrawing();
+        buffer.drawCountDown(new char[]{'3'}, 1, 100f, WHITE, 0);
+        buffer.drawRect(0f, 0f, 1f, 1f, WHITE);
+        buffer.drawCircles(new float[]{1f, 1f}, 1, 5f, RED);
+        buffer.drawVerticalLine(1f, 0f, 10f, RED, true);
+        buffer.drawRect(2f, 0f, 3f, 1f, RED);
+        buffer.drawCircles(new float[]{2f, 2f}, 1, 5f, WHITE);
+        buffer.drawRect(4f, 0f, 5f, 1f, WHITE);
+        buffer.drawBackground(0);
+        buffer.commitDrawing();
+
+        LoggingRenderer target = new LoggingRenderer();
+        assertTrue(buffer.replay(target));
+
+        List<String> expected = new ArrayList<>();
+        expected.add("begin");
+        expected.add("background");
+        expected.add("line " + RED);
+        expected.add("circles " + RED);
+        expected.add("circles " + WHITE);
+        expected.add("rect 2.0 " + RED);
+        expected.add("rect 0.0 " + WHITE);
+        expected.add("rect 4.0 " + WHITE);
+        expected.add("countdown 3");
+        expected.add("commit");
+        assertEquals(expected, target.mCalls);
+    }
+
+    @Test
+    public void replay_usesItsOwnCopyOfCircleCenters_andCanRepeat() throws Exception {
+        RenderCommandBuffer buffer = new RenderCommandBuffer();
+        float[] centers = new float[]{10f, 20f, 30f, 40f};
+        buffer.beginDrawing();
+        buffer.drawCircles(centers, 2, 5f, WHITE);
+        buffer.commitDrawing();
+        centers[0] = -1f;
+
+        LoggingRenderer first = new LoggingRenderer();
+        LoggingRenderer second = new LoggingRenderer();
+        buffer.replay(first);
+        buffer.replay(second);
+
+        assertEquals(10f, first.mLastCenters[0], 0f);
+        assertEquals(40f, first.mLastCenters[3], 0f);
+        assertEquals(first.mCalls, second.mCalls);
+    }
+
+    @Test
+    public void staticLayer_isOnlyRedrawnWhenItChanges() throws Exception {
+        RenderCommandBuffer buffer = new RenderCommandBuffer();
+        LoggingRenderer target = new LoggingRenderer();
+        target.mCachesStaticLayer = true;
+
+        recordFrame(buffer, "0", 10f);
+        buffer.replay(target);
+        assertTrue(target.mCalls.contains("beginStatic"));
+        assertTrue(target.mCalls.contains("score 0"));
+
+        // Only the ball moved, so the cache is drawn as is
+        target.mCalls.clear();
+        recordFrame(buffer, "0", 20f);
+        buffer.replay(target);
+        assertFalse(target.mCalls.contains("beginStatic"));
+        assertFalse(target.mCalls.contains("score 0"));
+        assertTrue(target.mCalls.contains("drawStatic"));
+
+        // The score changed, so the cache is redrawn
+        target.mCalls.clear();
+        recordFrame(buffer, "1", 30f);
+        buffer.replay(target);
+        assertTrue(target.mCalls.contains("beginStatic"));
+        assertTrue(target.mCalls.contains("score 1"));
+    }
+
+    @Test
+    public void damage_coversOldAndNewBoundsOfWhatMoved() throws Exception {
+        RenderCommandBuffer buffer = new RenderCommandBuffer();
+        LoggingRenderer target = new LoggingRenderer();
+
+        // Nothing to compare the first frame with
+        recordFrame(buffer, "0", 10f);
+        buffer.drawRect(0f, 100f, 10f, 200f, WHITE);
+        buffer.commitDrawing();
+        buffer.replay(target);
+        assertEquals("begin", target.mCalls.get(0));
+
+        // The ball moved from x = 10 to x = 20, and the paddle didn't move
+        target.mCalls.clear();
+        recordFrame(buffer, "0", 20f);
+        buffer.drawRect(0f, 100f, 10f, 200f, WHITE);
+        buffer.commitDrawing();
+        buffer.replay(target);
+        assertEquals("begin 5.0 495.0 25.0 505.0", target.mCalls.get(0));
+        assertTrue(target.mCalls.contains("rect 0.0 " + WHITE));
+
+        // The paddle moved too
+        target.mCalls.clear();
+        recordFrame(buffer, "0", 20f);
+        buffer.drawRect(0f, 110f, 10f, 210f, WHITE);
+        buffer.commitDrawing();
+        buffer.replay(target);
+        assertEquals("begin 0.0 100.0 25.0 505.0", target.mCalls.get(0));
+
+        // The score changed, so everything is redrawn
+        target.mCalls.clear();
+        recordFrame(buffer, "1", 20f);
+        buffer.drawRect(0f, 110f, 10f, 210f, WHITE);
+        buffer.commitDrawing();
+        buffer.replay(target);
+        assertEquals("begin", target.mCalls.get(0));
+
+        // A different target hasn't seen the last frame
+        LoggingRenderer other = new LoggingRenderer();
+        buffer.replay(other);
+        assertEquals("begin", other.mCalls.get(0));
+    }
+
+    @Test
+    public void damage_coversEstimatedBoundsOfChangedText() throws Exception {
+        RenderCommandBuffer buffer = new RenderCommandBuffer();
+        LoggingRenderer target = new LoggingRenderer();
+
+        recordFrame(buffer, "0", 10f);
+        buffer.drawFramesPerSecond("FPS: 60".toCharArray(), 7, 40f, 80f, 40f, WHITE);
+        buffer.commitDrawing();
+        buffer.replay(target);
+
+        // Besides the batch of circles, which is always redrawn, only the frame rate changed:
+        // 7 glyphs at most 40 wide, from 40 above the baseline to 20 below it
+        target.mCalls.clear();
+        recordFrame(buffer, "0", 10f);
+        buffer.drawFramesPerSecond("FPS: 59".toCharArray(), 7, 40f, 80f, 40f, WHITE);
+        buffer.commitDrawing();
+        buffer.replay(target);
+        assertEquals("begin 5.0 40.0 320.0 505.0", target.mCalls.get(0));
+
+        // The countdown is placed by the target, so everything is redrawn
+        target.mCalls.clear();
+        recordFrame(buffer, "0", 10f);
+        buffer.drawFramesPerSecond("FPS: 59".toCharArray(), 7, 40f, 80f, 40f, WHITE);
+        buffer.drawCountDown(new char[]{'3'}, 1, 100f, WHITE, 0);
+        buffer.commitDrawing();
+        buffer.replay(target);
+        assertEquals("begin", target.mCalls.get(0));
+    }
+
+    private static void recordFrame(final RenderCommandBuffer buffer, final String score,
+                                    final float ballX) {
+        buffer.beginDrawing();
+        buffer.drawBackground(0);
+        buffer.drawScore(score.toCharArray(), score.length(), 100f, 10f, 50f, WHITE, false);
+        buffer.drawVerticalLine(500f, 0f, 1000f, WHITE, true);
+        buffer.drawCircles(new float[]{ballX, 500f}, 1, 5f, WHITE);
+        buffer.commitDrawing();
+    }
+
+    /**
+     * Logs each call it receives.
+     */
+    private static class LoggingRenderer implements GameEngine.Renderer {
+
+        private final List<String> mCalls = new ArrayList<>();
+        private float[] mLastCenters;
+        private boolean mCachesStaticLayer;
+
+        @Override
+        public boolean beginDrawing() {
+            mCalls.add("begin");
+            return true;
+        }
+
+        @Override
+        public boolean beginDrawing(float dirtyLeft, float dirtyTop, float dirtyRight,
+                                    float dirtyBottom) {
+            mCalls.add("begin " + dirtyLeft + " " + dirtyTop + " " + dirtyRight + " " +
+                    dirtyBottom);
+            return true;
+        }
+
+        @Override
+        public void commitDrawing() {
+            mCalls.add("commit");
+        }
+
+        @Override
+        public boolean beginStaticLayer() {
+            if (mCachesStaticLayer) {
+                mCalls.add("beginStatic");
+            }
+            return mCachesStaticLayer;
+        }
+
+        @Override
+        public void endStaticLayer() {
+            mCalls.add("endStatic");
+        }
+
+        @Override
+        public boolean drawStaticLayer() {
+            if (mCachesStaticLayer) {
+                mCalls.add("drawStatic");
+            }
+            return mCachesStaticLayer;
+        }
+
+        @Override
+        public void drawBackground(int color) {
+            mCalls.add("background");
+        }
+
+        @Override
+        public void drawVerticalLine(float x, float topY, float bottomY, int color,
+                                     boolean dashed) {
+            mCalls.add("line " + color);
+        }
+
+        @Override
+        public void drawScore(char[] scoreText, int scoreTextLength, float x, float topY,
+                              float textSize, int color, boolean rightAlign) {
+            mCalls.add("score " + new String(scoreText, 0, scoreTextLength));
+        }
+
+        @Override
+        public void drawCircle(float centerX, float centerY, float radius, int color) {
+            mCalls.add("circle " + color);
+        }
+
+        @Override
+        public void drawCircles(float[] centers, int count, float radius, int color) {
+            mLastCenters = centers;
+            mCalls.add("circles " + color);
+        }
+
+        @Override
+        public void drawRect(float leftX, float topY, float rightX, float bottomY, int color) {
+            mCalls.add("rect " + leftX + " " + color);
+        }
+
+        @Override
+        public void drawCountDown(char[] countDownText, int countDownTextLength, float textSize,
+                                  int textColor, int backgroundColor) {
+            mCalls.add("countdown " + new String(countDownText, 0, countDownTextLength));
+        }
+
+        @Override
+        public void drawFramesPerSecond(char[] fpsText, int fpsTextLength, float x, float y,
+                                        float textSize, int color) {
+            mCalls.add("fps " + new String(fpsText, 0, fpsTextLength));
+        }
+    }
+}
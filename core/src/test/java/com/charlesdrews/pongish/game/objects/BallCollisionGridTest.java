@@ -0,0 +1,46 @@
+package com.charlesdrews.pongish.game.objects;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Check ball-to-ball collisions found through the grid.
+ */
+public class BallCollisionGridTest {
+
+    private static final float RADIUS = 10f;
+    private static final float SPEED = 1f;
+
+    private final BallCollisionGrid mGrid = new BallCollisionGrid(0f, 0f, 1000f, 1000f,
+            2f * RADIUS);
+
+    @Test
+    public void headOnCollision_betweenEqualBalls_swapsTheirVelocities() throws Exception {
+        // Overlapping by 2px across a cell boundary, heading straight at each other
+        GameObjects.BallStore balls = new PongBallStore();
+        balls.add(111f, 500f, RADIUS, SPEED, 90d, GameColors.WHITE);
+        balls.add(129f, 500f, RADIUS, SPEED, -90d, GameColors.WHITE);
+
+        mGrid.resolveCollisions(balls, 0, Integer.MAX_VALUE);
+
+        assertEquals(-SPEED, balls.getVelocityX(0), 1e-5f);
+        assertEquals(SPEED, balls.getVelocityX(1), 1e-5f);
+        assertEquals(SPEED, balls.getSpeed(0), 1e-5f);
+        assertEquals(2, mGrid.getChangedBallCount());
+    }
+
+    @Test
+    public void ballsStackedOnTheSameSpot_andBallsBeforeFirstBall_areLeftAlone() throws Exception {
+        GameObjects.BallStore balls = new PongBallStore();
+        balls.add(500f, 500f, RADIUS, SPEED, 90d, GameColors.WHITE);
+        balls.add(505f, 500f, RADIUS, SPEED, -90d, GameColors.WHITE);
+        balls.add(505f, 500f, RADIUS, SPEED, 45d, GameColors.WHITE);
+
+        // Ball 0 overlaps ball 1 head on, but is excluded like the normal ball
+        mGrid.resolveCollisions(balls, 1, Integer.MAX_VALUE);
+
+        assertEquals(0, mGrid.getChangedBallCount());
+        assertEquals(SPEED, balls.getVelocityX(0), 1e-5f);
+    }
+}
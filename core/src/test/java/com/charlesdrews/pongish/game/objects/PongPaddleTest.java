@@ -0,0 +1,52 @@
+package com.charlesdrews.pongish.game.objects;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Check the swept collision test between balls and paddles.
+ */
+public class PongPaddleTest {
+
+    private static final float BOARD_WIDTH = 1500f;
+    private static final float BOARD_HEIGHT = 1000f;
+    private static final float BOARD_MARGIN = 200f;
+    private static final float PADDLE_WIDTH = 20f;
+    private static final float PADDLE_HEIGHT = 200f;
+    private static final float BALL_RADIUS = 10f;
+
+    // The left paddle spans x 220..240 and y 400..600
+    private final GameObjects.Paddle mPaddle = new PongPaddle(false,
+            GameObjects.Scene.LEFT_PADDLE, PADDLE_WIDTH, PADDLE_HEIGHT, BOARD_WIDTH,
+            BOARD_HEIGHT, BOARD_MARGIN, GameColors.WHITE);
+
+    @Test
+    public void fastBallJumpingPastPaddle_hitsItsFace() throws Exception {
+        // Neither end position overlaps the paddle, but the path crosses it
+        float time = mPaddle.getTimeOfImpact(450f, 500f, 50f, 500f, BALL_RADIUS);
+        assertEquals((450f - 250f) / 400f, time, 1e-6f);
+    }
+
+    @Test
+    public void ballMovingAwayFromPaddle_neverHits() throws Exception {
+        float time = mPaddle.getTimeOfImpact(245f, 500f, 300f, 500f, BALL_RADIUS);
+        assertEquals(GameObjects.Scene.NO_PADDLE_HIT, time, 0f);
+    }
+
+    @Test
+    public void ballPassingJustOutsideRoundedCorner_misses() throws Exception {
+        // Heading up and left past the top right corner (240, 400). The path crosses the corner of
+        // the paddle grown by the ball's radius, but stays more than a radius from the paddle.
+        float time = mPaddle.getTimeOfImpact(255f, 395f, 235f, 385f, BALL_RADIUS);
+        assertEquals(GameObjects.Scene.NO_PADDLE_HIT, time, 0f);
+    }
+
+    @Test
+    public void ballClippingCorner_hitsWhenWithinRadius() throws Exception {
+        // Heading straight left at y = 395, 5px above the paddle's top edge
+        float time = mPaddle.getTimeOfImpact(300f, 395f, 200f, 395f, BALL_RADIUS);
+        float expectedX = 240f + (float) Math.sqrt(BALL_RADIUS * BALL_RADIUS - 5f * 5f);
+        assertEquals((300f - expectedX) / 100f, time, 1e-5f);
+    }
+}
@@ -0,0 +1,313 @@
+package com.charlesdrews.pongish.game.objects;
+
+import com.charlesdrews.pongish.game.GameEngine;
+import com.charlesdrews.pongish.game.RenderFrame;
+
+import org.junit.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+
+import static org.junit.Assert.*;
+
+/**
+ * Run the simulation on a plain JVM, with no Android classes involved.
+ */
+public class PongSceneTest {
+
+    private static final int WIDTH = 1920;
+    private static final int HEIGHT = 1080;
+    private static final float STEP_IN_MILLIS = 1_000f / 120f;
+
+    @Test
+    public void computerControlledGame_eventuallyScoresAPoint() throws Exception {
+        PongScene scene = new PongScene(WIDTH, HEIGHT, GameObjects.Scene.BOTH_PADDLES);
+
+        boolean pointScored = false;
+        for (int i = 0; i < 120 * 600 && !pointScored; i++) {
+            pointScored = scene.updateGameObjects(STEP_IN_MILLIS);
+        }
+
+        assertTrue(pointScored);
+    }
+
+    @Test
+    public void eventDrivenGame_eventuallyScoresAPoint() throws Exception {
+        PongScene scene = new PongScene(WIDTH, HEIGHT, GameObjects.Scene.BOTH_PADDLES);
+        scene.setPhysicsMode(GameObjects.Scene.PHYSICS_EVENT_DRIVEN);
+
+        boolean pointScored = false;
+        for (int i = 0; i < 120 * 600 && !pointScored; i++) {
+            pointScored = scene.updateGameObjects(STEP_IN_MILLIS);
+        }
+
+        assertTrue(pointScored);
+    }
+
+    @Test
+    public void eventDrivenGame_keepsEveryBallOnTheBoard() throws Exception {
+        PongScene scene = new PongScene(WIDTH, HEIGHT, GameObjects.Scene.BOTH_PADDLES);
+        scene.setPhysicsMode(GameObjects.Scene.PHYSICS_EVENT_DRIVEN);
+        scene.addBonusBalls(200);
+
+        // Bonus balls score and disappear along the way, but nothing may leave the board
+        for (int i = 0; i < 120 * 10 && !scene.updateGameObjects(STEP_IN_MILLIS); i++) {
+            for (GameEngine.CircleToRender ball : scene.getCirclesToRender()) {
+                assertTrue(ball.getCenterY() - ball.getRadius() >= -0.01f);
+                assertTrue(ball.getCenterY() + ball.getRadius() <= HEIGHT + 0.01f);
+            }
+        }
+    }
+
+    @Test
+    public void eventDrivenGame_paddleMovedIntoBallsPath_hitsTheBall() throws Exception {
+        PongScene scene = new PongScene(WIDTH, HEIGHT, GameObjects.Scene.NEITHER_PADDLE);
+        scene.setPhysicsMode(GameObjects.Scene.PHYSICS_EVENT_DRIVEN);
+        // Balls are only brought up to date when they're fetched for drawing, so fetch the
+        // normal ball again after every update
+        GameEngine.CircleToRender ball = scene.getCirclesToRender().get(0);
+        List<GameEngine.RectangleToRender> paddles = scene.getRectanglesToRender();
+
+        // Park both paddles at the top, then wait for the ball to get past the face of the one
+        // it's heading toward, while still level with it, without hitting it.
+        scene.movePaddle(GameObjects.Scene.LEFT_PADDLE, -HEIGHT, 1_000f);
+        scene.movePaddle(GameObjects.Scene.RIGHT_PADDLE, -HEIGHT, 1_000f);
+
+        int side = -1;
+        float previousX = ball.getCenterX();
+        for (int i = 0; i < 60_000 && side < 0; i++) {
+            assertFalse(scene.updateGameObjects(1f));
+            ball = scene.getCirclesToRender().get(0);
+
+            boolean headingLeft = ball.getCenterX() < previousX;
+            previousX = ball.getCenterX();
+            GameEngine.RectangleToRender paddle = paddles.get(headingLeft ? 0 : 1);
+            if (ball.getCenterX() > paddle.getLeftX() - ball.getRadius() &&
+                    ball.getCenterX() < paddle.getRightX() + ball.getRadius()) {
+                side = headingLeft ? GameObjects.Scene.LEFT_PADDLE :
+                        GameObjects.Scene.RIGHT_PADDLE;
+            }
+        }
+        assertTrue(side >= 0);
+
+        // Its end line event was predicted with the paddle out of the way. Move the paddle onto
+        // the ball, and the ball must bounce off it instead of scoring.
+        GameEngine.RectangleToRender paddle = paddles.get(side);
+        scene.movePaddle(side, ball.getCenterY() - (paddle.getTopY() + paddle.getBottomY()) / 2f,
+                1_000f);
+
+        float xBeforeHit = ball.getCenterX();
+        for (int i = 0; i < 50; i++) {
+            assertFalse(scene.updateGameObjects(1f));
+        }
+        ball = scene.getCirclesToRender().get(0);
+        if (side == GameObjects.Scene.LEFT_PADDLE) {
+            assertTrue(ball.getCenterX() > xBeforeHit);
+        }
+        else {
+            assertTrue(ball.getCenterX() < xBeforeHit);
+        }
+    }
+
+    @Test
+    public void eventDrivenGame_withBallCollisions_keepsRunning() throws Exception {
+        PongScene scene = new PongScene(WIDTH, HEIGHT, GameObjects.Scene.BOTH_PADDLES);
+        scene.setPhysicsMode(GameObjects.Scene.PHYSICS_EVENT_DRIVEN);
+        scene.setBallCollisionsEnabled(true);
+        scene.addBonusBalls(2000);
+
+        // Collisions leave some balls crawling, including against paddles, which must not stall
+        // the event loop
+        for (int i = 0; i < 120 * 5 && !scene.updateGameObjects(STEP_IN_MILLIS); i++) {
+            for (GameEngine.CircleToRender ball : scene.getCirclesToRender()) {
+                assertTrue(ball.getCenterY() - ball.getRadius() >= -0.01f);
+                assertTrue(ball.getCenterY() + ball.getRadius() <= HEIGHT + 0.01f);
+            }
+        }
+    }
+
+    @Test
+    public void resetForNewGame_reusesGameObjects() throws Exception {
+        PongScene scene = new PongScene(WIDTH, HEIGHT, GameObjects.Scene.BOTH_PADDLES);
+        while (!scene.updateGameObjects(STEP_IN_MILLIS)) {
+            // Play until the first point
+        }
+        List<GameEngine.RectangleToRender> paddles = scene.getRectanglesToRender();
+        GameEngine.RectangleToRender leftPaddle = paddles.get(0);
+        GameEngine.VerticalLineToRender leftEndLine = scene.getVerticalLinesToRender().get(0);
+
+        scene.resetAfterPointScored();
+        scene.resetForNewGame();
+
+        assertSame(paddles, scene.getRectanglesToRender());
+        assertSame(leftPaddle, scene.getRectanglesToRender().get(0));
+        assertSame(leftEndLine, scene.getVerticalLinesToRender().get(0));
+        assertEquals((HEIGHT - (leftPaddle.getBottomY() - leftPaddle.getTopY())) / 2f,
+                leftPaddle.getTopY(), 0.01f);
+        GameEngine.ScoreToRender leftScore = scene.getScoresToRender().get(0);
+        assertEquals("0", new String(leftScore.getScoreText(), 0, leftScore.getScoreTextLength()));
+        GameEngine.ScoreToRender rightScore = scene.getScoresToRender().get(1);
+        assertEquals("0", new String(rightScore.getScoreText(), 0, rightScore.getScoreTextLength()));
+        assertEquals(1, scene.getCirclesToRender().size());
+    }
+
+    @Test
+    public void writeRenderFrame_copiesEveryObject() throws Exception {
+        PongScene scene = new PongScene(WIDTH, HEIGHT, GameObjects.Scene.LEFT_PADDLE);
+        scene.addBonusBalls(20);
+        for (int i = 0; i < 10; i++) {
+            scene.updateGameObjects(STEP_IN_MILLIS);
+        }
+
+        RenderFrame frame = new RenderFrame();
+        scene.writeRenderFrame(frame);
+
+        assertEquals(2, frame.getScoreCount());
+        assertEquals(3, frame.getLineCount());
+        assertEquals(21, frame.getCircleCount());
+        assertEquals(2, frame.getRectCount());
+
+        List<GameEngine.CircleToRender> balls = scene.getCirclesToRender();
+        for (int i = 0; i < balls.size(); i++) {
+            assertEquals(balls.get(i).getCenterX(), frame.getCircleCenterX(i, 1f), 0f);
+            assertEquals(balls.get(i).getPreviousCenterY(), frame.getCircleCenterY(i, 0f), 0f);
+            assertEquals(balls.get(i).getColor(), frame.getCircleColor(i));
+        }
+
+        // Writing again replaces, rather than adds to, what the frame held
+        scene.writeRenderFrame(frame);
+        assertEquals(21, frame.getCircleCount());
+    }
+
+    @Test
+    public void eventDrivenGame_writeRenderFrame_interpolatesFromLastStep() throws Exception {
+        PongScene scene = new PongScene(WIDTH, HEIGHT, GameObjects.Scene.BOTH_PADDLES);
+        scene.setPhysicsMode(GameObjects.Scene.PHYSICS_EVENT_DRIVEN);
+        scene.addBonusBalls(200);
+
+        // Balls that had no event are left behind between frames, so skip a few frames first
+        for (int i = 0; i < 10; i++) {
+            scene.updateGameObjects(STEP_IN_MILLIS);
+        }
+        RenderFrame before = new RenderFrame();
+        scene.writeRenderFrame(before);
+
+        scene.updateGameObjects(STEP_IN_MILLIS);
+        RenderFrame after = new RenderFrame();
+        scene.writeRenderFrame(after);
+
+        assertEquals(before.getCircleCount(), after.getCircleCount());
+        for (int i = 0; i < after.getCircleCount(); i++) {
+            assertEquals(before.getCircleCenterX(i, 1f), after.getCircleCenterX(i, 0f), 1e-3f);
+            assertEquals(before.getCircleCenterY(i, 1f), after.getCircleCenterY(i, 0f), 1e-3f);
+        }
+    }
+
+    @Test
+    public void writeState_thenReadState_restoresScene() throws Exception {
+        PongScene scene = new PongScene(WIDTH, HEIGHT, GameObjects.Scene.LEFT_PADDLE);
+        for (int i = 0; i < 60; i++) {
+            scene.updateGameObjects(STEP_IN_MILLIS);
+        }
+
+        QueueState state = new QueueState();
+        scene.writeState(state);
+        PongScene restored = new PongScene(state);
+        assertTrue(state.mValues.isEmpty());
+
+        GameEngine.CircleToRender ball = scene.getCirclesToRender().get(0);
+        GameEngine.CircleToRender restoredBall = restored.getCirclesToRender().get(0);
+        assertEquals(ball.getCenterX(), restoredBall.getCenterX(), 0f);
+        assertEquals(ball.getCenterY(), restoredBall.getCenterY(), 0f);
+
+        // Both copies must carry on identically.
+        scene.updateGameObjects(STEP_IN_MILLIS);
+        restored.updateGameObjects(STEP_IN_MILLIS);
+        assertEquals(ball.getCenterX(), restoredBall.getCenterX(), 0f);
+        assertEquals(ball.getCenterY(), restoredBall.getCenterY(), 0f);
+    }
+
+    @Test
+    public void parallelUpdate_matchesSequentialUpdate() throws Exception {
+        PongScene scene = new PongScene(WIDTH, HEIGHT, GameObjects.Scene.BOTH_PADDLES);
+        scene.addBonusBalls(3000);
+        QueueState startingState = new QueueState();
+        scene.writeState(startingState);
+        QueueState copy = new QueueState();
+        copy.mValues.addAll(startingState.mValues);
+
+        // Long enough for balls to hit paddles, score, and be removed along the way
+        QueueState sequentialResult = playFromState(startingState,
+                GameObjects.Scene.PARALLEL_UPDATE_DISABLED, 120 * 3);
+        QueueState parallelResult = playFromState(copy, 0, 120 * 3);
+
+        assertEquals(new ArrayList<>(sequentialResult.mValues),
+                new ArrayList<>(parallelResult.mValues));
+    }
+
+    private static QueueState playFromState(final QueueState state, final int parallelThreshold,
+                                            final int steps) {
+        BallDirection.setRandomSeed(1L);
+        PongPaddle.setRandomSeed(1L);
+
+        PongScene scene = new PongScene(state);
+        scene.setParallelUpdateThreshold(parallelThreshold);
+        for (int i = 0; i < steps && !scene.updateGameObjects(STEP_IN_MILLIS); i++) {
+            // Keep going until the time is up or the normal ball scores
+        }
+
+        QueueState result = new QueueState();
+        scene.writeState(result);
+        return result;
+    }
+
+    /**
+     * Keeps written values in memory, in order, for reading back.
+     */
+    private static class QueueState implements GameObjects.StateWriter, GameObjects.StateReader {
+
+        private final Queue<Object> mValues = new ArrayDeque<>();
+
+        @Override
+        public void writeInt(int value) {
+            mValues.add(value);
+        }
+
+        @Override
+        public void writeFloat(float value) {
+            mValues.add(value);
+        }
+
+        @Override
+        public void writeDouble(double value) {
+            mValues.add(value);
+        }
+
+        @Override
+        public void writeBoolean(boolean value) {
+            mValues.add(value);
+        }
+
+        @Override
+        public int readInt() {
+            return (Integer) mValues.remove();
+        }
+
+        @Override
+        public float readFloat() {
+            return (Float) mValues.remove();
+        }
+
+        @Override
+        public double readDouble() {
+            return (Double) mValues.remove();
+        }
+
+        @Override
+        public boolean readBoolean() {
+            return (Boolean) mValues.remove();
+        }
+    }
+}